@@ -0,0 +1,117 @@
+package com.humberto789.minhasfinancas.benchmark;
+
+import com.humberto789.minhasfinancas.MinhasfinancasApplication;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.service.UsuarioService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Sobe a aplicação no perfil "test" e popula a base por JDBC com o volume informado.
+ */
+@State(Scope.Benchmark)
+public class BaseDeDadosBenchmark {
+
+    static final int ANO_INICIAL = 2019;
+    static final int ANOS = 5;
+
+    private static final String[] DESCRICOES = {
+            "Supermercado", "Aluguel", "Salário", "Farmácia", "Restaurante",
+            "Combustível", "Internet", "Academia", "Mercado do bairro", "Energia elétrica"
+    };
+    private static final int TAMANHO_LOTE = 10_000;
+
+    @Param({"10000", "1000000"})
+    public int lancamentos;
+
+    @Param({"100"})
+    public int usuarios;
+
+    private ConfigurableApplicationContext contexto;
+    private List<Usuario> usuariosCadastrados;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(MinhasfinancasApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN",
+                        // O executor de shutdown do H2 registrado pelo devtools falha ruidosamente ao encerrar o contexto.
+                        "logging.level.org.springframework.beans.factory.support.DisposableBeanAdapter=ERROR",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;"
+                                + "INIT=CREATE SCHEMA IF NOT EXISTS financas")
+                .run();
+
+        popular(contexto.getBean(JdbcTemplate.class));
+
+        UsuarioService usuarioService = contexto.getBean(UsuarioService.class);
+        usuariosCadastrados = new ArrayList<>();
+        for(long id = 1; id <= usuarios; id++) {
+            usuariosCadastrados.add(usuarioService.obterPorId(id).orElseThrow());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public Usuario usuario(int indice) {
+        return usuariosCadastrados.get(indice);
+    }
+
+    private void popular(JdbcTemplate jdbcTemplate) {
+        List<Object[]> linhas = new ArrayList<>();
+        for(long id = 1; id <= usuarios; id++) {
+            linhas.add(new Object[]{id, "Usuário " + id, "usuario" + id + "@email.com", "senha"});
+        }
+        jdbcTemplate.batchUpdate("insert into financas.usuario (id, nome, email, senha) values (?, ?, ?, ?)", linhas);
+
+        SplittableRandom random = new SplittableRandom(42);
+        linhas.clear();
+        for(long id = 1; id <= lancamentos; id++) {
+            int ano = ANO_INICIAL + random.nextInt(ANOS);
+            int mes = 1 + random.nextInt(12);
+            boolean receita = random.nextInt(4) == 0;
+
+            linhas.add(new Object[]{
+                    id,
+                    DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + random.nextInt(1000),
+                    mes,
+                    ano,
+                    1 + random.nextInt(usuarios),
+                    BigDecimal.valueOf(1 + random.nextInt(500_000), 2),
+                    Date.valueOf(LocalDate.of(ano, mes, 1)),
+                    receita ? "RECEITA" : "DESPESA",
+                    random.nextBoolean() ? "EFETIVADO" : "PENDENTE"
+            });
+
+            if(linhas.size() == TAMANHO_LOTE || id == lancamentos) {
+                jdbcTemplate.batchUpdate("insert into financas.lancamento " +
+                        "(id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+                linhas.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.humberto789.minhasfinancas.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de conferir uma senha com bcrypt para cada valor de minhasfinancas.senha.custo.
+ * Ex.: ./mvnw -Pjmh test-compile exec:exec -Djmh.args="HashSenhaBenchmark -p custo=10,11"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HashSenhaBenchmark {
+
+    @Param({"8", "10", "12"})
+    public int custo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void iniciar() {
+        encoder = new BCryptPasswordEncoder(custo);
+        hash = encoder.encode("senha do usuário");
+    }
+
+    @Benchmark
+    public boolean conferir() {
+        return encoder.matches("senha do usuário", hash);
+    }
+
+    @Benchmark
+    public String codificar() {
+        return encoder.encode("senha do usuário");
+    }
+}
@@ -0,0 +1,113 @@
+package com.humberto789.minhasfinancas.benchmark;
+
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.impl.LancamentoServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LancamentoServiceBenchmark {
+
+    /**
+     * Sorteia, por thread, o usuário e o período de cada consulta.
+     */
+    @State(Scope.Thread)
+    public static class Consulta {
+
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        Usuario usuario(BaseDeDadosBenchmark base) {
+            return base.usuario(random.nextInt(base.usuarios));
+        }
+
+        int ano() {
+            return BaseDeDadosBenchmark.ANO_INICIAL + random.nextInt(BaseDeDadosBenchmark.ANOS);
+        }
+
+        int mes() {
+            return 1 + random.nextInt(12);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Validacao {
+
+        LancamentoServiceImpl service;
+        Lancamento lancamento;
+
+        @Setup
+        public void iniciar() {
+            service = new LancamentoServiceImpl(null, null, null, null, null, null, new SimpleMeterRegistry());
+            lancamento = Lancamento.builder()
+                    .descricao("Supermercado")
+                    .mes(1)
+                    .ano(2023)
+                    .usuario(Usuario.builder().id(1l).build())
+                    .valor(BigDecimal.valueOf(150))
+                    .tipo(TipoLancamento.DESPESA)
+                    .dataCadastro(LocalDate.now())
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public Lancamento validar(Validacao validacao) {
+        validacao.service.validar(validacao.lancamento);
+        return validacao.lancamento;
+    }
+
+    @Benchmark
+    public List<LancamentoListagem> buscarPorFiltro(BaseDeDadosBenchmark base, Consulta consulta) {
+        Lancamento filtro = Lancamento.builder()
+                .descricao("mercado")
+                .ano(consulta.ano())
+                .mes(consulta.mes())
+                .usuario(consulta.usuario(base))
+                .build();
+
+        return base.bean(LancamentoService.class).buscar(filtro);
+    }
+
+    @Benchmark
+    public BigDecimal obterSaldoPorUsuario(BaseDeDadosBenchmark base, Consulta consulta) {
+        return base.bean(LancamentoService.class).obterSaldoPorUsuario(consulta.usuario(base).getId());
+    }
+
+    /**
+     * Cálculo do saldo pelas duas consultas agregadas, sem o saldo materializado nem cache.
+     */
+    @Benchmark
+    public BigDecimal obterSaldoAgregado(BaseDeDadosBenchmark base, Consulta consulta) {
+        LancamentoRepository repository = base.bean(LancamentoRepository.class);
+        Long idUsuario = consulta.usuario(base).getId();
+
+        BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(idUsuario, TipoLancamento.RECEITA);
+        BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(idUsuario, TipoLancamento.DESPESA);
+
+        return (receitas == null ? BigDecimal.ZERO : receitas).subtract(despesas == null ? BigDecimal.ZERO : despesas);
+    }
+}
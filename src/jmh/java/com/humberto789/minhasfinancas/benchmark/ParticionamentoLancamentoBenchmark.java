@@ -0,0 +1,152 @@
+package com.humberto789.minhasfinancas.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca e saldo anual na tabela comum e na particionada por ano; precisa de um Postgres:
+ * ./mvnw -Pjmh test-compile exec:exec -Djmh.args="ParticionamentoLancamentoBenchmark -p url=jdbc:postgresql://localhost:5432/minhasfinancas"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParticionamentoLancamentoBenchmark {
+
+    private static final int ANO_INICIAL = 2014;
+    private static final int ANOS = 10;
+    private static final String COLUNAS = "id bigint not null, descricao varchar(255), mes integer, ano integer not null, " +
+            "id_usuario bigint, valor numeric(16,2), data_cadastro date, tipo varchar(20), status varchar(20), " +
+            "versao bigint not null default 0";
+
+    @Param({"jdbc:postgresql://localhost:5432/minhasfinancas"})
+    public String url;
+
+    @Param({"postgres"})
+    public String usuario;
+
+    @Param({"12345"})
+    public String senha;
+
+    @Param({"1000000", "10000000"})
+    public int lancamentos;
+
+    @Param({"10000"})
+    public int usuarios;
+
+    @Param({"comum", "particionada"})
+    public String tabela;
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    private Connection conexao;
+    private PreparedStatement busca;
+    private PreparedStatement saldo;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws SQLException {
+        conexao = DriverManager.getConnection(url, usuario, senha);
+        String nome = "benchmark_particionamento.lancamento_" + tabela;
+
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("create schema if not exists benchmark_particionamento");
+            statement.execute("drop table if exists " + nome);
+
+            if(tabela.equals("particionada")) {
+                statement.execute("create table " + nome + " (" + COLUNAS + ", primary key (id, ano)) partition by range (ano)");
+                for(int ano = ANO_INICIAL; ano < ANO_INICIAL + ANOS; ano++) {
+                    statement.execute("create table " + nome + "_" + ano + " partition of " + nome
+                            + " for values from (" + ano + ") to (" + (ano + 1) + ")");
+                }
+            } else {
+                statement.execute("create table " + nome + " (" + COLUNAS + ", primary key (id))");
+            }
+
+            // Gerado no próprio banco: dezenas de milhões de linhas não passam pelo JDBC.
+            statement.execute("insert into " + nome + " (id, descricao, mes, ano, id_usuario, valor, tipo, status) " +
+                    "select s, 'Lançamento ' || s, 1 + s % 12, " + ANO_INICIAL + " + (s / 12) % " + ANOS + ", " +
+                    "1 + (s * 7919) % " + usuarios + ", (s % 50000) / 100.0, " +
+                    "case when s % 4 = 0 then 'RECEITA' else 'DESPESA' end, " +
+                    "case when s % 2 = 0 then 'EFETIVADO' else 'PENDENTE' end " +
+                    "from generate_series(1, " + lancamentos + ") s");
+            statement.execute("create index on " + nome + " (id_usuario, ano, mes)");
+            statement.execute("vacuum analyze " + nome);
+        }
+
+        // Mesmas formas das consultas de LancamentoRepository: o ano é filtrado por intervalo.
+        busca = conexao.prepareStatement("select id, descricao, valor from " + nome +
+                " where id_usuario = ? and ano between ? and ? and mes = ? order by mes, id");
+        saldo = conexao.prepareStatement("select coalesce(sum(case when tipo = 'RECEITA' then valor else -valor end), 0) from " + nome +
+                " where id_usuario = ? and ano between ? and ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("drop table if exists benchmark_particionamento.lancamento_" + tabela);
+        } finally {
+            conexao.close();
+        }
+    }
+
+    @Benchmark
+    public int buscarPorUsuarioEMes() throws SQLException {
+        int ano = ano();
+        busca.setLong(1, idUsuario());
+        busca.setInt(2, ano);
+        busca.setInt(3, ano);
+        busca.setInt(4, 1 + random.nextInt(12));
+
+        int linhas = 0;
+        try (ResultSet resultado = busca.executeQuery()) {
+            while(resultado.next()) {
+                linhas++;
+            }
+        }
+        return linhas;
+    }
+
+    @Benchmark
+    public BigDecimal saldoDoAno() throws SQLException {
+        int ano = ano();
+        saldo.setLong(1, idUsuario());
+        saldo.setInt(2, ano);
+        saldo.setInt(3, ano);
+
+        try (ResultSet resultado = saldo.executeQuery()) {
+            resultado.next();
+            return resultado.getBigDecimal(1);
+        }
+    }
+
+    private long idUsuario() {
+        return 1 + random.nextInt(usuarios);
+    }
+
+    private int ano() {
+        return ANO_INICIAL + random.nextInt(ANOS);
+    }
+}
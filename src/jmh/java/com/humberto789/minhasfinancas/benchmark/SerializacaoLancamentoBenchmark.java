@@ -0,0 +1,71 @@
+package com.humberto789.minhasfinancas.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de listas de lançamentos, como na resposta de GET /api/lancamentos, com um
+ * ObjectMapper configurado da mesma forma que o do Spring Boot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoLancamentoBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<Lancamento> lancamentos;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Usuario usuario = Usuario.builder().id(1l).nome("Usuário").email("usuario@email.com").senha("senha").build();
+        lancamentos = new ArrayList<>(tamanho);
+        for(long id = 1; id <= tamanho; id++) {
+            lancamentos.add(Lancamento.builder()
+                    .id(id)
+                    .descricao("Lançamento " + id)
+                    .mes((int) (id % 12) + 1)
+                    .ano(2023)
+                    .usuario(usuario)
+                    .valor(BigDecimal.valueOf(id, 2))
+                    .dataCadastro(LocalDate.of(2023, 1, 1))
+                    .tipo(id % 4 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA)
+                    .status(StatusLancamento.PENDENTE)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(lancamentos);
+    }
+}
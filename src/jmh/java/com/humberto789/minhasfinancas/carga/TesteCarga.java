@@ -0,0 +1,188 @@
+package com.humberto789.minhasfinancas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Teste de carga HTTP das rotas de busca e de saldo, com N clientes em laço fechado.
+ * Argumentos: [url] [segundos] [clientes] [lancamentos]
+ */
+public class TesteCarga {
+
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int AQUECIMENTO_SEGUNDOS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String url;
+
+    private TesteCarga(String url) {
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080";
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int clientes = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int lancamentos = args.length > 3 ? Integer.parseInt(args[3]) : 50_000;
+
+        TesteCarga teste = new TesteCarga(url);
+        long idUsuario = teste.semear(lancamentos);
+
+        System.out.printf("Aquecimento de %ds com %d clientes...%n", AQUECIMENTO_SEGUNDOS, clientes);
+        teste.executar(idUsuario, AQUECIMENTO_SEGUNDOS, clientes);
+
+        System.out.printf("Medição de %ds com %d clientes...%n", segundos, clientes);
+        Resultado[] resultados = teste.executar(idUsuario, segundos, clientes);
+
+        System.out.printf("%-8s %12s %10s %10s %10s %8s%n", "rota", "requisicoes", "req/s", "p50 (ms)", "p99 (ms)", "erros");
+        for(Resultado resultado : resultados) {
+            resultado.imprimir(segundos);
+        }
+    }
+
+    private long semear(int lancamentos) throws IOException, InterruptedException {
+        String email = "carga-" + System.currentTimeMillis() + "@email.com";
+        String usuario = "{\"nome\":\"Teste de carga\",\"email\":\"" + email + "\",\"senha\":\"senha\"}";
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(URI.create(url + "/api/usuarios"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(usuario))
+                .build());
+        long idUsuario = objectMapper.readTree(resposta.body()).get("id").asLong();
+
+        SplittableRandom random = new SplittableRandom(42);
+        for(int enviados = 0; enviados < lancamentos; enviados += TAMANHO_LOTE) {
+            StringBuilder lote = new StringBuilder();
+            for(int i = enviados; i < Math.min(lancamentos, enviados + TAMANHO_LOTE); i++) {
+                lote.append("{\"descricao\":\"Lancamento ").append(i)
+                        .append("\",\"mes\":").append(1 + random.nextInt(12))
+                        .append(",\"ano\":").append(2019 + random.nextInt(5))
+                        .append(",\"valor\":").append(1 + random.nextInt(5000))
+                        .append(",\"tipo\":\"").append(random.nextInt(4) == 0 ? "RECEITA" : "DESPESA")
+                        .append("\",\"usuario\":").append(idUsuario).append("}\n");
+            }
+            HttpResponse<String> gravados = enviar(HttpRequest.newBuilder(URI.create(url + "/api/lancamentos/lote"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(lote.toString()))
+                    .build());
+
+            // Sem os lançamentos a medição seria feita sobre uma base vazia.
+            if(gravados.statusCode() != 201 || !objectMapper.readTree(gravados.body()).get("erros").isEmpty()) {
+                throw new IllegalStateException("Falha ao cadastrar os lançamentos (HTTP " + gravados.statusCode()
+                        + "): " + gravados.body());
+            }
+        }
+
+        System.out.printf("Usuário %d cadastrado com %d lançamentos.%n", idUsuario, lancamentos);
+        return idUsuario;
+    }
+
+    private Resultado[] executar(long idUsuario, int segundos, int clientes) throws Exception {
+        long fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+
+        List<Future<Resultado[]>> parciais = new ArrayList<>();
+        for(int i = 0; i < clientes; i++) {
+            int semente = i;
+            parciais.add(executor.submit(() -> executarCliente(idUsuario, fim, semente)));
+        }
+
+        Resultado busca = new Resultado("busca");
+        Resultado saldo = new Resultado("saldo");
+        for(Future<Resultado[]> parcial : parciais) {
+            Resultado[] resultado = parcial.get();
+            busca.somar(resultado[0]);
+            saldo.somar(resultado[1]);
+        }
+        executor.shutdown();
+
+        return new Resultado[]{busca, saldo};
+    }
+
+    private Resultado[] executarCliente(long idUsuario, long fim, int semente) {
+        SplittableRandom random = new SplittableRandom(semente);
+        Resultado busca = new Resultado("busca");
+        Resultado saldo = new Resultado("saldo");
+
+        while(System.nanoTime() < fim) {
+            boolean buscar = random.nextBoolean();
+            String rota = buscar
+                    ? "/api/lancamentos/pesquisa?usuario=" + idUsuario + "&ano=" + (2019 + random.nextInt(5)) + "&tamanho=50"
+                    : "/api/usuarios/" + idUsuario + "/saldo";
+
+            long inicio = System.nanoTime();
+            boolean sucesso;
+            try {
+                sucesso = enviar(HttpRequest.newBuilder(URI.create(url + rota)).GET().build()).statusCode() == 200;
+            } catch (IOException | InterruptedException e) {
+                sucesso = false;
+            }
+            (buscar ? busca : saldo).registrar(System.nanoTime() - inicio, sucesso);
+        }
+
+        return new Resultado[]{busca, saldo};
+    }
+
+    private HttpResponse<String> enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return client.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static class Resultado {
+
+        private final String rota;
+        private long[] latencias = new long[1024];
+        private int quantidade;
+        private long erros;
+
+        private Resultado(String rota) {
+            this.rota = rota;
+        }
+
+        private void registrar(long latencia, boolean sucesso) {
+            if(!sucesso) {
+                erros++;
+                return;
+            }
+            if(quantidade == latencias.length) {
+                latencias = Arrays.copyOf(latencias, quantidade * 2);
+            }
+            latencias[quantidade++] = latencia;
+        }
+
+        private void somar(Resultado outro) {
+            for(int i = 0; i < outro.quantidade; i++) {
+                registrar(outro.latencias[i], true);
+            }
+            erros += outro.erros;
+        }
+
+        private void imprimir(int segundos) {
+            long[] ordenadas = Arrays.copyOf(latencias, quantidade);
+            Arrays.sort(ordenadas);
+
+            System.out.printf("%-8s %12d %10.1f %10.2f %10.2f %8d%n", rota, quantidade, (double) quantidade / segundos,
+                    percentil(ordenadas, 0.50), percentil(ordenadas, 0.99), erros);
+        }
+
+        private static double percentil(long[] ordenadas, double percentil) {
+            if(ordenadas.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+            return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.humberto789.minhasfinancas;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// O R2DBC é usado só no caminho de leitura reativo (LancamentoReativoRepository), que cria o seu próprio pool.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class MinhasfinancasApplication {
 
 	public static void main(String[] args) {
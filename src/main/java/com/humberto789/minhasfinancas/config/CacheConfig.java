@@ -0,0 +1,62 @@
+package com.humberto789.minhasfinancas.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Caches locais (Caffeine) da aplicação, com limite de tamanho, expiração e estatísticas por cache.
+ */
+@Configuration
+@EnableCaching(proxyTargetClass = true, order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String RESUMO_LANCAMENTOS = "resumoLancamentos";
+    public static final String USUARIOS = "usuarios";
+    public static final String SALDOS = "saldos";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        cacheManager.registerCustomCache(RESUMO_LANCAMENTOS, limitado(10_000, Duration.ofHours(1)));
+        cacheManager.registerCustomCache(USUARIOS, limitado(10_000, Duration.ofMinutes(10)));
+        cacheManager.registerCustomCache(SALDOS, limitado(10_000, Duration.ofMinutes(5)));
+
+        return cacheManager;
+    }
+
+    /**
+     * Taxa de acerto de cada cache, complementando as métricas cache.gets e cache.load.duration
+     * registradas pelo Spring Boot.
+     */
+    @Bean
+    public MeterBinder taxaDeAcertoDosCaches(CacheManager cacheManager) {
+        return registry -> cacheManager.getCacheNames().forEach(nome -> {
+            if(cacheManager.getCache(nome) instanceof CaffeineCache cache) {
+                Gauge.builder("cache.hit.ratio", cache.getNativeCache(), nativo -> nativo.stats().hitRate())
+                        .tag("cache", nome)
+                        .description("Fração das consultas ao cache atendidas sem carregar o valor")
+                        .register(registry);
+            }
+        });
+    }
+
+    private Cache<Object, Object> limitado(long tamanhoMaximo, Duration expiracao) {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+    }
+}
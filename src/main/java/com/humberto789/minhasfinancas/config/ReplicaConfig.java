@@ -0,0 +1,73 @@
+package com.humberto789.minhasfinancas.config;
+
+import com.humberto789.minhasfinancas.monitoramento.AtrasoReplica;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Réplica de leitura, habilitada com minhasfinancas.replica.url.
+ */
+@Configuration
+@ConditionalOnProperty("minhasfinancas.replica.url")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("minhasfinancas.replica.hikari")
+    public HikariDataSource dataSourceReplica(@Value("${minhasfinancas.replica.url}") String url,
+                                              @Value("${minhasfinancas.replica.username:${spring.datasource.username:}}") String usuario,
+                                              @Value("${minhasfinancas.replica.password:${spring.datasource.password:}}") String senha) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public SomenteLeituraAspect somenteLeituraAspect() {
+        return new SomenteLeituraAspect();
+    }
+
+    @Bean
+    public AtrasoReplica atrasoReplica(@Qualifier("dataSourceReplica") DataSource dataSourceReplica,
+                                       @Value("${minhasfinancas.replica.consulta-atraso}") String consulta,
+                                       @Value("${minhasfinancas.replica.atraso-maximo:5s}") Duration atrasoMaximo,
+                                       MeterRegistry registry) {
+        return new AtrasoReplica(dataSourceReplica, consulta, atrasoMaximo, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource dataSourcePrimario,
+                                 @Qualifier("dataSourceReplica") DataSource dataSourceReplica,
+                                 AtrasoReplica atrasoReplica,
+                                 MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(
+                new RoteamentoDataSource(dataSourcePrimario, dataSourceReplica, atrasoReplica, registry));
+    }
+}
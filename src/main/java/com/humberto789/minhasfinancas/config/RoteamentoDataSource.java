@@ -0,0 +1,81 @@
+package com.humberto789.minhasfinancas.config;
+
+import com.humberto789.minhasfinancas.monitoramento.AtrasoReplica;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexões da réplica para transações somente leitura de métodos {@code @SomenteLeitura}, enquanto a
+ * réplica estiver disponível; do primário para todo o resto.
+ */
+public class RoteamentoDataSource extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final DataSource replica;
+    private final AtrasoReplica atrasoReplica;
+
+    private final Counter escritas;
+    private final Counter leiturasNaReplica;
+    private final Counter leiturasNoPrimario;
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica, AtrasoReplica atrasoReplica, MeterRegistry registry) {
+        this.primario = primario;
+        this.replica = replica;
+        this.atrasoReplica = atrasoReplica;
+
+        this.escritas = contador(registry, "primario", "escrita");
+        this.leiturasNaReplica = contador(registry, "replica", "leitura");
+        this.leiturasNoPrimario = contador(registry, "primario", "leitura");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection conectar(Conexao conexao) throws SQLException {
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if(!somenteLeitura || !SomenteLeituraAspect.isLeituraMarcada()) {
+            (somenteLeitura ? leiturasNoPrimario : escritas).increment();
+            return conexao.obter(primario);
+        }
+
+        if(atrasoReplica.isDisponivel()) {
+            try {
+                Connection connection = conexao.obter(replica);
+                leiturasNaReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                atrasoReplica.registrarFalha(e);
+            }
+        }
+
+        leiturasNoPrimario.increment();
+        return conexao.obter(primario);
+    }
+
+    private static Counter contador(MeterRegistry registry, String pool, String transacao) {
+        return Counter.builder("datasource.roteamento")
+                .tag("pool", pool)
+                .tag("transacao", transacao)
+                .description("Conexões entregues por pool e tipo de transação")
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface Conexao {
+
+        Connection obter(DataSource dataSource) throws SQLException;
+    }
+}
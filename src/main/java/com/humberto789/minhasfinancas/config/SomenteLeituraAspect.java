@@ -0,0 +1,30 @@
+package com.humberto789.minhasfinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Marca a thread enquanto um método {@code @SomenteLeitura} executa (ver {@link RoteamentoDataSource}).
+ */
+@Aspect
+public class SomenteLeituraAspect {
+
+    private static final ThreadLocal<Boolean> LEITURA_MARCADA = ThreadLocal.withInitial(() -> false);
+
+    @Around("@annotation(com.humberto789.minhasfinancas.service.SomenteLeitura)" +
+            " || @within(com.humberto789.minhasfinancas.service.SomenteLeitura)")
+    public Object marcar(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean anterior = LEITURA_MARCADA.get();
+        LEITURA_MARCADA.set(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            LEITURA_MARCADA.set(anterior);
+        }
+    }
+
+    static boolean isLeituraMarcada() {
+        return LEITURA_MARCADA.get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.humberto789.minhasfinancas.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Threads virtuais para as requisições do Tomcat e as respostas assíncronas (perfil "virtual", Java 21+).
+ */
+@Configuration
+@Profile("virtual")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public ExecutorService executorThreadsVirtuais() {
+        return criarExecutorThreadsVirtuais();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> protocolHandlerThreadsVirtuais(ExecutorService executorThreadsVirtuais) {
+        return protocolHandler -> protocolHandler.setExecutor(executorThreadsVirtuais);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService executorThreadsVirtuais) {
+        return new TaskExecutorAdapter(executorThreadsVirtuais);
+    }
+
+    static ExecutorService criarExecutorThreadsVirtuais() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("O perfil \"virtual\" exige Java 21 ou superior (em execução: Java "
+                    + Runtime.version().feature() + ").", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar o executor de threads virtuais.", e);
+        }
+    }
+}
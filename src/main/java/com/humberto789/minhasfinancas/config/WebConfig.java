@@ -0,0 +1,29 @@
+package com.humberto789.minhasfinancas.config;
+
+import com.humberto789.minhasfinancas.monitoramento.OrcamentoConsultasInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final OrcamentoConsultasInterceptor orcamentoConsultasInterceptor;
+
+    public WebConfig(@Value("${minhasfinancas.consultas.orcamento:10}") int orcamentoConsultas,
+                     @Value("${minhasfinancas.consultas.falhar:false}") boolean falharAcimaDoOrcamento,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        // Nos testes de fatia web não há MeterRegistry; o registro global sem registros descarta as medições.
+        this.orcamentoConsultasInterceptor = new OrcamentoConsultasInterceptor(orcamentoConsultas, falharAcimaDoOrcamento,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(orcamentoConsultasInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,23 @@
+package com.humberto789.minhasfinancas.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AtualizaStatusLoteDTO {
+
+    private Long usuario;
+    private List<Long> ids;
+    private Integer ano;
+    private Integer mes;
+    private String tipo;
+    private String statusAtual;
+    private String status;
+}
@@ -0,0 +1,17 @@
+package com.humberto789.minhasfinancas.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RecorrenciaDTO {
+
+    private String periodicidade;
+
+    private Integer parcelas;
+}
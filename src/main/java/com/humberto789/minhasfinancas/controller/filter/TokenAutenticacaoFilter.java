@@ -0,0 +1,53 @@
+package com.humberto789.minhasfinancas.controller.filter;
+
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Valida o token {@code Authorization: Bearer} e publica o id do usuário em {@link #USUARIO_AUTENTICADO}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenAutenticacaoFilter extends OncePerRequestFilter {
+
+    public static final String USUARIO_AUTENTICADO = "minhasfinancas.usuarioAutenticado";
+
+    private static final String PREFIXO = "Bearer ";
+
+    private final TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if(autorizacao == null || !autorizacao.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try {
+            request.setAttribute(USUARIO_AUTENTICADO, tokenService.validar(autorizacao.substring(PREFIXO.length()).trim()));
+        } catch (ErroAutenticacao e) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8).toString());
+            response.getWriter().write(e.getMessage());
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
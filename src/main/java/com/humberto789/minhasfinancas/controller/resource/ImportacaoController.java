@@ -0,0 +1,103 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.controller.filter.TokenAutenticacaoFilter;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.entity.ImportacaoExtrato;
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+import com.humberto789.minhasfinancas.service.ImportacaoExtratoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/importacoes")
+@RequiredArgsConstructor
+public class ImportacaoController {
+
+    private final ImportacaoExtratoService service;
+
+    @PostMapping
+    public ResponseEntity iniciar(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @RequestParam("formato") String formato,
+            @RequestParam(name = "usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) throws IOException {
+
+        Long idResolvido;
+        try {
+            idResolvido = UsuarioAutenticado.resolver(idAutenticado, idUsuario);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        FormatoExtrato formatoExtrato;
+        try {
+            formatoExtrato = FormatoExtrato.valueOf(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Informe um formato de extrato válido (CSV ou OFX).");
+        }
+
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            ImportacaoExtrato importacao = service.iniciar(idResolvido, formatoExtrato, conteudo);
+            return new ResponseEntity(importacao, HttpStatus.ACCEPTED);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            return filaCheia();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity obterProgresso(@PathVariable("id") Long id,
+                                         @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        return service.obterPorId(id)
+                .map(importacao -> {
+                    verificarDono(importacao, idAutenticado);
+                    return ResponseEntity.ok(importacao);
+                })
+                .orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND));
+    }
+
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity retomar(@PathVariable("id") Long id,
+                                  @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        service.obterPorId(id).ifPresent(importacao -> verificarDono(importacao, idAutenticado));
+
+        try {
+            ImportacaoExtrato importacao = service.retomar(id);
+            return new ResponseEntity(importacao, HttpStatus.ACCEPTED);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            return filaCheia();
+        }
+    }
+
+    @ExceptionHandler(ErroAutenticacao.class)
+    public ResponseEntity<String> tratarAcessoNegado(ErroAutenticacao e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(e.getMessage());
+    }
+
+    private void verificarDono(ImportacaoExtrato importacao, Long idAutenticado) {
+        UsuarioAutenticado.verificarDono(importacao.getIdUsuario(), idAutenticado,
+                "A importação não pertence ao usuário autenticado.");
+    }
+
+    private ResponseEntity filaCheia() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body("Muitas importações aguardando processamento, tente novamente mais tarde.");
+    }
+}
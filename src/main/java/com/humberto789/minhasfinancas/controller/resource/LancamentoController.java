@@ -1,79 +1,239 @@
 package com.humberto789.minhasfinancas.controller.resource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.humberto789.minhasfinancas.controller.dto.AtualizaStatusDTO;
+import com.humberto789.minhasfinancas.controller.dto.AtualizaStatusLoteDTO;
 import com.humberto789.minhasfinancas.controller.dto.LancamentoDTO;
+import com.humberto789.minhasfinancas.controller.dto.RecorrenciaDTO;
+import com.humberto789.minhasfinancas.controller.filter.TokenAutenticacaoFilter;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.ErroLote;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.PaginaLancamento;
+import com.humberto789.minhasfinancas.model.dto.ResultadoAtualizacaoStatus;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.FormatoExportacao;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
 import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
 import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.monitoramento.OrcamentoConsultas;
 import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.PrevisaoSaldoService;
+import com.humberto789.minhasfinancas.service.RecorrenciaLancamentoService;
+import com.humberto789.minhasfinancas.service.ResumoLancamentoService;
 import com.humberto789.minhasfinancas.service.UsuarioService;
+import com.humberto789.minhasfinancas.service.exportacao.EscritorLancamentos;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
+/**
+ * Com um token de sessão válido o usuário vem do token; sem token, do parâmetro/campo {@code usuario}.
+ */
 @RestController
 @RequestMapping("/api/lancamentos")
 @RequiredArgsConstructor
 public class LancamentoController {
 
+    public static final int TAMANHO_MAXIMO_LOTE = 10_000;
+
     private final LancamentoService service;
     private final UsuarioService usuarioService;
+    private final ResumoLancamentoService resumoService;
+    private final RecorrenciaLancamentoService recorrenciaService;
+    private final PrevisaoSaldoService previsaoSaldoService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity salvar(@RequestBody LancamentoDTO lancamentoDto) {
+    public ResponseEntity salvar(@RequestBody LancamentoDTO lancamentoDto, @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
 
         try {
-            Lancamento lancamento = converter(lancamentoDto);
+            Lancamento lancamento = converter(lancamentoDto, idAutenticado);
             lancamento = service.salvar(lancamento);
-            return new ResponseEntity(lancamento, HttpStatus.CREATED);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .eTag(VersaoLancamento.de(lancamento).codificar())
+                    .body(LancamentoListagem.de(lancamento));
         } catch(RegraNegocioException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    @OrcamentoConsultas(OrcamentoConsultas.SEM_LIMITE)
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity salvarEmLote(InputStream corpo, @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) throws IOException {
+        List<Lancamento> lancamentos = new ArrayList<>();
+        List<Integer> linhas = new ArrayList<>();
+        List<ErroLote> erros = new ArrayList<>();
+        Map<Long, Optional<Usuario>> usuarios = new HashMap<>();
+        Function<Long, Optional<Usuario>> buscarUsuario = id -> usuarios.computeIfAbsent(id, buscadorDeUsuario(idAutenticado));
+
+        // Aceita tanto um array JSON quanto um valor por linha (NDJSON), lendo um lançamento de cada vez.
+        try (MappingIterator<LancamentoDTO> dtos = objectMapper.readerFor(LancamentoDTO.class).readValues(corpo)) {
+            for(int linha = 0; dtos.hasNextValue(); linha++) {
+                if(linha == TAMANHO_MAXIMO_LOTE) {
+                    return ResponseEntity.badRequest().body("O lote excede o limite de " + TAMANHO_MAXIMO_LOTE + " lançamentos.");
+                }
+
+                LancamentoDTO dto = dtos.nextValue();
+                try {
+                    lancamentos.add(converter(dto, idAutenticado, buscarUsuario));
+                    linhas.add(linha);
+                } catch (RegraNegocioException e) {
+                    erros.add(new ErroLote(linha, e.getMessage()));
+                } catch (IllegalArgumentException e) {
+                    erros.add(new ErroLote(linha, "Informe um tipo e um status de lançamento válidos."));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body("Não foi possível ler o lote de lançamentos enviado.");
+        }
+
+        ResultadoLote resultado = service.salvarEmLote(lancamentos);
+        resultado.erros().forEach(erro -> erros.add(new ErroLote(linhas.get(erro.linha()), erro.mensagem())));
+        erros.sort(Comparator.comparingInt(ErroLote::linha));
+
+        HttpStatus status = resultado.salvos() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity(new ResultadoLote(resultado.salvos(), erros), status);
+    }
+
+    @OrcamentoConsultas(2)
+    @PutMapping("/lote/atualiza-status")
+    public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto, @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        if(dto.getIds() != null && dto.getIds().size() > TAMANHO_MAXIMO_LOTE) {
+            return ResponseEntity.badRequest().body("O lote excede o limite de " + TAMANHO_MAXIMO_LOTE + " lançamentos.");
+        }
+
+        try {
+            FiltroLancamento filtro = FiltroLancamento.builder()
+                    .idUsuario(resolverIdUsuario(idAutenticado, dto.getUsuario()))
+                    .ano(dto.getAno())
+                    .mes(dto.getMes())
+                    .tipo(dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo()))
+                    .status(dto.getStatusAtual() == null ? null : StatusLancamento.valueOf(dto.getStatusAtual()))
+                    .build();
+            StatusLancamento status = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+
+            int atualizados = service.atualizarStatusEmLote(filtro, dto.getIds(), status);
+            return ResponseEntity.ok(new ResultadoAtualizacaoStatus(atualizados));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Informe um tipo e um status de lançamento válidos.");
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO lancamentoDto){
-        return service.obterPorId(id).map( entity -> {
+    public ResponseEntity atualizar(@PathVariable("id") Long id,
+                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String versao,
+                                    @RequestBody LancamentoDTO lancamentoDto,
+                                    @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado){
+        VersaoLancamento versaoEsperada;
+        try {
+            versaoEsperada = versao == null || versao.equals("*") ? null : VersaoLancamento.decodificar(versao);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        return service.obterParaAlteracao(id).map( entity -> {
+            verificarDono(entity, idAutenticado);
+
+            // Com If-Match a gravação usa a versão informada, e não a vigente, na verificação otimista.
+            if(versaoEsperada != null && !versaoEsperada.idUsuario().equals(entity.getUsuario().getId())) {
+                throw new ErroAutenticacao("O lançamento não pertence ao usuário informado.");
+            }
 
             try {
-                Lancamento lancamento = converter(lancamentoDto);
+                Lancamento lancamento = converter(lancamentoDto, idAutenticado);
                 lancamento.setId(entity.getId());
-                service.atualizar(lancamento);
+                if(versaoEsperada != null) {
+                    lancamento.setVersao(versaoEsperada.versao());
+                }
+                Lancamento atualizado = service.atualizar(lancamento);
 
-                return ResponseEntity.ok(lancamento);
+                return ResponseEntity.ok()
+                        .eTag(VersaoLancamento.de(atualizado).codificar())
+                        .body(LancamentoListagem.de(atualizado));
             }catch (RegraNegocioException e){
                 return ResponseEntity.badRequest().body(e.getMessage());
+            }catch (OptimisticLockingFailureException e){
+                return new ResponseEntity("O lançamento foi alterado por outra requisição.",
+                        versaoEsperada == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED);
             }
         }).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
     }
 
+    @OrcamentoConsultas(2)
+    @GetMapping("/{id}")
+    public ResponseEntity obterPorId(@PathVariable("id") Long id, @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        return service.obterPorId(id)
+                .map(entity -> {
+                    verificarDono(entity, idAutenticado);
+                    return LancamentoListagem.de(entity);
+                })
+                .map(lancamento -> ResponseEntity.ok()
+                        .eTag(VersaoLancamento.de(lancamento).codificar())
+                        .body(lancamento))
+                .orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+    }
+
     @DeleteMapping("/{id}")
-    public ResponseEntity deletar(@PathVariable("id") Long id) {
-        return service.obterPorId(id).map(entidade -> {
+    public ResponseEntity deletar(@PathVariable("id") Long id, @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        return service.obterParaAlteracao(id).map(entidade -> {
+           verificarDono(entidade, idAutenticado);
            service.deletar(entidade);
            return new ResponseEntity(HttpStatus.NO_CONTENT);
         }).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
     }
 
+    @OrcamentoConsultas(2)
     @GetMapping
     public ResponseEntity buscar(
             @RequestParam(name="descricao", required = false) String descricao,
             @RequestParam(name="mes", required = false) Integer mes,
             @RequestParam(name="ano", required = false) Integer ano,
-            @RequestParam("usuario") Long idUsuario) {
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
 
         Lancamento lancamentoFiltro = Lancamento.builder()
                 .descricao(descricao)
                 .mes(mes)
                 .ano(ano).build();
 
-        Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+        Optional<Usuario> usuario;
+        try {
+            usuario = buscadorDeUsuario(idAutenticado).apply(resolverIdUsuario(idAutenticado, idUsuario));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
         if(usuario.isEmpty()) {
             return ResponseEntity.badRequest().body("Não foi possível realizar a consulta. Usuário não encontrado para o Id informado.");
@@ -81,30 +241,275 @@ public class LancamentoController {
 
         lancamentoFiltro.setUsuario(usuario.get());
 
-        List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
+        List<LancamentoListagem> lancamentos = service.buscar(lancamentoFiltro);
 
         return ResponseEntity.ok(lancamentos);
     }
 
+    @GetMapping("/pesquisa")
+    public ResponseEntity pesquisar(
+            @RequestParam(name="mes", required = false) Integer mes,
+            @RequestParam(name="ano", required = false) Integer ano,
+            @RequestParam(name="tipo", required = false) String tipo,
+            @RequestParam(name="status", required = false) String status,
+            @RequestParam(name="cursor", required = false) String cursor,
+            @RequestParam(name="tamanho", defaultValue = "20") Integer tamanho,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        try {
+            FiltroLancamento filtro = FiltroLancamento.builder()
+                    .idUsuario(resolverIdUsuario(idAutenticado, idUsuario))
+                    .ano(ano)
+                    .mes(mes)
+                    .tipo(tipo == null ? null : TipoLancamento.valueOf(tipo))
+                    .status(status == null ? null : StatusLancamento.valueOf(status))
+                    .build();
+
+            PaginaLancamento pagina = service.buscarPagina(filtro, CursorLancamento.decodificar(cursor), tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Informe um tipo e um status de lançamento válidos.");
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/resumo")
+    public ResponseEntity obterResumo(
+            @RequestParam(name="inicio", required = false) String inicio,
+            @RequestParam(name="fim", required = false) String fim,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        try {
+            YearMonth periodoInicial = inicio == null ? null : YearMonth.parse(inicio);
+            YearMonth periodoFinal = fim == null ? null : YearMonth.parse(fim);
+            return ResponseEntity.ok(resumoService.obterResumo(resolverIdUsuario(idAutenticado, idUsuario), periodoInicial, periodoFinal));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Informe os períodos no formato ano-mês (ex.: 2023-01).");
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/previsao")
+    public ResponseEntity preverSaldo(
+            @RequestParam(name="ate", required = false) String ate,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        try {
+            YearMonth periodoFinal = ate == null ? null : YearMonth.parse(ate);
+            return ResponseEntity.ok(previsaoSaldoService.preverSaldo(resolverIdUsuario(idAutenticado, idUsuario), periodoFinal));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Informe o período no formato ano-mês (ex.: 2023-01).");
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(name="formato", defaultValue = "CSV") String formato,
+            @RequestParam(name="mes", required = false) Integer mes,
+            @RequestParam(name="ano", required = false) Integer ano,
+            @RequestParam(name="tipo", required = false) String tipo,
+            @RequestParam(name="status", required = false) String status,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        FormatoExportacao formatoExportacao;
+        FiltroLancamento filtro;
+        try {
+            idUsuario = resolverIdUsuario(idAutenticado, idUsuario);
+            formatoExportacao = FormatoExportacao.valueOf(formato);
+            filtro = FiltroLancamento.builder()
+                    .idUsuario(idUsuario)
+                    .ano(ano)
+                    .mes(mes)
+                    .tipo(tipo == null ? null : TipoLancamento.valueOf(tipo))
+                    .status(status == null ? null : StatusLancamento.valueOf(status))
+                    .build();
+        } catch (RegraNegocioException e) {
+            return erroExportacao(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return erroExportacao("Informe um formato, tipo e status de lançamento válidos.");
+        }
+
+        if(idAutenticado == null && usuarioService.obterDados(idUsuario).isEmpty()) {
+            return erroExportacao("Não foi possível realizar a exportação. Usuário não encontrado para o Id informado.");
+        }
+
+        // As linhas são escritas na resposta à medida que o cursor do banco avança.
+        StreamingResponseBody corpo = saida -> {
+            try (EscritorLancamentos escritor = EscritorLancamentos.de(formatoExportacao, saida, objectMapper)) {
+                service.exportar(filtro, lancamento -> {
+                    try {
+                        escritor.escrever(lancamento);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        boolean csv = formatoExportacao == FormatoExportacao.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "lancamentos.csv" : "lancamentos.ndjson")
+                        .build()
+                        .toString())
+                .body(corpo);
+    }
+
+    @GetMapping("/descricao")
+    public ResponseEntity buscarPorDescricao(
+            @RequestParam("termo") String termo,
+            @RequestParam(name="modo", defaultValue = "APROXIMADO") String modo,
+            @RequestParam(name="limite", defaultValue = "20") Integer limite,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        try {
+            List<LancamentoListagem> lancamentos = service.buscarPorDescricao(resolverIdUsuario(idAutenticado, idUsuario), termo, ModoBuscaDescricao.valueOf(modo), limite);
+            return ResponseEntity.ok(lancamentos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Informe um modo de busca válido (PREFIXO, TOKEN ou APROXIMADO).");
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/atualiza-status")
-    public ResponseEntity atualizarStatus( @PathVariable("id") Long id ,@RequestBody AtualizaStatusDTO dto) {
-        return service.obterPorId(id).map(entity -> {
-            StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
-            if(statusSelecionado == null) {
-                return ResponseEntity.badRequest().body("Não foi possível atualizar o status de lançamento, envie um status válido");
+    public ResponseEntity atualizarStatus(@PathVariable("id") Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String versao,
+                                          @RequestBody AtualizaStatusDTO dto,
+                                          @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        StatusLancamento statusSelecionado;
+        try {
+            statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body("Não foi possível atualizar o status de lançamento, envie um status válido");
+        }
+
+        // Com If-Match a alteração é uma única instrução condicional, sem ler o lançamento antes.
+        if(versao != null && !versao.equals("*")) {
+            try {
+                VersaoLancamento versaoAtual = VersaoLancamento.decodificar(versao);
+                resolverIdUsuario(idAutenticado, versaoAtual.idUsuario());
+                VersaoLancamento novaVersao = service.atualizarStatus(id, versaoAtual, statusSelecionado);
+                return ResponseEntity.noContent().eTag(novaVersao.codificar()).build();
+            } catch (OptimisticLockingFailureException e) {
+                return new ResponseEntity(e.getMessage(), HttpStatus.PRECONDITION_FAILED);
+            } catch (RegraNegocioException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
             }
+        }
+
+        return service.obterParaAlteracao(id).map(entity -> {
+            verificarDono(entity, idAutenticado);
 
             try {
+                VersaoLancamento novaVersao = service.atualizarStatus(id, VersaoLancamento.de(entity), statusSelecionado);
                 entity.setStatus(statusSelecionado);
-                service.atualizar(entity);
-                return ResponseEntity.ok(entity);
-            }catch (RegraNegocioException e){
+                entity.setVersao(novaVersao.versao());
+                return ResponseEntity.ok().eTag(novaVersao.codificar()).body(LancamentoListagem.de(entity));
+            } catch (OptimisticLockingFailureException e) {
+                return new ResponseEntity(e.getMessage(), HttpStatus.CONFLICT);
+            } catch (RegraNegocioException e){
                 return ResponseEntity.badRequest().body(e.getMessage());
             }
         }).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST) );
     }
 
-    private Lancamento converter(LancamentoDTO lancamentoDto) {
+    @PostMapping("/{id}/recorrencia")
+    public ResponseEntity criarRecorrencia(@PathVariable("id") Long id, @RequestBody RecorrenciaDTO dto,
+                                           @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        PeriodicidadeRecorrencia periodicidade;
+        try {
+            periodicidade = PeriodicidadeRecorrencia.valueOf(dto.getPeriodicidade());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body("Informe uma periodicidade válida (MENSAL ou ANUAL).");
+        }
+
+        return service.obterParaAlteracao(id).map(entity -> {
+            verificarDono(entity, idAutenticado);
+
+            try {
+                return new ResponseEntity(recorrenciaService.criar(entity, periodicidade, dto.getParcelas()), HttpStatus.CREATED);
+            } catch (RegraNegocioException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            } catch (OptimisticLockingFailureException e) {
+                return new ResponseEntity("O lançamento foi alterado por outra requisição.", HttpStatus.CONFLICT);
+            }
+        }).orElseGet( () -> new ResponseEntity("Lançamento não encontrado na base de dados.", HttpStatus.BAD_REQUEST));
+    }
+
+    @GetMapping("/recorrencias")
+    public ResponseEntity obterRecorrencias(
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        try {
+            return ResponseEntity.ok(recorrenciaService.obterAtivasPorUsuario(resolverIdUsuario(idAutenticado, idUsuario)));
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/recorrencias/{id}")
+    public ResponseEntity encerrarRecorrencia(@PathVariable("id") Long id,
+                                              @RequestParam(name="usuario", required = false) Long idUsuario,
+                                              @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        try {
+            recorrenciaService.encerrar(id, resolverIdUsuario(idAutenticado, idUsuario));
+            return new ResponseEntity(HttpStatus.NO_CONTENT);
+        } catch (RegraNegocioException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> erroExportacao(String mensagem) {
+        // O corpo precisa ser um StreamingResponseBody para o método ser tratado como resposta em fluxo.
+        return ResponseEntity.badRequest()
+                .contentType(new MediaType("text", "plain", StandardCharsets.UTF_8))
+                .body(saida -> saida.write(mensagem.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @ExceptionHandler(ErroAutenticacao.class)
+    public ResponseEntity<String> tratarAcessoNegado(ErroAutenticacao e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(e.getMessage());
+    }
+
+    private Long resolverIdUsuario(Long idAutenticado, Long idInformado) {
+        return UsuarioAutenticado.resolver(idAutenticado, idInformado);
+    }
+
+    private Function<Long, Optional<Usuario>> buscadorDeUsuario(Long idAutenticado) {
+        if(idAutenticado == null) {
+            // Confere a existência pelo cache de usuários e usa a referência como chave estrangeira.
+            return id -> usuarioService.obterDados(id).map(dados -> usuarioService.obterReferencia(dados.id()));
+        }
+
+        // O token assinado já identifica o usuário; a referência basta como chave estrangeira e filtro.
+        return id -> Optional.of(usuarioService.obterReferencia(id));
+    }
+
+    private void verificarDono(Lancamento lancamento, Long idAutenticado) {
+        UsuarioAutenticado.verificarDono(lancamento.getUsuario().getId(), idAutenticado,
+                "O lançamento não pertence ao usuário autenticado.");
+    }
+
+    private Lancamento converter(LancamentoDTO lancamentoDto, Long idAutenticado) {
+        return converter(lancamentoDto, idAutenticado, buscadorDeUsuario(idAutenticado));
+    }
+
+    private Lancamento converter(LancamentoDTO lancamentoDto, Long idAutenticado, Function<Long, Optional<Usuario>> buscarUsuario) {
+        Long idUsuario = resolverIdUsuario(idAutenticado, lancamentoDto.getUsuario());
+
         Lancamento lancamento = Lancamento.builder()
                 .id(lancamentoDto.getId())
                 .descricao(lancamentoDto.getDescricao())
@@ -113,8 +518,8 @@ public class LancamentoController {
                 .valor(lancamentoDto.getValor())
                 .build();
 
-        Usuario usuario = usuarioService
-                .obterPorId(lancamentoDto.getUsuario())
+        Usuario usuario = buscarUsuario
+                .apply(idUsuario)
                 .orElseThrow(() -> new RegraNegocioException("Usuario não encontrado para Id informado."));
 
         lancamento.setUsuario(usuario);
@@ -0,0 +1,99 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.controller.filter.TokenAutenticacaoFilter;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.service.LeituraReativaService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Leituras para os clientes móveis sobre R2DBC.
+ */
+@RestController
+@RequestMapping("/api/reativo")
+@RequiredArgsConstructor
+public class LeituraReativaController {
+
+    private final LeituraReativaService service;
+
+    @GetMapping(value = "/lancamentos", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<LancamentoListagem> buscar(
+            @RequestParam(name="mes", required = false) Integer mes,
+            @RequestParam(name="ano", required = false) Integer ano,
+            @RequestParam(name="tipo", required = false) String tipo,
+            @RequestParam(name="status", required = false) String status,
+            @RequestParam(name="cursor", required = false) String cursor,
+            @RequestParam(name="limite", defaultValue = "100") Integer limite,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        FiltroLancamento filtro;
+        try {
+            filtro = FiltroLancamento.builder()
+                    .idUsuario(UsuarioAutenticado.resolver(idAutenticado, idUsuario))
+                    .ano(ano)
+                    .mes(mes)
+                    .tipo(tipo == null ? null : TipoLancamento.valueOf(tipo))
+                    .status(status == null ? null : StatusLancamento.valueOf(status))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new RegraNegocioException("Informe um tipo e um status de lançamento válidos.");
+        }
+
+        return service.buscar(filtro, CursorLancamento.decodificar(cursor), limite);
+    }
+
+    @GetMapping("/usuarios/{id}/saldo")
+    public Mono<BigDecimal> obterSaldo(@PathVariable("id") Long id,
+                                       @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+        return service.obterSaldo(UsuarioAutenticado.resolver(idAutenticado, id));
+    }
+
+    @GetMapping(value = "/lancamentos/resumo", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ResumoLancamento> obterResumo(
+            @RequestParam(name="inicio", required = false) String inicio,
+            @RequestParam(name="fim", required = false) String fim,
+            @RequestParam(name="usuario", required = false) Long idUsuario,
+            @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado) {
+
+        Long idResolvido = UsuarioAutenticado.resolver(idAutenticado, idUsuario);
+        try {
+            YearMonth periodoInicial = inicio == null ? null : YearMonth.parse(inicio);
+            YearMonth periodoFinal = fim == null ? null : YearMonth.parse(fim);
+            return service.obterResumo(idResolvido, periodoInicial, periodoFinal);
+        } catch (DateTimeParseException e) {
+            throw new RegraNegocioException("Informe os períodos no formato ano-mês (ex.: 2023-01).");
+        }
+    }
+
+    @ExceptionHandler(ErroAutenticacao.class)
+    public ResponseEntity<String> tratarAcessoNegado(ErroAutenticacao e) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(RegraNegocioException.class)
+    public ResponseEntity<String> tratarRegraNegocio(RegraNegocioException e) {
+        return ResponseEntity.badRequest()
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(e.getMessage());
+    }
+}
@@ -0,0 +1,34 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+
+/**
+ * Resolução do usuário da requisição a partir do token, comum aos controllers. Com token, o usuário
+ * informado na requisição, quando enviado, precisa ser o do token; sem token vale o informado.
+ */
+final class UsuarioAutenticado {
+
+    private UsuarioAutenticado() {
+    }
+
+    static Long resolver(Long idAutenticado, Long idInformado) {
+        if(idAutenticado == null) {
+            if(idInformado == null) {
+                throw new RegraNegocioException("Informe um usuário.");
+            }
+            return idInformado;
+        }
+
+        if(idInformado != null && !idInformado.equals(idAutenticado)) {
+            throw new ErroAutenticacao("O usuário informado não corresponde ao usuário autenticado.");
+        }
+        return idAutenticado;
+    }
+
+    static void verificarDono(Long idDono, Long idAutenticado, String mensagem) {
+        if(idAutenticado != null && !idAutenticado.equals(idDono)) {
+            throw new ErroAutenticacao(mensagem);
+        }
+    }
+}
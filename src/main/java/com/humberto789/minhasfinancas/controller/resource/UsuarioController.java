@@ -1,19 +1,28 @@
 package com.humberto789.minhasfinancas.controller.resource;
 
 import com.humberto789.minhasfinancas.controller.dto.UsuarioDTO;
+import com.humberto789.minhasfinancas.controller.filter.TokenAutenticacaoFilter;
 import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.SessaoUsuario;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
 import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.LimiteAutenticacaoService;
+import com.humberto789.minhasfinancas.service.TokenService;
 import com.humberto789.minhasfinancas.service.UsuarioService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -22,38 +31,68 @@ public class UsuarioController {
 
     private final UsuarioService usuarioService;
     private final LancamentoService lancamentoService;
+    private final TokenService tokenService;
+    private final LimiteAutenticacaoService limiteAutenticacaoService;
 
     @PostMapping
-    public ResponseEntity salvar( @RequestBody UsuarioDTO dto) {
+    public CompletableFuture<ResponseEntity> salvar( @RequestBody UsuarioDTO dto) {
         Usuario usuario = Usuario.builder()
                 .nome(dto.getNome())
                 .senha(dto.getSenha())
                 .email(dto.getEmail())
                 .build();
+
+        // Como na autenticação, a thread da requisição é liberada enquanto a senha é codificada.
         try {
-            Usuario usuarioSalvo = usuarioService.salvarUsuario(usuario);
-            return new ResponseEntity(usuarioSalvo, HttpStatus.CREATED);
+            return usuarioService.salvarUsuario(usuario)
+                    .<ResponseEntity>thenApply(usuarioSalvo -> new ResponseEntity(usuarioSalvo, HttpStatus.CREATED))
+                    .exceptionally(e -> {
+                        Throwable causa = e instanceof CompletionException ? e.getCause() : e;
+                        if(causa instanceof RegraNegocioException) {
+                            return ResponseEntity.badRequest().body(causa.getMessage());
+                        }
+                        throw e instanceof CompletionException conclusao ? conclusao : new CompletionException(e);
+                    });
         }catch(RegraNegocioException e){
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        }catch(TaskRejectedException e){
+            return CompletableFuture.completedFuture(servicoSobrecarregado());
         }
     }
 
     @PostMapping("/autenticar")
-    public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
+    public CompletableFuture<ResponseEntity> autenticar(@RequestBody UsuarioDTO dto, HttpServletRequest request) {
+        // Atrás de um proxy interno, getRemoteAddr já é o cliente de X-Forwarded-For (server.forward-headers-strategy).
+        Duration espera = limiteAutenticacaoService.consumir(dto.getEmail(), request.getRemoteAddr());
+        if(!espera.isZero()) {
+            // Recusada antes de consultar o usuário ou ocupar o pool de senhas.
+            return CompletableFuture.completedFuture(tentativasExcedidas(espera));
+        }
+
+        // A thread da requisição é liberada enquanto a senha é conferida no pool de hashing.
         try {
-            Usuario usuarioAutenticado = usuarioService.autenticar(dto.getEmail(), dto.getSenha());
-            return ResponseEntity.ok(usuarioAutenticado);
-        }catch(ErroAutenticacao e){
-            return ResponseEntity.badRequest().body(e.getMessage());
+            return usuarioService.autenticar(dto.getEmail(), dto.getSenha())
+                    .<ResponseEntity>thenApply(usuario -> ResponseEntity.ok(SessaoUsuario.de(usuario, tokenService.gerar(usuario))))
+                    .exceptionally(e -> {
+                        Throwable causa = e instanceof CompletionException ? e.getCause() : e;
+                        if(causa instanceof ErroAutenticacao) {
+                            return ResponseEntity.badRequest().body(causa.getMessage());
+                        }
+                        throw e instanceof CompletionException conclusao ? conclusao : new CompletionException(e);
+                    });
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(servicoSobrecarregado());
         }
     }
 
     @GetMapping("/{id}/saldo")
-    public ResponseEntity obterSaldo(@PathVariable("id") Long id){
-
-        Optional<Usuario> usuario = usuarioService.obterPorId(id);
+    public ResponseEntity obterSaldo(@PathVariable("id") Long id,
+                                     @RequestAttribute(name = TokenAutenticacaoFilter.USUARIO_AUTENTICADO, required = false) Long idAutenticado){
+        if(idAutenticado != null && !idAutenticado.equals(id)) {
+            return new ResponseEntity("O usuário informado não corresponde ao usuário autenticado.", HttpStatus.FORBIDDEN);
+        }
 
-        if(usuario.isEmpty()){
+        if(usuarioService.obterDados(id).isEmpty()){
             return new ResponseEntity(HttpStatus.NOT_FOUND);
         }
 
@@ -61,4 +100,16 @@ public class UsuarioController {
         return ResponseEntity.ok(saldo);
     }
 
+    private ResponseEntity tentativasExcedidas(Duration espera) {
+        long segundos = Math.max(1, (espera.toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(segundos))
+                .body("Muitas tentativas de autenticação, tente novamente mais tarde.");
+    }
+
+    private ResponseEntity servicoSobrecarregado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Serviço temporariamente sobrecarregado, tente novamente.");
+    }
 }
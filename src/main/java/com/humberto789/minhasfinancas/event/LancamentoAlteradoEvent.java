@@ -0,0 +1,27 @@
+package com.humberto789.minhasfinancas.event;
+
+/**
+ * Publicado pelo serviço de lançamentos sempre que um lançamento de um usuário é gravado ou removido.
+ * A descrição é nula quando não faz parte da alteração (remoção ou mudança de status).
+ */
+public record LancamentoAlteradoEvent(Long idUsuario, Long idLancamento, String descricao, boolean removido) {
+
+    public static LancamentoAlteradoEvent gravado(Long idUsuario, Long idLancamento, String descricao) {
+        return new LancamentoAlteradoEvent(idUsuario, idLancamento, descricao, false);
+    }
+
+    public static LancamentoAlteradoEvent statusAlterado(Long idUsuario, Long idLancamento) {
+        return new LancamentoAlteradoEvent(idUsuario, idLancamento, null, false);
+    }
+
+    /**
+     * Alteração de status de vários lançamentos do usuário de uma só vez; não identifica um lançamento.
+     */
+    public static LancamentoAlteradoEvent statusAlteradoEmLote(Long idUsuario) {
+        return new LancamentoAlteradoEvent(idUsuario, null, null, false);
+    }
+
+    public static LancamentoAlteradoEvent removido(Long idUsuario, Long idLancamento) {
+        return new LancamentoAlteradoEvent(idUsuario, idLancamento, null, true);
+    }
+}
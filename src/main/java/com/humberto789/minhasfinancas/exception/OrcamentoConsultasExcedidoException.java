@@ -0,0 +1,8 @@
+package com.humberto789.minhasfinancas.exception;
+
+public class OrcamentoConsultasExcedidoException extends RuntimeException {
+
+    public OrcamentoConsultasExcedidoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,28 @@
+package com.humberto789.minhasfinancas.job;
+
+import com.humberto789.minhasfinancas.service.ArquivamentoLancamentoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Move periodicamente para o arquivo os anos encerrados há mais do que o período mantido, incluindo
+ * lançamentos gravados em anos já arquivados depois da última execução.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArquivamentoLancamentoJob {
+
+    private final ArquivamentoLancamentoService arquivamentoLancamentoService;
+
+    @Scheduled(cron = "${minhasfinancas.arquivamento.cron:0 0 4 2 * *}")
+    public void executar() {
+        List<Integer> anos = arquivamentoLancamentoService.arquivarAnosEncerrados();
+
+        log.info("Arquivamento de lançamentos concluído para {} ano(s): {}.", anos.size(), anos);
+    }
+}
@@ -0,0 +1,41 @@
+package com.humberto789.minhasfinancas.job;
+
+import com.humberto789.minhasfinancas.service.ParticaoLancamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Mantém criadas as partições de lançamentos do ano corrente e dos próximos anos, para que os
+ * lançamentos futuros não caiam na partição padrão. Executa na subida da aplicação e periodicamente.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+public class ParticaoLancamentoJob {
+
+    private final ParticaoLancamentoService particaoLancamentoService;
+    private final int anosAntecipados;
+
+    public ParticaoLancamentoJob(ParticaoLancamentoService particaoLancamentoService,
+                                 @Value("${minhasfinancas.particoes.anos-antecipados:2}") int anosAntecipados) {
+        this.particaoLancamentoService = particaoLancamentoService;
+        this.anosAntecipados = anosAntecipados;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${minhasfinancas.particoes.cron:0 0 2 1 * *}")
+    public void executar() {
+        int anoAtual = Year.now().getValue();
+        List<Integer> criadas = particaoLancamentoService.criarParticoes(anoAtual, anoAtual + anosAntecipados);
+
+        criadas.forEach(ano -> log.info("Partição de lançamentos criada para o ano {}.", ano));
+    }
+}
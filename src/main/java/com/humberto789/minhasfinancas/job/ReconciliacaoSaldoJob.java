@@ -0,0 +1,30 @@
+package com.humberto789.minhasfinancas.job;
+
+import com.humberto789.minhasfinancas.model.dto.DivergenciaSaldo;
+import com.humberto789.minhasfinancas.service.SaldoUsuarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recalcula periodicamente o saldo materializado a partir da tabela de lançamentos,
+ * corrigindo e reportando qualquer divergência encontrada.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReconciliacaoSaldoJob {
+
+    private final SaldoUsuarioService saldoUsuarioService;
+
+    @Scheduled(cron = "${minhasfinancas.saldo.reconciliacao.cron:0 0 3 * * *}")
+    public void executar() {
+        List<DivergenciaSaldo> divergencias = saldoUsuarioService.reconciliar();
+
+        divergencias.forEach(divergencia -> log.warn("Saldo divergente corrigido: {}", divergencia));
+        log.info("Reconciliação de saldos concluída com {} divergência(s).", divergencias.size());
+    }
+}
@@ -0,0 +1,58 @@
+package com.humberto789.minhasfinancas.job;
+
+import com.humberto789.minhasfinancas.service.BloqueioTarefaService;
+import com.humberto789.minhasfinancas.service.RecorrenciaLancamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+/**
+ * Grava diariamente as ocorrências devidas das recorrências, só na instância que detém a concessão.
+ */
+@Slf4j
+@Component
+public class RecorrenciaLancamentoJob {
+
+    static final String TAREFA = "recorrencia-lancamento";
+
+    private final RecorrenciaLancamentoService recorrenciaLancamentoService;
+    private final BloqueioTarefaService bloqueioTarefaService;
+    private final Duration duracaoBloqueio;
+
+    public RecorrenciaLancamentoJob(RecorrenciaLancamentoService recorrenciaLancamentoService,
+                                    BloqueioTarefaService bloqueioTarefaService,
+                                    @Value("${minhasfinancas.recorrencia.bloqueio:30m}") Duration duracaoBloqueio) {
+        this.recorrenciaLancamentoService = recorrenciaLancamentoService;
+        this.bloqueioTarefaService = bloqueioTarefaService;
+        this.duracaoBloqueio = duracaoBloqueio;
+    }
+
+    @Scheduled(cron = "${minhasfinancas.recorrencia.cron:0 0 1 * * *}")
+    public void executar() {
+        if(!bloqueioTarefaService.adquirir(TAREFA, duracaoBloqueio)) {
+            log.info("Materialização de recorrências ignorada: outra instância detém a tarefa.");
+            return;
+        }
+
+        try {
+            int criados = recorrenciaLancamentoService.materializarAte(YearMonth.now(), this::renovarConcessao);
+
+            log.info("Materialização de recorrências concluída: {} lançamento(s) criado(s).", criados);
+        } finally {
+            bloqueioTarefaService.liberar(TAREFA);
+        }
+    }
+
+    private boolean renovarConcessao() {
+        if(bloqueioTarefaService.adquirir(TAREFA, duracaoBloqueio)) {
+            return true;
+        }
+
+        log.warn("Materialização de recorrências interrompida: outra instância tomou a tarefa.");
+        return false;
+    }
+}
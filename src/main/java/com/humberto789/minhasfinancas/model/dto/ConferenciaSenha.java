@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+/**
+ * Resultado da conferência de uma senha. {@code novoHash} é preenchido quando a senha confere mas está
+ * armazenada em texto puro ou com um custo menor que o configurado, e deve substituir o valor gravado.
+ */
+public record ConferenciaSenha(boolean confere, String novoHash) {
+
+    public static final ConferenciaSenha NAO_CONFERE = new ConferenciaSenha(false, null);
+}
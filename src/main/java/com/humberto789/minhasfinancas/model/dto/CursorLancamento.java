@@ -0,0 +1,41 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição (ano, mes, id) do último lançamento entregue em uma página, usada na paginação por chave.
+ */
+public record CursorLancamento(Integer ano, Integer mes, Long id) {
+
+    public static final CursorLancamento INICIO = new CursorLancamento(0, 0, 0L);
+
+    public static CursorLancamento de(Lancamento lancamento) {
+        return new CursorLancamento(lancamento.getAno(), lancamento.getMes(), lancamento.getId());
+    }
+
+    public static CursorLancamento de(LancamentoListagem lancamento) {
+        return new CursorLancamento(lancamento.ano(), lancamento.mes(), lancamento.id());
+    }
+
+    public static CursorLancamento decodificar(String cursor) {
+        if(cursor == null || cursor.isBlank()) {
+            return INICIO;
+        }
+
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new CursorLancamento(Integer.valueOf(partes[0]), Integer.valueOf(partes[1]), Long.valueOf(partes[2]));
+        } catch(IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new RegraNegocioException("Cursor de paginação inválido.");
+        }
+    }
+
+    public String codificar() {
+        String valor = ano + ":" + mes + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+}
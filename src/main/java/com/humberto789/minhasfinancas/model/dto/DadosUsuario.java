@@ -0,0 +1,7 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+/**
+ * Dados públicos do usuário, sem a senha: é o que fica no cache de usuários.
+ */
+public record DadosUsuario(Long id, String nome, String email) {
+}
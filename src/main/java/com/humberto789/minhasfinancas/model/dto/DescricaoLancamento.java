@@ -0,0 +1,4 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+public record DescricaoLancamento(Long id, String descricao) {
+}
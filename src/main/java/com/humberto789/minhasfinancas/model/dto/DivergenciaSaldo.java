@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import java.math.BigDecimal;
+
+public record DivergenciaSaldo(Long idUsuario,
+                               BigDecimal receitasRegistradas,
+                               BigDecimal despesasRegistradas,
+                               BigDecimal receitasCalculadas,
+                               BigDecimal despesasCalculadas) {
+}
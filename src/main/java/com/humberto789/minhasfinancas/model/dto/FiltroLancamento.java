@@ -0,0 +1,21 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class FiltroLancamento {
+
+    private Long idUsuario;
+    private Integer ano;
+    private Integer mes;
+    private TipoLancamento tipo;
+    private StatusLancamento status;
+}
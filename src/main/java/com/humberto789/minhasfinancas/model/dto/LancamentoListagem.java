@@ -0,0 +1,24 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Colunas de um lançamento para listagem, sem a entidade do usuário (apenas o seu id).
+ */
+public record LancamentoListagem(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor,
+                                 TipoLancamento tipo, StatusLancamento status, LocalDate dataCadastro,
+                                 Long idUsuario, Long versao) {
+
+    public static LancamentoListagem de(Lancamento lancamento) {
+        // getId() de um proxy não inicializado não dispara a carga do usuário.
+        return new LancamentoListagem(lancamento.getId(), lancamento.getDescricao(), lancamento.getMes(),
+                lancamento.getAno(), lancamento.getValor(), lancamento.getTipo(), lancamento.getStatus(),
+                lancamento.getDataCadastro(), lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId(),
+                lancamento.getVersao());
+    }
+}
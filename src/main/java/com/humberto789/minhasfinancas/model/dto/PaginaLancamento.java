@@ -0,0 +1,6 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import java.util.List;
+
+public record PaginaLancamento(List<LancamentoListagem> conteudo, String proximoCursor) {
+}
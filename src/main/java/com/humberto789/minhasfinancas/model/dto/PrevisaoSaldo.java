@@ -0,0 +1,13 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Saldo apenas dos lançamentos efetivados, volume cancelado e o saldo projetado mês a mês.
+ */
+public record PrevisaoSaldo(BigDecimal saldoEfetivado,
+                            BigDecimal totalCancelado,
+                            Long quantidadeCancelada,
+                            List<SaldoMensalProjetado> meses) {
+}
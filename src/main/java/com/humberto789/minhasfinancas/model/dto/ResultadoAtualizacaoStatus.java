@@ -0,0 +1,4 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+public record ResultadoAtualizacaoStatus(int atualizados) {
+}
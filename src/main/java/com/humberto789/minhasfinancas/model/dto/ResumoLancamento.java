@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public record ResumoLancamento(Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+                               BigDecimal total, Long quantidade) {
+}
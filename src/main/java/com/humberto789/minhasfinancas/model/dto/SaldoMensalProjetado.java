@@ -0,0 +1,13 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Receitas e despesas previstas no mês (lançamentos pendentes e recorrências) e o saldo projetado ao fim dele.
+ */
+public record SaldoMensalProjetado(Integer ano,
+                                   Integer mes,
+                                   BigDecimal receitasPrevistas,
+                                   BigDecimal despesasPrevistas,
+                                   BigDecimal saldoProjetado) {
+}
@@ -0,0 +1,16 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+
+import java.time.Instant;
+
+/**
+ * Resposta da autenticação: os dados do usuário e o token a ser enviado como
+ * {@code Authorization: Bearer} nas requisições seguintes.
+ */
+public record SessaoUsuario(Long id, String nome, String email, String token, Instant expiraEm) {
+
+    public static SessaoUsuario de(Usuario usuario, TokenAcesso token) {
+        return new SessaoUsuario(usuario.getId(), usuario.getNome(), usuario.getEmail(), token.token(), token.expiraEm());
+    }
+}
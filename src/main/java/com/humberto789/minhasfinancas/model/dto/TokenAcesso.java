@@ -0,0 +1,6 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import java.time.Instant;
+
+public record TokenAcesso(String token, Instant expiraEm) {
+}
@@ -0,0 +1,8 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+
+public record TotalPorTipo(Long idUsuario, TipoLancamento tipo, BigDecimal total) {
+}
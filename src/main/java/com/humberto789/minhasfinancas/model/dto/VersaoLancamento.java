@@ -0,0 +1,40 @@
+package com.humberto789.minhasfinancas.model.dto;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+
+/**
+ * Versão de um lançamento exposta como ETag. Inclui o usuário dono para que a alteração condicional
+ * de status dispense a leitura prévia do lançamento; um usuário adulterado é recusado como acesso negado.
+ */
+public record VersaoLancamento(Long idUsuario, Long versao) {
+
+    public static VersaoLancamento de(Lancamento lancamento) {
+        return new VersaoLancamento(lancamento.getUsuario().getId(), lancamento.getVersao());
+    }
+
+    public static VersaoLancamento de(LancamentoListagem lancamento) {
+        return new VersaoLancamento(lancamento.idUsuario(), lancamento.versao());
+    }
+
+    public static VersaoLancamento decodificar(String etag) {
+        String valor = etag.trim();
+        if(valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new RegraNegocioException("Versão do lançamento inválida.");
+        }
+
+        try {
+            String[] partes = valor.substring(1, valor.length() - 1).split("-");
+            if(partes.length != 2) {
+                throw new RegraNegocioException("Versão do lançamento inválida.");
+            }
+            return new VersaoLancamento(Long.valueOf(partes[0]), Long.valueOf(partes[1]));
+        } catch(NumberFormatException e) {
+            throw new RegraNegocioException("Versão do lançamento inválida.");
+        }
+    }
+
+    public String codificar() {
+        return "\"" + idUsuario + "-" + versao + "\"";
+    }
+}
@@ -0,0 +1,33 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.time.LocalDateTime;
+
+/**
+ * Concessão de uma tarefa agendada a uma instância da aplicação até {@code expiraEm}.
+ */
+@Entity(name = "bloqueio_tarefa")
+@Table(name = "bloqueio_tarefa", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BloqueioTarefa {
+
+    @Id
+    @Column
+    private String nome;
+
+    @Column
+    private String dono;
+
+    @Column(name = "expira_em")
+    @Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+    private LocalDateTime expiraEm;
+}
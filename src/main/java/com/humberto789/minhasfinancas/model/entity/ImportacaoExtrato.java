@@ -0,0 +1,64 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+import com.humberto789.minhasfinancas.model.enums.StatusImportacao;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "importacao_extrato")
+@Table(name = "importacao_extrato", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoExtrato {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private FormatoExtrato formato;
+
+    @Column
+    @JsonIgnore
+    private String arquivo;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private StatusImportacao status;
+
+    /**
+     * Checkpoint: quantidade de registros do arquivo já processados em lotes confirmados.
+     */
+    @Column
+    private Long registrosProcessados;
+
+    @Column
+    private Long lancamentosImportados;
+
+    @Column
+    private Long registrosComErro;
+
+    @Column
+    private String ultimoErro;
+
+    @Column
+    @Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+    private LocalDateTime dataCriacao;
+
+    @Column
+    @Convert(converter = Jsr310JpaConverters.LocalDateTimeConverter.class)
+    private LocalDateTime dataAtualizacao;
+}
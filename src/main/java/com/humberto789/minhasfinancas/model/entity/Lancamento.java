@@ -7,13 +7,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity(name = "lancamento")
-@Table(name = "lancamento", schema = "financas")
+@Table(name = "lancamento", schema = "financas", indexes = {
+        @Index(name = "idx_lancamento_usuario_ano_mes", columnList = "id_usuario, ano, mes"),
+        @Index(name = "idx_lancamento_usuario_tipo_status", columnList = "id_usuario, tipo, status")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +25,8 @@ import java.time.LocalDate;
 public class Lancamento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+    @SequenceGenerator(name = "lancamento_seq", sequenceName = "lancamento_seq", schema = "financas", allocationSize = 50)
     private Long id;
 
     @Column
@@ -33,8 +38,10 @@ public class Lancamento {
     @Column
     private Integer ano;
 
-    @ManyToOne
+    // As listagens usam projeções com o id do usuário; a entidade só é carregada quando acessada.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario")
+    @ToString.Exclude
     private Usuario usuario;
 
     @Column
@@ -51,4 +58,8 @@ public class Lancamento {
     @Column
     @Enumerated(EnumType.STRING)
     private StatusLancamento status;
+
+    @Version
+    @Column(nullable = false)
+    private Long versao;
 }
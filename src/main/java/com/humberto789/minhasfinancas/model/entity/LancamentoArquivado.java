@@ -0,0 +1,61 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lançamento de um ano encerrado, movido da tabela de lançamentos pelo arquivamento. Mantém o id e a
+ * versão originais e não é mais alterado; o usuário é guardado apenas como id.
+ */
+@Entity(name = "lancamento_arquivado")
+@Table(name = "lancamento_arquivado", schema = "financas", indexes = {
+        @Index(name = "idx_lancamento_arquivado_usuario_ano_mes", columnList = "id_usuario, ano, mes")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoArquivado {
+
+    @Id
+    private Long id;
+
+    @Column
+    private String descricao;
+
+    @Column
+    private Integer mes;
+
+    @Column
+    private Integer ano;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column
+    private BigDecimal valor;
+
+    @Column
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column
+    private Long versao;
+}
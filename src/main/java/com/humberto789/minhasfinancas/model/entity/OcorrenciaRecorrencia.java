@@ -0,0 +1,49 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Registro de cada período já lançado de uma recorrência. A chave impede que o mesmo período seja
+ * materializado duas vezes, mesmo em execuções simultâneas, e um lançamento removido pelo usuário
+ * não volta a ser criado. Pendente enquanto o lançamento ainda não entrou no saldo.
+ */
+@Entity(name = "ocorrencia_recorrencia")
+@Table(name = "ocorrencia_recorrencia", schema = "financas", indexes = {
+        @Index(name = "idx_ocorrencia_recorrencia_lancamento", columnList = "id_lancamento")
+})
+@IdClass(OcorrenciaRecorrencia.Chave.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcorrenciaRecorrencia {
+
+    @Id
+    @Column(name = "id_recorrencia")
+    private Long idRecorrencia;
+
+    @Id
+    @Column
+    private Integer periodo;
+
+    @Column(name = "id_lancamento")
+    private Long idLancamento;
+
+    @Column
+    private Boolean pendente;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        private Long idRecorrencia;
+        private Integer periodo;
+    }
+}
@@ -0,0 +1,100 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.stream.IntStream;
+
+/**
+ * Regra de repetição criada a partir de um lançamento modelo, que é a primeira ocorrência. Os meses são
+ * guardados como períodos (ano * 12 + mês - 1) para que a materialização calcule as ocorrências devidas
+ * com aritmética inteira, no próprio banco.
+ */
+@Entity(name = "recorrencia_lancamento")
+@Table(name = "recorrencia_lancamento", schema = "financas", indexes = {
+        @Index(name = "idx_recorrencia_usuario", columnList = "id_usuario")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaLancamento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(name = "id_lancamento_modelo")
+    private Long idLancamentoModelo;
+
+    @Column
+    private String descricao;
+
+    @Column
+    private BigDecimal valor;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private PeriodicidadeRecorrencia periodicidade;
+
+    // Total de ocorrências, incluindo o lançamento modelo; nulo para uma recorrência sem fim.
+    @Column
+    private Integer parcelas;
+
+    @Column(name = "periodo_inicial")
+    private Integer periodoInicial;
+
+    // Último período já materializado, para a próxima execução começar depois dele.
+    @Column(name = "periodo_materializado")
+    private Integer periodoMaterializado;
+
+    @Column
+    private Boolean ativa;
+
+    @Column
+    @Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
+    private LocalDate dataCadastro;
+
+    /**
+     * Períodos das ocorrências ainda não materializadas até o período final, inclusive, respeitando o
+     * intervalo e a quantidade de parcelas.
+     */
+    public IntStream periodosNaoMaterializados(int periodoFinal) {
+        int intervalo = periodicidade.getMeses();
+        int primeiro = periodoInicial + ((periodoMaterializado - periodoInicial) / intervalo + 1) * intervalo;
+        int ultimo = parcelas == null ? periodoFinal : Math.min(periodoFinal, periodoInicial + (parcelas - 1) * intervalo);
+
+        return IntStream.iterate(primeiro, periodo -> periodo <= ultimo, periodo -> periodo + intervalo);
+    }
+
+    public static int periodo(YearMonth mes) {
+        return mes.getYear() * 12 + mes.getMonthValue() - 1;
+    }
+
+    public static YearMonth mes(int periodo) {
+        return YearMonth.of(periodo / 12, periodo % 12 + 1);
+    }
+
+    /**
+     * Descrição da parcela no mesmo formato gravado por OcorrenciaRecorrenciaRepository.lancarPendentes.
+     */
+    public static String descricaoDaParcela(String descricao, int parcela, int parcelas) {
+        return descricao.substring(0, Math.min(descricao.length(), 240)) + " (" + parcela + "/" + parcelas + ")";
+    }
+}
@@ -0,0 +1,32 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity(name = "saldo_usuario")
+@Table(name = "saldo_usuario", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoUsuario {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column
+    private BigDecimal receitas;
+
+    @Column
+    private BigDecimal despesas;
+
+    public BigDecimal getSaldo() {
+        return receitas.subtract(despesas);
+    }
+}
@@ -0,0 +1,61 @@
+package com.humberto789.minhasfinancas.model.entity;
+
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Total de um ano arquivado por usuário, tipo e status, recalculado a cada arquivamento do ano.
+ * Os saldos somam estes totais em vez de percorrer os lançamentos arquivados.
+ */
+@Entity(name = "total_anual_arquivado")
+@Table(name = "total_anual_arquivado", schema = "financas")
+@IdClass(TotalAnualArquivado.Chave.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TotalAnualArquivado {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Id
+    @Column
+    private Integer ano;
+
+    @Id
+    @Column
+    @Enumerated(EnumType.STRING)
+    private TipoLancamento tipo;
+
+    @Id
+    @Column
+    @Enumerated(EnumType.STRING)
+    private StatusLancamento status;
+
+    @Column
+    private BigDecimal total;
+
+    @Column
+    private Long quantidade;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        private Long idUsuario;
+        private Integer ano;
+        private TipoLancamento tipo;
+        private StatusLancamento status;
+    }
+}
@@ -0,0 +1,8 @@
+package com.humberto789.minhasfinancas.model.enums;
+
+public enum FormatoExtrato {
+
+    CSV,
+    OFX
+
+}
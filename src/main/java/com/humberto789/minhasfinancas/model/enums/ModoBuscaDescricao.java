@@ -0,0 +1,9 @@
+package com.humberto789.minhasfinancas.model.enums;
+
+public enum ModoBuscaDescricao {
+
+    PREFIXO,
+    TOKEN,
+    APROXIMADO
+
+}
@@ -0,0 +1,17 @@
+package com.humberto789.minhasfinancas.model.enums;
+
+public enum PeriodicidadeRecorrencia {
+
+    MENSAL(1),
+    ANUAL(12);
+
+    private final int meses;
+
+    PeriodicidadeRecorrencia(int meses) {
+        this.meses = meses;
+    }
+
+    public int getMeses() {
+        return meses;
+    }
+}
@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.model.enums;
+
+public enum StatusImportacao {
+
+    AGUARDANDO,
+    EM_ANDAMENTO,
+    CONCLUIDA,
+    FALHOU
+
+}
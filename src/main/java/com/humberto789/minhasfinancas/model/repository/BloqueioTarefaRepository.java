@@ -0,0 +1,37 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.entity.BloqueioTarefa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface BloqueioTarefaRepository extends JpaRepository<BloqueioTarefa, String> {
+
+    /**
+     * Toma a tarefa se ela estiver livre ou expirada, ou renova a concessão de quem já a detém.
+     */
+    @Modifying
+    @Query(value = " update bloqueio_tarefa b set b.dono = :dono, b.expiraEm = :expiraEm " +
+            "where b.nome = :nome and (b.dono = :dono or b.expiraEm < :agora)")
+    int renovar(@Param("nome") String nome,
+                @Param("dono") String dono,
+                @Param("agora") LocalDateTime agora,
+                @Param("expiraEm") LocalDateTime expiraEm);
+
+    // Nativa para falhar se a tarefa já existir; um save() faria merge e tomaria a concessão de outra instância.
+    @Modifying
+    @Query(value = " insert into financas.bloqueio_tarefa (nome, dono, expira_em) values (:nome, :dono, :expiraEm)",
+            nativeQuery = true)
+    int criar(@Param("nome") String nome,
+              @Param("dono") String dono,
+              @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Modifying
+    @Query(value = " update bloqueio_tarefa b set b.expiraEm = :agora where b.nome = :nome and b.dono = :dono")
+    int liberar(@Param("nome") String nome,
+                @Param("dono") String dono,
+                @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,7 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.entity.ImportacaoExtrato;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ImportacaoExtratoRepository extends JpaRepository<ImportacaoExtrato, Long> {
+}
@@ -0,0 +1,88 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.entity.LancamentoArquivado;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leituras do arquivo com as mesmas formas das consultas de {@link LancamentoRepository}, para que o
+ * resultado possa ser combinado com o dos lançamentos ainda não arquivados.
+ */
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long> {
+
+    @Modifying
+    @Query(value = " insert into lancamento_arquivado " +
+            "(id, descricao, mes, ano, idUsuario, valor, dataCadastro, tipo, status, versao) " +
+            "select l.id, l.descricao, l.mes, l.ano, l.usuario.id, l.valor, l.dataCadastro, l.tipo, l.status, l.versao " +
+            "from lancamento l " +
+            "where l.ano = :ano")
+    int copiarDoAno(@Param("ano") Integer ano);
+
+    @Modifying
+    @Query(value = " delete from lancamento_arquivado a where a.ano = :ano " +
+            "and exists (select l.id from lancamento l where l.id = a.id)")
+    int removerAindaAtivosDoAno(@Param("ano") Integer ano);
+
+    @Query(value = " select max(a.ano) from lancamento_arquivado a")
+    Optional<Integer> obterMaiorAno();
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.LancamentoListagem(" +
+            "a.id, a.descricao, a.mes, a.ano, a.valor, a.tipo, a.status, a.dataCadastro, a.idUsuario, a.versao) " +
+            "from lancamento_arquivado a " +
+            "where a.idUsuario = :idUsuario " +
+            "and lower(a.descricao) like :padraoDescricao escape '\\' " +
+            "and a.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or a.mes = :mes)")
+    List<LancamentoListagem> buscarListagemNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                                     @Param("padraoDescricao") String padraoDescricao,
+                                                     @Param("anoInicial") Integer anoInicial,
+                                                     @Param("anoFinal") Integer anoFinal,
+                                                     @Param("mes") Integer mes);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.LancamentoListagem(" +
+            "a.id, a.descricao, a.mes, a.ano, a.valor, a.tipo, a.status, a.dataCadastro, a.idUsuario, a.versao) " +
+            "from lancamento_arquivado a " +
+            "where a.idUsuario = :idUsuario " +
+            "and a.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or a.mes = :mes) " +
+            "and (:tipo is null or a.tipo = :tipo) " +
+            "and (:status is null or a.status = :status) " +
+            "and (a.ano > :cursorAno or (a.ano = :cursorAno and (a.mes > :cursorMes " +
+            "or (a.mes = :cursorMes and a.id > :cursorId)))) " +
+            "order by a.ano, a.mes, a.id")
+    List<LancamentoListagem> buscarAposCursorNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                                       @Param("anoInicial") Integer anoInicial,
+                                                       @Param("anoFinal") Integer anoFinal,
+                                                       @Param("mes") Integer mes,
+                                                       @Param("tipo") TipoLancamento tipo,
+                                                       @Param("status") StatusLancamento status,
+                                                       @Param("cursorAno") Integer cursorAno,
+                                                       @Param("cursorMes") Integer cursorMes,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.ResumoLancamento(" +
+            "a.ano, a.mes, a.tipo, a.status, sum(a.valor), count(a.id)) " +
+            "from lancamento_arquivado a " +
+            "where a.idUsuario = :idUsuario " +
+            "and a.ano between :anoInicial and :anoFinal " +
+            "and (a.ano > :anoInicial or (a.ano = :anoInicial and a.mes >= :mesInicial)) " +
+            "and (a.ano < :anoFinal or (a.ano = :anoFinal and a.mes <= :mesFinal)) " +
+            "group by a.ano, a.mes, a.tipo, a.status " +
+            "order by a.ano, a.mes, a.tipo, a.status")
+    List<ResumoLancamento> obterResumoPorUsuario(@Param("idUsuario") Long idUsuario,
+                                                 @Param("anoInicial") Integer anoInicial,
+                                                 @Param("mesInicial") Integer mesInicial,
+                                                 @Param("anoFinal") Integer anoFinal,
+                                                 @Param("mesFinal") Integer mesFinal);
+}
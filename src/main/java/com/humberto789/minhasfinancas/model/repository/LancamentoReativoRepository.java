@@ -0,0 +1,168 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Consultas de leitura não bloqueantes (R2DBC); as escritas continuam em {@link LancamentoRepository}.
+ */
+@Repository
+public class LancamentoReativoRepository implements DisposableBean {
+
+    private static final int TAMANHO_FETCH = 250;
+
+    private static final String COLUNAS = "id, descricao, mes, ano, valor, tipo, status, data_cadastro, id_usuario, versao";
+
+    // Lançamentos ativos e arquivados; o Postgres leva os filtros externos para dentro de cada lado do union all.
+    private static final String LANCAMENTOS = "(select " + COLUNAS + " from financas.lancamento " +
+            "union all select " + COLUNAS + " from financas.lancamento_arquivado) l";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public LancamentoReativoRepository(@Value("${minhasfinancas.r2dbc.url}") String url,
+                                       @Value("${minhasfinancas.r2dbc.username:}") String usuario,
+                                       @Value("${minhasfinancas.r2dbc.password:}") String senha,
+                                       @Value("${minhasfinancas.r2dbc.pool.max-size:10}") int tamanhoMaximoPool) {
+        ConnectionFactoryOptions.Builder opcoes = ConnectionFactoryOptions.parse(url).mutate();
+        if(!usuario.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.USER, usuario);
+        }
+        if(!senha.isEmpty()) {
+            opcoes.option(ConnectionFactoryOptions.PASSWORD, senha);
+        }
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opcoes.build()))
+                .maxSize(tamanhoMaximoPool)
+                .build());
+        this.client = DatabaseClient.create(pool);
+    }
+
+    public Flux<LancamentoListagem> buscarAposCursor(FiltroLancamento filtro, CursorLancamento cursor, int limite) {
+        StringBuilder sql = new StringBuilder("select " + COLUNAS + " from " + LANCAMENTOS + " where id_usuario = :idUsuario ");
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("idUsuario", filtro.getIdUsuario());
+
+        if(filtro.getAno() != null) {
+            sql.append("and ano = :ano ");
+            parametros.put("ano", filtro.getAno());
+        }
+        if(filtro.getMes() != null) {
+            sql.append("and mes = :mes ");
+            parametros.put("mes", filtro.getMes());
+        }
+        if(filtro.getTipo() != null) {
+            sql.append("and tipo = :tipo ");
+            parametros.put("tipo", filtro.getTipo().name());
+        }
+        if(filtro.getStatus() != null) {
+            sql.append("and status = :status ");
+            parametros.put("status", filtro.getStatus().name());
+        }
+
+        // A comparação de linhas não serve para a poda de partições; "ano >=" repete o limite de forma que serve.
+        sql.append("and ano >= :cursorAno and (ano, mes, id) > (:cursorAno, :cursorMes, :cursorId) order by ano, mes, id limit :limite");
+        parametros.put("cursorAno", cursor.ano());
+        parametros.put("cursorMes", cursor.mes());
+        parametros.put("cursorId", cursor.id());
+        parametros.put("limite", limite);
+
+        DatabaseClient.GenericExecuteSpec consulta = client.sql(sql.toString())
+                .filter(statement -> statement.fetchSize(TAMANHO_FETCH));
+        for(Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+
+        return consulta.map(this::converterLancamento).all();
+    }
+
+    public Mono<BigDecimal> obterSaldo(Long idUsuario) {
+        // Os anos arquivados entram pelos totais anuais pré-calculados.
+        Mono<BigDecimal> saldoCalculado = client.sql("select coalesce(sum(case when tipo = 'RECEITA' then valor else -valor end), 0) as saldo " +
+                        "from (select tipo, valor from financas.lancamento where id_usuario = :idUsuario " +
+                        "union all select tipo, total from financas.total_anual_arquivado where id_usuario = :idUsuario) t")
+                .bind("idUsuario", idUsuario)
+                .map(linha -> linha.get("saldo", BigDecimal.class))
+                .one();
+
+        // Usuários sem linha no saldo materializado têm o saldo calculado, sem gravação, no caminho de leitura.
+        return client.sql("select receitas - despesas as saldo from financas.saldo_usuario where id_usuario = :idUsuario")
+                .bind("idUsuario", idUsuario)
+                .map(linha -> linha.get("saldo", BigDecimal.class))
+                .one()
+                .switchIfEmpty(saldoCalculado);
+    }
+
+    public Flux<ResumoLancamento> obterResumoPorUsuario(Long idUsuario, int anoInicial, int mesInicial, int anoFinal, int mesFinal) {
+        return client.sql("select ano, mes, tipo, status, sum(valor) as total, count(id) as quantidade " +
+                        "from " + LANCAMENTOS + " " +
+                        "where id_usuario = :idUsuario " +
+                        "and ano between :anoInicial and :anoFinal " +
+                        "and (ano, mes) >= (:anoInicial, :mesInicial) " +
+                        "and (ano, mes) <= (:anoFinal, :mesFinal) " +
+                        "group by ano, mes, tipo, status " +
+                        "order by ano, mes, tipo, status")
+                .bind("idUsuario", idUsuario)
+                .bind("anoInicial", anoInicial)
+                .bind("mesInicial", mesInicial)
+                .bind("anoFinal", anoFinal)
+                .bind("mesFinal", mesFinal)
+                .map(linha -> new ResumoLancamento(
+                        linha.get("ano", Integer.class),
+                        linha.get("mes", Integer.class),
+                        tipo(linha),
+                        status(linha),
+                        linha.get("total", BigDecimal.class),
+                        linha.get("quantidade", Number.class).longValue()))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    private LancamentoListagem converterLancamento(Readable linha) {
+        return new LancamentoListagem(
+                linha.get("id", Long.class),
+                linha.get("descricao", String.class),
+                linha.get("mes", Integer.class),
+                linha.get("ano", Integer.class),
+                linha.get("valor", BigDecimal.class),
+                tipo(linha),
+                status(linha),
+                linha.get("data_cadastro", LocalDate.class),
+                linha.get("id_usuario", Long.class),
+                linha.get("versao", Long.class));
+    }
+
+    private TipoLancamento tipo(Readable linha) {
+        String tipo = linha.get("tipo", String.class);
+        return tipo == null ? null : TipoLancamento.valueOf(tipo);
+    }
+
+    private StatusLancamento status(Readable linha) {
+        String status = linha.get("status", String.class);
+        return status == null ? null : StatusLancamento.valueOf(status);
+    }
+}
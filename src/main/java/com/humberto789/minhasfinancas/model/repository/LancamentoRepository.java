@@ -1,20 +1,199 @@
 package com.humberto789.minhasfinancas.model.repository;
 
+import com.humberto789.minhasfinancas.model.dto.DescricaoLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
 import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * No Postgres a tabela é particionada por ano: as consultas filtram o ano por intervalo para descartar
+ * as partições fora do período.
+ */
 public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
 
+    int ANO_MINIMO = 0;
+    int ANO_MAXIMO = 9999;
+
     @Transactional
     @Query(value = " select sum(l.valor) from lancamento l join l.usuario u " +
             "where u.id = :idUsuario and l.tipo = :tipo " +
             "group by u")
     BigDecimal obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.TotalPorTipo(l.usuario.id, l.tipo, sum(l.valor)) " +
+            "from lancamento l " +
+            "group by l.usuario.id, l.tipo")
+    List<TotalPorTipo> obterTotaisPorUsuarioETipo();
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.LancamentoListagem(" +
+            "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.dataCadastro, l.usuario.id, l.versao) " +
+            "from lancamento l " +
+            "where l.usuario.id = :idUsuario " +
+            "and l.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and (:tipo is null or l.tipo = :tipo) " +
+            "and (:status is null or l.status = :status) " +
+            "and (l.ano > :cursorAno or (l.ano = :cursorAno and (l.mes > :cursorMes " +
+            "or (l.mes = :cursorMes and l.id > :cursorId)))) " +
+            "order by l.ano, l.mes, l.id")
+    List<LancamentoListagem> buscarAposCursorNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                                       @Param("anoInicial") Integer anoInicial,
+                                                       @Param("anoFinal") Integer anoFinal,
+                                                       @Param("mes") Integer mes,
+                                                       @Param("tipo") TipoLancamento tipo,
+                                                       @Param("status") StatusLancamento status,
+                                                       @Param("cursorAno") Integer cursorAno,
+                                                       @Param("cursorMes") Integer cursorMes,
+                                                       @Param("cursorId") Long cursorId,
+                                                       Pageable pageable);
+
+    default List<LancamentoListagem> buscarAposCursor(Long idUsuario, Integer ano, Integer mes,
+                                                      TipoLancamento tipo, StatusLancamento status,
+                                                      Integer cursorAno, Integer cursorMes, Long cursorId,
+                                                      Pageable pageable) {
+        // Nada anterior ao ano do cursor pode aparecer, então as partições anteriores também ficam de fora.
+        int anoInicial = Math.max(anoInicial(ano), cursorAno == null ? ANO_MINIMO : cursorAno);
+        return buscarAposCursorNoPeriodo(idUsuario, anoInicial, anoFinal(ano), mes, tipo, status,
+                cursorAno, cursorMes, cursorId, pageable);
+    }
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.LancamentoListagem(" +
+            "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.dataCadastro, l.usuario.id, l.versao) " +
+            "from lancamento l " +
+            "where l.usuario.id = :idUsuario " +
+            "and lower(l.descricao) like :padraoDescricao escape '\\' " +
+            "and l.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or l.mes = :mes)")
+    List<LancamentoListagem> buscarListagemNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                                     @Param("padraoDescricao") String padraoDescricao,
+                                                     @Param("anoInicial") Integer anoInicial,
+                                                     @Param("anoFinal") Integer anoFinal,
+                                                     @Param("mes") Integer mes);
+
+    default List<LancamentoListagem> buscarListagem(Long idUsuario, String padraoDescricao, Integer ano, Integer mes) {
+        return buscarListagemNoPeriodo(idUsuario, padraoDescricao, anoInicial(ano), anoFinal(ano), mes);
+    }
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.LancamentoListagem(" +
+            "l.id, l.descricao, l.mes, l.ano, l.valor, l.tipo, l.status, l.dataCadastro, l.usuario.id, l.versao) " +
+            "from lancamento l " +
+            "where l.id in :ids and l.usuario.id = :idUsuario")
+    List<LancamentoListagem> buscarListagemPorIds(@Param("idUsuario") Long idUsuario, @Param("ids") Collection<Long> ids);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.DescricaoLancamento(l.id, l.descricao) " +
+            "from lancamento l " +
+            "where l.usuario.id = :idUsuario")
+    List<DescricaoLancamento> obterDescricoesPorUsuario(@Param("idUsuario") Long idUsuario);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.ResumoLancamento(" +
+            "l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l.id)) " +
+            "from lancamento l " +
+            "where l.usuario.id = :idUsuario " +
+            "and l.ano between :anoInicial and :anoFinal " +
+            "and (l.ano > :anoInicial or (l.ano = :anoInicial and l.mes >= :mesInicial)) " +
+            "and (l.ano < :anoFinal or (l.ano = :anoFinal and l.mes <= :mesFinal)) " +
+            "group by l.ano, l.mes, l.tipo, l.status " +
+            "order by l.ano, l.mes, l.tipo, l.status")
+    List<ResumoLancamento> obterResumoPorUsuario(@Param("idUsuario") Long idUsuario,
+                                                 @Param("anoInicial") Integer anoInicial,
+                                                 @Param("mesInicial") Integer mesInicial,
+                                                 @Param("anoFinal") Integer anoFinal,
+                                                 @Param("mesFinal") Integer mesFinal);
+
+    @Query(value = " select l.usuario.id from lancamento l where l.id = :id")
+    Optional<Long> obterIdUsuario(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            "where l.id = :id and l.usuario.id = :idUsuario and l.versao = :versao")
+    int atualizarStatus(@Param("id") Long id,
+                        @Param("idUsuario") Long idUsuario,
+                        @Param("versao") Long versao,
+                        @Param("status") StatusLancamento status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = " update lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            "where l.usuario.id = :idUsuario and l.id in :ids and l.status <> :status")
+    int atualizarStatusPorIds(@Param("idUsuario") Long idUsuario,
+                              @Param("ids") Collection<Long> ids,
+                              @Param("status") StatusLancamento status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = " update lancamento l set l.status = :status, l.versao = l.versao + 1 " +
+            "where l.usuario.id = :idUsuario " +
+            "and l.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and (:tipo is null or l.tipo = :tipo) " +
+            "and (:statusAtual is null or l.status = :statusAtual) " +
+            "and l.status <> :status")
+    int atualizarStatusPorFiltroNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                          @Param("anoInicial") Integer anoInicial,
+                                          @Param("anoFinal") Integer anoFinal,
+                                          @Param("mes") Integer mes,
+                                          @Param("tipo") TipoLancamento tipo,
+                                          @Param("statusAtual") StatusLancamento statusAtual,
+                                          @Param("status") StatusLancamento status);
+
+    default int atualizarStatusPorFiltro(Long idUsuario, Integer ano, Integer mes, TipoLancamento tipo,
+                                         StatusLancamento statusAtual, StatusLancamento status) {
+        return atualizarStatusPorFiltroNoPeriodo(idUsuario, anoInicial(ano), anoFinal(ano), mes, tipo, statusAtual, status);
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(value = " select l from lancamento l " +
+            "where l.usuario.id = :idUsuario " +
+            "and l.ano between :anoInicial and :anoFinal " +
+            "and (:mes is null or l.mes = :mes) " +
+            "and (:tipo is null or l.tipo = :tipo) " +
+            "and (:status is null or l.status = :status) " +
+            "order by l.ano, l.mes, l.id")
+    Stream<Lancamento> exportarPorUsuarioNoPeriodo(@Param("idUsuario") Long idUsuario,
+                                                   @Param("anoInicial") Integer anoInicial,
+                                                   @Param("anoFinal") Integer anoFinal,
+                                                   @Param("mes") Integer mes,
+                                                   @Param("tipo") TipoLancamento tipo,
+                                                   @Param("status") StatusLancamento status);
+
+    default Stream<Lancamento> exportarPorUsuario(Long idUsuario, Integer ano, Integer mes,
+                                                  TipoLancamento tipo, StatusLancamento status) {
+        return exportarPorUsuarioNoPeriodo(idUsuario, anoInicial(ano), anoFinal(ano), mes, tipo, status);
+    }
+
+    @Query(value = " select distinct l.ano from lancamento l where l.ano <= :anoFinal order by l.ano")
+    List<Integer> obterAnosAte(@Param("anoFinal") Integer anoFinal);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = " delete from lancamento l where l.ano = :ano " +
+            "and exists (select a.id from lancamento_arquivado a where a.id = l.id and a.versao = l.versao)")
+    int removerArquivadosDoAno(@Param("ano") Integer ano);
+
+    private static int anoInicial(Integer ano) {
+        return ano == null ? ANO_MINIMO : ano;
+    }
+
+    private static int anoFinal(Integer ano) {
+        return ano == null ? ANO_MAXIMO : ano;
+    }
 }
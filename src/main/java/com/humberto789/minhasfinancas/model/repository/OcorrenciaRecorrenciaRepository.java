@@ -0,0 +1,58 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.entity.OcorrenciaRecorrencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+/**
+ * Etapas da materialização de um período para uma faixa de recorrências, todas sobre as ocorrências
+ * pendentes: cada uma é uma única instrução, independente da quantidade de usuários.
+ */
+public interface OcorrenciaRecorrenciaRepository extends JpaRepository<OcorrenciaRecorrencia, OcorrenciaRecorrencia.Chave> {
+
+    String PENDENTES_NO_PERIODO = "from financas.ocorrencia_recorrencia o " +
+            "join financas.recorrencia_lancamento r on r.id = o.id_recorrencia " +
+            "where o.periodo = :periodo and o.pendente = true " +
+            "and o.id_recorrencia between :idInicial and :idFinal";
+
+    boolean existsByIdLancamento(Long idLancamento);
+
+    @Modifying
+    @Query(value = " insert into financas.lancamento " +
+            "(id, descricao, mes, ano, id_usuario, valor, data_cadastro, tipo, status, versao) " +
+            "select o.id_lancamento, " +
+            "case when r.parcelas is null then r.descricao " +
+            "else substring(r.descricao, 1, 240) || ' (' " +
+            "|| cast((o.periodo - r.periodo_inicial) / " + RecorrenciaLancamentoRepository.INTERVALO + " + 1 as varchar(10)) " +
+            "|| '/' || cast(r.parcelas as varchar(10)) || ')' end, " +
+            "mod(o.periodo, 12) + 1, o.periodo / 12, r.id_usuario, r.valor, :dataCadastro, r.tipo, 'PENDENTE', 0 " +
+            PENDENTES_NO_PERIODO, nativeQuery = true)
+    int lancarPendentes(@Param("periodo") Integer periodo,
+                        @Param("idInicial") Long idInicial,
+                        @Param("idFinal") Long idFinal,
+                        @Param("dataCadastro") LocalDate dataCadastro);
+
+    // Usuários sem saldo materializado ficam de fora: o saldo deles é calculado dos lançamentos na primeira leitura.
+    @Modifying
+    @Query(value = " update financas.saldo_usuario s set " +
+            "receitas = receitas + coalesce((select sum(r.valor) " + PENDENTES_NO_PERIODO +
+            " and r.id_usuario = s.id_usuario and r.tipo = 'RECEITA'), 0), " +
+            "despesas = despesas + coalesce((select sum(r.valor) " + PENDENTES_NO_PERIODO +
+            " and r.id_usuario = s.id_usuario and r.tipo = 'DESPESA'), 0) " +
+            "where s.id_usuario in (select r.id_usuario " + PENDENTES_NO_PERIODO + ")", nativeQuery = true)
+    int somarPendentesAoSaldo(@Param("periodo") Integer periodo,
+                              @Param("idInicial") Long idInicial,
+                              @Param("idFinal") Long idFinal);
+
+    @Modifying
+    @Query(value = " update financas.ocorrencia_recorrencia set pendente = false " +
+            "where periodo = :periodo and pendente = true " +
+            "and id_recorrencia between :idInicial and :idFinal", nativeQuery = true)
+    int confirmarPendentes(@Param("periodo") Integer periodo,
+                           @Param("idInicial") Long idInicial,
+                           @Param("idFinal") Long idFinal);
+}
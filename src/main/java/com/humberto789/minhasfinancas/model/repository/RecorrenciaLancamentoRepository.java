@@ -0,0 +1,58 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecorrenciaLancamentoRepository extends JpaRepository<RecorrenciaLancamento, Long> {
+
+    /**
+     * Meses entre duas ocorrências da recorrência r, nas consultas nativas.
+     */
+    String INTERVALO = "(case r.periodicidade when 'ANUAL' then 12 else 1 end)";
+
+    /**
+     * Recorrências r da faixa de ids com uma ocorrência devida no período e ainda não materializada.
+     */
+    String DEVIDAS_NO_PERIODO = "r.ativa = true " +
+            "and r.id between :idInicial and :idFinal " +
+            "and r.periodo_materializado < :periodo " +
+            "and r.periodo_inicial < :periodo " +
+            "and mod(:periodo - r.periodo_inicial, " + INTERVALO + ") = 0 " +
+            "and (r.parcelas is null or (:periodo - r.periodo_inicial) / " + INTERVALO + " < r.parcelas)";
+
+    List<RecorrenciaLancamento> findByIdUsuarioAndAtivaTrueOrderById(Long idUsuario);
+
+    boolean existsByIdLancamentoModelo(Long idLancamentoModelo);
+
+    @Query(value = " select min(r.periodoMaterializado) from recorrencia_lancamento r where r.ativa = true")
+    Optional<Integer> obterMenorPeriodoMaterializado();
+
+    @Query(value = " select min(r.id) from recorrencia_lancamento r where r.ativa = true")
+    Optional<Long> obterMenorIdAtivo();
+
+    @Query(value = " select max(r.id) from recorrencia_lancamento r where r.ativa = true")
+    Optional<Long> obterMaiorIdAtivo();
+
+    @Modifying
+    @Query(value = " update financas.recorrencia_lancamento r set periodo_materializado = :periodo " +
+            "where r.ativa = true and r.periodo_materializado < :periodo " +
+            "and r.id between :idInicial and :idFinal", nativeQuery = true)
+    int avancarPeriodoMaterializado(@Param("periodo") Integer periodo,
+                                    @Param("idInicial") Long idInicial,
+                                    @Param("idFinal") Long idFinal);
+
+    @Modifying
+    @Query(value = " update financas.recorrencia_lancamento r set ativa = false " +
+            "where r.ativa = true and r.parcelas is not null " +
+            "and r.periodo_inicial + (r.parcelas - 1) * " + INTERVALO + " <= :periodo " +
+            "and r.id between :idInicial and :idFinal", nativeQuery = true)
+    int encerrarParcelamentosConcluidos(@Param("periodo") Integer periodo,
+                                        @Param("idInicial") Long idInicial,
+                                        @Param("idFinal") Long idFinal);
+}
@@ -0,0 +1,32 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.entity.SaldoUsuario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SaldoUsuarioRepository extends JpaRepository<SaldoUsuario, Long> {
+
+    // Nativa porque o HQL renderiza a soma com o parâmetro como "cast(? as numeric($p,$s))", sem precisão definida.
+    @Modifying
+    @Query(value = " update financas.saldo_usuario " +
+            "set receitas = receitas + :receitas, despesas = despesas + :despesas " +
+            "where id_usuario = :idUsuario", nativeQuery = true)
+    int incrementar(@Param("idUsuario") Long idUsuario, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas);
+
+    // Nativa para falhar se o saldo já existir; um save() faria merge e sobrescreveria os totais.
+    @Modifying
+    @Query(value = " insert into financas.saldo_usuario (id_usuario, receitas, despesas) " +
+            "values (:idUsuario, :receitas, :despesas)", nativeQuery = true)
+    int criar(@Param("idUsuario") Long idUsuario, @Param("receitas") BigDecimal receitas, @Param("despesas") BigDecimal despesas);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = " select s from saldo_usuario s ")
+    List<SaldoUsuario> bloquearTodos();
+}
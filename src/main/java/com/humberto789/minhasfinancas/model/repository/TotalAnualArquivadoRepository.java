@@ -0,0 +1,36 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
+import com.humberto789.minhasfinancas.model.entity.TotalAnualArquivado;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface TotalAnualArquivadoRepository extends JpaRepository<TotalAnualArquivado, TotalAnualArquivado.Chave> {
+
+    @Modifying
+    @Query(value = " delete from total_anual_arquivado t where t.ano = :ano")
+    int removerDoAno(@Param("ano") Integer ano);
+
+    @Modifying
+    @Query(value = " insert into total_anual_arquivado (idUsuario, ano, tipo, status, total, quantidade) " +
+            "select a.idUsuario, a.ano, a.tipo, a.status, sum(a.valor), count(a.id) " +
+            "from lancamento_arquivado a " +
+            "where a.ano = :ano " +
+            "group by a.idUsuario, a.ano, a.tipo, a.status")
+    int calcularDoAno(@Param("ano") Integer ano);
+
+    @Query(value = " select sum(t.total) from total_anual_arquivado t " +
+            "where t.idUsuario = :idUsuario and t.tipo = :tipo")
+    BigDecimal obterTotalPorUsuarioETipo(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo);
+
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.TotalPorTipo(t.idUsuario, t.tipo, sum(t.total)) " +
+            "from total_anual_arquivado t " +
+            "group by t.idUsuario, t.tipo")
+    List<TotalPorTipo> obterTotaisPorUsuarioETipo();
+}
@@ -1,7 +1,12 @@
 package com.humberto789.minhasfinancas.model.repository;
 
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -11,5 +16,20 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Optional<Usuario> findByEmail(String email);
 
+    @Query(value = " select new com.humberto789.minhasfinancas.model.dto.DadosUsuario(u.id, u.nome, u.email) " +
+            "from usuario u where u.id = :id")
+    Optional<DadosUsuario> buscarDadosPorId(@Param("id") Long id);
+
+    /**
+     * Substitui a senha somente se ela ainda for a lida no login, para não desfazer uma troca concorrente.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = " update usuario u set u.senha = :novaSenha " +
+            "where u.id = :id and u.email = :email and u.senha = :senhaAnterior")
+    int atualizarSenha(@Param("id") Long id,
+                       @Param("email") String email,
+                       @Param("senhaAnterior") String senhaAnterior,
+                       @Param("novaSenha") String novaSenha);
 
 }
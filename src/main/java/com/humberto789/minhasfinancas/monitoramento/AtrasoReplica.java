@@ -0,0 +1,85 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mede periodicamente o atraso da réplica de leitura; acima do máximo ela fica indisponível.
+ */
+@Slf4j
+public class AtrasoReplica {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String consulta;
+    private final Duration atrasoMaximo;
+
+    private volatile double atraso = Double.NaN;
+    private volatile boolean disponivel;
+
+    public AtrasoReplica(DataSource replica, String consulta, Duration atrasoMaximo, MeterRegistry registry) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, atrasoMaximo.toSeconds()));
+        this.consulta = consulta;
+        this.atrasoMaximo = atrasoMaximo;
+
+        Gauge.builder("datasource.replica.atraso", this, AtrasoReplica::getAtraso)
+                .baseUnit("seconds")
+                .description("Atraso de replicação medido na réplica de leitura (NaN quando a medição falha)")
+                .register(registry);
+        Gauge.builder("datasource.replica.disponivel", this, monitor -> monitor.isDisponivel() ? 1 : 0)
+                .description("1 enquanto as leituras somente leitura são enviadas para a réplica")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${minhasfinancas.replica.intervalo-verificacao:5000}")
+    public void verificar() {
+        try {
+            Double medido = jdbcTemplate.queryForObject(consulta, Double.class);
+            atualizar(medido == null ? 0 : medido);
+        } catch (DataAccessException e) {
+            registrarFalha(e);
+        }
+    }
+
+    /**
+     * Retira a réplica do roteamento até a próxima medição bem-sucedida.
+     */
+    public void registrarFalha(Exception erro) {
+        atraso = Double.NaN;
+        if(disponivel) {
+            log.warn("Réplica de leitura indisponível; as leituras seguem para o primário.", erro);
+        }
+        disponivel = false;
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    public double getAtraso() {
+        return atraso;
+    }
+
+    private void atualizar(double segundos) {
+        boolean dentroDoLimite = segundos * 1000 <= atrasoMaximo.toMillis();
+
+        if(dentroDoLimite != disponivel) {
+            if(dentroDoLimite) {
+                log.info("Réplica de leitura com atraso de {}s; as leituras voltam para a réplica.", segundos);
+            } else {
+                log.warn("Réplica de leitura com atraso de {}s (máximo {}); as leituras seguem para o primário.",
+                        segundos, atrasoMaximo);
+            }
+        }
+
+        atraso = segundos;
+        disponivel = dentroDoLimite;
+    }
+}
@@ -0,0 +1,75 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import com.humberto789.minhasfinancas.exception.OrcamentoConsultasExcedidoException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Conta os statements SQL preparados pelo Hibernate na thread atual.
+ */
+public class ContadorConsultas implements StatementInspector {
+
+    private static final ThreadLocal<Contagem> CONTAGEM = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Contagem contagem = CONTAGEM.get();
+        if(contagem != null) {
+            contagem.registrar(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Inicia a contagem da thread atual. Com {@code maximo} maior que zero, o statement que passar
+     * do máximo falha com {@link OrcamentoConsultasExcedidoException} antes de ser executado.
+     */
+    public static Contagem iniciar(int maximo) {
+        Contagem contagem = new Contagem(maximo);
+        CONTAGEM.set(contagem);
+        return contagem;
+    }
+
+    public static Contagem encerrar() {
+        Contagem contagem = CONTAGEM.get();
+        CONTAGEM.remove();
+        return contagem;
+    }
+
+    public static class Contagem {
+
+        private static final int STATEMENTS_GUARDADOS = 20;
+
+        private final int maximo;
+        private final List<String> statements = new ArrayList<>();
+        private int quantidade;
+
+        private Contagem(int maximo) {
+            this.maximo = maximo;
+        }
+
+        private void registrar(String sql) {
+            quantidade++;
+            if(statements.size() < STATEMENTS_GUARDADOS) {
+                statements.add(sql);
+            }
+
+            if(maximo > 0 && quantidade > maximo) {
+                throw new OrcamentoConsultasExcedidoException("Orçamento de " + maximo
+                        + " statements SQL excedido: " + statements);
+            }
+        }
+
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        /** Os primeiros statements registrados, para diagnóstico. */
+        public List<String> getStatements() {
+            return Collections.unmodifiableList(statements);
+        }
+    }
+}
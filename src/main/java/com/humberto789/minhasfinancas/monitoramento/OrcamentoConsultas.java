@@ -0,0 +1,23 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quantidade máxima de statements SQL esperada para um endpoint, no lugar do orçamento padrão
+ * (minhasfinancas.consultas.orcamento).
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoConsultas {
+
+    /**
+     * Para endpoints em lote, cujo número de statements cresce com o tamanho do lote; a contagem continua
+     * publicada em consultas.sql.requisicao.
+     */
+    int SEM_LIMITE = Integer.MAX_VALUE;
+
+    int value();
+}
@@ -0,0 +1,71 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Compara os statements SQL de cada requisição com o orçamento do endpoint ({@link OrcamentoConsultas}).
+ */
+@Slf4j
+public class OrcamentoConsultasInterceptor implements AsyncHandlerInterceptor {
+
+    private final int orcamentoPadrao;
+    private final boolean falhar;
+    private final MeterRegistry meterRegistry;
+
+    public OrcamentoConsultasInterceptor(int orcamentoPadrao, boolean falhar, MeterRegistry meterRegistry) {
+        this.orcamentoPadrao = orcamentoPadrao;
+        this.falhar = falhar;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(handler instanceof HandlerMethod) {
+            ContadorConsultas.iniciar(falhar ? orcamento((HandlerMethod) handler) : 0);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A thread volta ao pool do servidor; a contagem não pode vazar para a próxima requisição.
+        ContadorConsultas.encerrar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ContadorConsultas.Contagem contagem = ContadorConsultas.encerrar();
+        if(contagem == null || !(handler instanceof HandlerMethod metodo)) {
+            return;
+        }
+
+        String endpoint = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        DistributionSummary.builder("consultas.sql.requisicao")
+                .tag("endpoint", endpoint)
+                .description("Statements SQL executados na thread de cada requisição")
+                .register(meterRegistry)
+                .record(contagem.getQuantidade());
+
+        int orcamento = orcamento(metodo);
+        if(contagem.getQuantidade() > orcamento) {
+            log.warn("{} {} ({}) executou {} statements SQL, acima do orçamento de {}: {}",
+                    request.getMethod(), request.getRequestURI(), endpoint,
+                    contagem.getQuantidade(), orcamento, contagem.getStatements());
+        }
+    }
+
+    private int orcamento(HandlerMethod metodo) {
+        OrcamentoConsultas anotacao = metodo.getMethodAnnotation(OrcamentoConsultas.class);
+        if(anotacao == null) {
+            anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), OrcamentoConsultas.class);
+        }
+        return anotacao == null ? orcamentoPadrao : anotacao.value();
+    }
+}
@@ -0,0 +1,39 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Arquivo dos lançamentos de anos encerrados. As leituras devolvem apenas a parte arquivada do período
+ * pedido, sem consultar o banco quando o período não alcança nenhum ano que possa estar arquivado.
+ */
+public interface ArquivamentoLancamentoService {
+
+    /**
+     * Move os lançamentos do ano para o arquivo e recalcula os totais anuais; devolve quantos foram movidos.
+     */
+    int arquivar(int ano);
+
+    /**
+     * Arquiva todos os anos encerrados há mais do que o período mantido na tabela de lançamentos.
+     */
+    List<Integer> arquivarAnosEncerrados();
+
+    List<LancamentoListagem> buscarListagem(Long idUsuario, String padraoDescricao, Integer ano, Integer mes);
+
+    List<LancamentoListagem> buscarAposCursor(FiltroLancamento filtro, CursorLancamento cursor, int limite);
+
+    List<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim);
+
+    BigDecimal obterTotal(Long idUsuario, TipoLancamento tipo);
+
+    List<TotalPorTipo> obterTotaisPorUsuarioETipo();
+}
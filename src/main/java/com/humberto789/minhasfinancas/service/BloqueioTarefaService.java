@@ -0,0 +1,17 @@
+package com.humberto789.minhasfinancas.service;
+
+import java.time.Duration;
+
+/**
+ * Concessões de tarefas agendadas gravadas no banco, para que só uma instância da aplicação execute
+ * cada tarefa por vez.
+ */
+public interface BloqueioTarefaService {
+
+    /**
+     * Toma ou renova a tarefa para esta instância pela duração informada; falso se outra instância a detém.
+     */
+    boolean adquirir(String tarefa, Duration duracao);
+
+    void liberar(String tarefa);
+}
@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
+
+import java.util.List;
+
+public interface BuscaDescricaoService {
+
+    List<Long> buscar(Long idUsuario, String termo, ModoBuscaDescricao modo, int limite);
+}
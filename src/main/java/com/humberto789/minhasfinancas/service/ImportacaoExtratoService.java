@@ -0,0 +1,16 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.entity.ImportacaoExtrato;
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ImportacaoExtratoService {
+
+    ImportacaoExtrato iniciar(Long idUsuario, FormatoExtrato formato, InputStream conteudo);
+
+    ImportacaoExtrato retomar(Long id);
+
+    Optional<ImportacaoExtrato> obterPorId(Long id);
+}
@@ -1,27 +1,54 @@
 package com.humberto789.minhasfinancas.service;
 
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.PaginaLancamento;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
 import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LancamentoService {
 
     Lancamento salvar(Lancamento lancamento);
 
+    ResultadoLote salvarEmLote(List<Lancamento> lancamentos);
+
     Lancamento atualizar(Lancamento lancamento);
 
     void deletar(Lancamento lancamento);
 
-    List<Lancamento> buscar(Lancamento lancamentoFiltro);
+    List<LancamentoListagem> buscar(Lancamento lancamentoFiltro);
+
+    List<LancamentoListagem> buscarPorDescricao(Long idUsuario, String termo, ModoBuscaDescricao modo, int limite);
+
+    PaginaLancamento buscarPagina(FiltroLancamento filtro, CursorLancamento cursor, int tamanho);
+
+    void exportar(FiltroLancamento filtro, Consumer<Lancamento> consumidor);
 
     void atualizarStatus(Lancamento lancamento, StatusLancamento status);
 
+    VersaoLancamento atualizarStatus(Long id, VersaoLancamento versao, StatusLancamento status);
+
+    int atualizarStatusEmLote(FiltroLancamento filtro, Collection<Long> ids, StatusLancamento status);
+
     void validar(Lancamento lancamento);
 
     Optional<Lancamento> obterPorId(Long id);
 
+    /**
+     * Busca no primário o lançamento que vai ser alterado ou excluído em seguida. O {@link #obterPorId(Long)}
+     * pode ler de uma réplica atrasada, que ainda não conhece o lançamento ou devolve uma versão antiga.
+     */
+    Optional<Lancamento> obterParaAlteracao(Long id);
+
     BigDecimal obterSaldoPorUsuario(Long id);
 }
@@ -0,0 +1,20 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+public interface LeituraReativaService {
+
+    Flux<LancamentoListagem> buscar(FiltroLancamento filtro, CursorLancamento cursor, int limite);
+
+    Mono<BigDecimal> obterSaldo(Long idUsuario);
+
+    Flux<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim);
+}
@@ -0,0 +1,12 @@
+package com.humberto789.minhasfinancas.service;
+
+import java.time.Duration;
+
+public interface LimiteAutenticacaoService {
+
+    /**
+     * Registra uma tentativa de autenticação. Retorna {@link Duration#ZERO} quando a tentativa está
+     * liberada, ou o tempo até a próxima tentativa permitida.
+     */
+    Duration consumir(String email, String ip);
+}
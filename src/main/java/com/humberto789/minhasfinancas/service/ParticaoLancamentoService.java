@@ -0,0 +1,17 @@
+package com.humberto789.minhasfinancas.service;
+
+import java.util.List;
+
+public interface ParticaoLancamentoService {
+
+    /**
+     * Garante uma partição de lançamentos para cada ano do intervalo e devolve os anos que foram criados.
+     */
+    List<Integer> criarParticoes(int anoInicial, int anoFinal);
+
+    /**
+     * Desanexa e remove a partição de um ano já arquivado. Linhas gravadas nela depois do arquivamento
+     * voltam para a tabela, na partição padrão, e são arquivadas na próxima execução.
+     */
+    boolean removerParticao(int ano);
+}
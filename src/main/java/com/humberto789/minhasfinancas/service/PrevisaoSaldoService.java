@@ -0,0 +1,14 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.PrevisaoSaldo;
+
+import java.time.YearMonth;
+
+public interface PrevisaoSaldoService {
+
+    /**
+     * Projeta o saldo do usuário do mês corrente até o mês informado (os próximos 12 meses quando nulo).
+     * Os pendentes de meses anteriores entram no mês corrente.
+     */
+    PrevisaoSaldo preverSaldo(Long idUsuario, YearMonth ate);
+}
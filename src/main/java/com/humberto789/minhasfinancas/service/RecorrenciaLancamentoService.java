@@ -0,0 +1,37 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lançamentos recorrentes (mensais, anuais ou parcelados) criados a partir de um lançamento modelo.
+ * As ocorrências devidas são gravadas em lote para todos os usuários de uma vez por {@link #materializarAte}.
+ */
+public interface RecorrenciaLancamentoService {
+
+    /**
+     * Cria a recorrência do lançamento, que passa a ser a primeira ocorrência. Num parcelamento ele vira a
+     * parcela 1 e recebe o sufixo "(1/N)", como as parcelas seguintes.
+     */
+    RecorrenciaLancamento criar(Lancamento modelo, PeriodicidadeRecorrencia periodicidade, Integer parcelas);
+
+    void encerrar(Long id, Long idUsuario);
+
+    List<RecorrenciaLancamento> obterAtivasPorUsuario(Long idUsuario);
+
+    /**
+     * Grava como PENDENTE as ocorrências devidas até o mês informado, inclusive, e devolve quantos
+     * lançamentos foram criados. Períodos já materializados não são gravados de novo.
+     */
+    int materializarAte(YearMonth mes);
+
+    /**
+     * Como {@link #materializarAte(YearMonth)}, parando antes da faixa em que {@code continuar} devolver falso.
+     */
+    int materializarAte(YearMonth mes, BooleanSupplier continuar);
+}
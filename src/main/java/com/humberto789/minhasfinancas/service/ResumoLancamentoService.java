@@ -0,0 +1,11 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface ResumoLancamentoService {
+
+    List<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim);
+}
@@ -0,0 +1,22 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.DivergenciaSaldo;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SaldoUsuarioService {
+
+    void registrar(Lancamento lancamento);
+
+    void registrarTodos(List<Lancamento> lancamentos);
+
+    void estornar(Lancamento lancamento);
+
+    void ajustar(Lancamento anterior, Lancamento atual);
+
+    BigDecimal obterSaldo(Long idUsuario);
+
+    List<DivergenciaSaldo> reconciliar();
+}
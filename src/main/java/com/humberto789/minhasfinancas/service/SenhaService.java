@@ -0,0 +1,12 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.ConferenciaSenha;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface SenhaService {
+
+    CompletableFuture<String> codificar(String senha);
+
+    CompletableFuture<ConferenciaSenha> conferir(String senha, String senhaArmazenada);
+}
@@ -0,0 +1,20 @@
+package com.humberto789.minhasfinancas.service;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Transação somente leitura, atendida pela réplica quando configurada. Use apenas em consultas que
+ * terminam na resposta, nunca na leitura que decide uma gravação.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface SomenteLeitura {
+}
@@ -0,0 +1,11 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.TokenAcesso;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+
+public interface TokenService {
+
+    TokenAcesso gerar(Usuario usuario);
+
+    Long validar(String token);
+}
@@ -1,16 +1,22 @@
 package com.humberto789.minhasfinancas.service;
 
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UsuarioService {
 
-    Usuario autenticar (String email, String senha);
+    CompletableFuture<Usuario> autenticar (String email, String senha);
 
-    Usuario salvarUsuario (Usuario usuario);
+    CompletableFuture<Usuario> salvarUsuario (Usuario usuario);
 
     void validarEmail(String email);
 
     Optional<Usuario> obterPorId(Long id);
+
+    Optional<DadosUsuario> obterDados(Long id);
+
+    Usuario obterReferencia(Long id);
 }
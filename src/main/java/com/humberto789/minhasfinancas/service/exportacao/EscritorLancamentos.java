@@ -0,0 +1,25 @@
+package com.humberto789.minhasfinancas.service.exportacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.enums.FormatoExportacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escreve lançamentos um a um no fluxo de saída, sem acumular a exportação em memória.
+ * Fechar o escritor descarrega o que estiver pendente, mas não fecha o fluxo de saída.
+ */
+public interface EscritorLancamentos extends Closeable {
+
+    void escrever(Lancamento lancamento) throws IOException;
+
+    static EscritorLancamentos de(FormatoExportacao formato, OutputStream saida, ObjectMapper objectMapper) throws IOException {
+        return switch(formato) {
+            case CSV -> new EscritorLancamentosCsv(saida);
+            case NDJSON -> new EscritorLancamentosNdjson(saida, objectMapper);
+        };
+    }
+}
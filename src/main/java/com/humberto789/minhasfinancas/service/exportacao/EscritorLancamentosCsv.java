@@ -0,0 +1,71 @@
+package com.humberto789.minhasfinancas.service.exportacao;
+
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV separado por vírgula, com cabeçalho e aspas apenas nos campos que precisam delas (RFC 4180).
+ */
+class EscritorLancamentosCsv implements EscritorLancamentos {
+
+    static final String CABECALHO = "id,descricao,mes,ano,valor,tipo,status,data_cadastro,usuario";
+
+    private final Writer writer;
+
+    EscritorLancamentosCsv(OutputStream saida) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        this.writer.write(CABECALHO);
+        this.writer.write("\r\n");
+    }
+
+    @Override
+    public void escrever(Lancamento lancamento) throws IOException {
+        LancamentoExportado linha = LancamentoExportado.de(lancamento);
+
+        writer.write(campo(linha.id()));
+        writer.write(',');
+        writer.write(texto(linha.descricao()));
+        writer.write(',');
+        writer.write(campo(linha.mes()));
+        writer.write(',');
+        writer.write(campo(linha.ano()));
+        writer.write(',');
+        writer.write(linha.valor() == null ? "" : linha.valor().toPlainString());
+        writer.write(',');
+        writer.write(campo(linha.tipo()));
+        writer.write(',');
+        writer.write(campo(linha.status()));
+        writer.write(',');
+        writer.write(campo(linha.dataCadastro()));
+        writer.write(',');
+        writer.write(campo(linha.usuario()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private static String campo(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static String texto(String valor) {
+        if(valor == null) {
+            return "";
+        }
+
+        if(valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
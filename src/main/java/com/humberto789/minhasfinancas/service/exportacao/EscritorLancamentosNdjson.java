@@ -0,0 +1,40 @@
+package com.humberto789.minhasfinancas.service.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Um objeto JSON por linha (NDJSON), serializado com o mesmo ObjectMapper da API.
+ */
+class EscritorLancamentosNdjson implements EscritorLancamentos {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    EscritorLancamentosNdjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(saida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                // Cada linha termina em '\n'; sem isso o Jackson ainda separa os valores com um espaço.
+                .setRootValueSeparator(null);
+        // Sem flush a cada linha: o descarregamento fica por conta dos buffers do gerador e da resposta.
+        this.writer = objectMapper.writerFor(LancamentoExportado.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void escrever(Lancamento lancamento) throws IOException {
+        writer.writeValue(generator, LancamentoExportado.de(lancamento));
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
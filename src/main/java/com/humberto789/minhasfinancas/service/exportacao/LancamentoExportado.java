@@ -0,0 +1,22 @@
+package com.humberto789.minhasfinancas.service.exportacao;
+
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha exportada de um lançamento: só o id do usuário é incluído, nunca os seus dados.
+ */
+record LancamentoExportado(Long id, String descricao, Integer mes, Integer ano, BigDecimal valor,
+                           TipoLancamento tipo, StatusLancamento status, LocalDate dataCadastro, Long usuario) {
+
+    static LancamentoExportado de(Lancamento lancamento) {
+        return new LancamentoExportado(lancamento.getId(), lancamento.getDescricao(),
+                lancamento.getMes(), lancamento.getAno(), lancamento.getValor(),
+                lancamento.getTipo(), lancamento.getStatus(), lancamento.getDataCadastro(),
+                lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId());
+    }
+}
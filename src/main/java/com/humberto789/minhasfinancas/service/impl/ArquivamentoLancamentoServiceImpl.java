@@ -0,0 +1,186 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.TotalAnualArquivadoRepository;
+import com.humberto789.minhasfinancas.service.ArquivamentoLancamentoService;
+import com.humberto789.minhasfinancas.service.ParticaoLancamentoService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Year;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Move os anos encerrados há mais de {@code anos-mantidos} anos para lancamento_arquivado, com os
+ * totais anuais em total_anual_arquivado.
+ */
+@Slf4j
+@Service
+public class ArquivamentoLancamentoServiceImpl implements ArquivamentoLancamentoService {
+
+    private final LancamentoRepository lancamentoRepository;
+    private final LancamentoArquivadoRepository repository;
+    private final TotalAnualArquivadoRepository totalRepository;
+    private final Optional<ParticaoLancamentoService> particaoLancamentoService;
+    private final TransactionTemplate transactionTemplate;
+    private final int anosMantidos;
+    private final Clock relogio;
+
+    private volatile int maiorAnoArquivado = LancamentoRepository.ANO_MINIMO - 1;
+
+    @Autowired
+    public ArquivamentoLancamentoServiceImpl(LancamentoRepository lancamentoRepository,
+                                             LancamentoArquivadoRepository repository,
+                                             TotalAnualArquivadoRepository totalRepository,
+                                             Optional<ParticaoLancamentoService> particaoLancamentoService,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${minhasfinancas.arquivamento.anos-mantidos:2}") int anosMantidos) {
+        this(lancamentoRepository, repository, totalRepository, particaoLancamentoService, transactionManager,
+                anosMantidos, Clock.systemDefaultZone());
+    }
+
+    public ArquivamentoLancamentoServiceImpl(LancamentoRepository lancamentoRepository,
+                                             LancamentoArquivadoRepository repository,
+                                             TotalAnualArquivadoRepository totalRepository,
+                                             Optional<ParticaoLancamentoService> particaoLancamentoService,
+                                             PlatformTransactionManager transactionManager,
+                                             int anosMantidos,
+                                             Clock relogio) {
+        this.lancamentoRepository = lancamentoRepository;
+        this.repository = repository;
+        this.totalRepository = totalRepository;
+        this.particaoLancamentoService = particaoLancamentoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.anosMantidos = anosMantidos;
+        this.relogio = relogio;
+    }
+
+    @PostConstruct
+    public void carregarMaiorAnoArquivado() {
+        repository.obterMaiorAno().ifPresent(this::registrarAnoArquivado);
+    }
+
+    @Override
+    public int arquivar(int ano) {
+        if(ano > ultimoAnoArquivavel()) {
+            throw new RegraNegocioException("Somente anos encerrados há mais de " + anosMantidos + " anos podem ser arquivados.");
+        }
+
+        Integer movidos = transactionTemplate.execute(status -> {
+            int copiados = repository.copiarDoAno(ano);
+
+            // Só sai da tabela o que foi copiado na versão copiada; o que mudou no meio do caminho é
+            // descartado do arquivo e fica para a próxima execução.
+            int removidos = lancamentoRepository.removerArquivadosDoAno(ano);
+            repository.removerAindaAtivosDoAno(ano);
+
+            totalRepository.removerDoAno(ano);
+            totalRepository.calcularDoAno(ano);
+
+            if(removidos != copiados) {
+                log.warn("Arquivamento de {}: {} lançamento(s) alterado(s) durante a cópia ficaram para a próxima execução.",
+                        ano, copiados - removidos);
+            }
+            return removidos;
+        });
+
+        registrarAnoArquivado(ano);
+        particaoLancamentoService.ifPresent(particoes -> particoes.removerParticao(ano));
+
+        return movidos == null ? 0 : movidos;
+    }
+
+    @Override
+    public List<Integer> arquivarAnosEncerrados() {
+        List<Integer> arquivados = new ArrayList<>();
+
+        for(Integer ano : lancamentoRepository.obterAnosAte(ultimoAnoArquivavel())) {
+            int movidos = arquivar(ano);
+            log.info("{} lançamento(s) de {} movido(s) para o arquivo.", movidos, ano);
+            arquivados.add(ano);
+        }
+
+        return arquivados;
+    }
+
+    @Override
+    public List<LancamentoListagem> buscarListagem(Long idUsuario, String padraoDescricao, Integer ano, Integer mes) {
+        int anoInicial = ano == null ? LancamentoRepository.ANO_MINIMO : ano;
+        int anoFinal = ano == null ? ultimoAnoLido() : ano;
+
+        if(anoInicial > ultimoAnoLido()) {
+            return List.of();
+        }
+
+        return repository.buscarListagemNoPeriodo(idUsuario, padraoDescricao, anoInicial, anoFinal, mes);
+    }
+
+    @Override
+    public List<LancamentoListagem> buscarAposCursor(FiltroLancamento filtro, CursorLancamento cursor, int limite) {
+        int anoInicial = Math.max(filtro.getAno() == null ? LancamentoRepository.ANO_MINIMO : filtro.getAno(), cursor.ano());
+        int anoFinal = filtro.getAno() == null ? ultimoAnoLido() : filtro.getAno();
+
+        if(anoInicial > ultimoAnoLido()) {
+            return List.of();
+        }
+
+        return repository.buscarAposCursorNoPeriodo(filtro.getIdUsuario(), anoInicial, anoFinal,
+                filtro.getMes(), filtro.getTipo(), filtro.getStatus(),
+                cursor.ano(), cursor.mes(), cursor.id(), PageRequest.of(0, limite));
+    }
+
+    @Override
+    public List<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        YearMonth ultimoMesLido = YearMonth.of(ultimoAnoLido(), 12);
+
+        if(inicio.isAfter(ultimoMesLido)) {
+            return List.of();
+        }
+
+        YearMonth ate = fim.isAfter(ultimoMesLido) ? ultimoMesLido : fim;
+        return repository.obterResumoPorUsuario(idUsuario,
+                inicio.getYear(), inicio.getMonthValue(), ate.getYear(), ate.getMonthValue());
+    }
+
+    @Override
+    public BigDecimal obterTotal(Long idUsuario, TipoLancamento tipo) {
+        BigDecimal total = totalRepository.obterTotalPorUsuarioETipo(idUsuario, tipo);
+        return total == null ? BigDecimal.ZERO : total;
+    }
+
+    @Override
+    public List<TotalPorTipo> obterTotaisPorUsuarioETipo() {
+        return totalRepository.obterTotaisPorUsuarioETipo();
+    }
+
+    private int ultimoAnoArquivavel() {
+        return Year.now(relogio).getValue() - 1 - anosMantidos;
+    }
+
+    private int ultimoAnoLido() {
+        return Math.max(ultimoAnoArquivavel(), maiorAnoArquivado);
+    }
+
+    private synchronized void registrarAnoArquivado(int ano) {
+        maiorAnoArquivado = Math.max(maiorAnoArquivado, ano);
+    }
+}
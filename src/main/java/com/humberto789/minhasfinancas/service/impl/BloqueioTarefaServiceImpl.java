@@ -0,0 +1,77 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.model.repository.BloqueioTarefaRepository;
+import com.humberto789.minhasfinancas.service.BloqueioTarefaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Concessões de tarefas entre instâncias, identificadas pelo host e por um id gerado na subida.
+ */
+@Service
+public class BloqueioTarefaServiceImpl implements BloqueioTarefaService {
+
+    private final BloqueioTarefaRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock relogio;
+    private final String dono;
+
+    @Autowired
+    public BloqueioTarefaServiceImpl(BloqueioTarefaRepository repository, PlatformTransactionManager transactionManager) {
+        this(repository, transactionManager, Clock.systemDefaultZone(), nomeDoHost() + "-" + UUID.randomUUID());
+    }
+
+    public BloqueioTarefaServiceImpl(BloqueioTarefaRepository repository, PlatformTransactionManager transactionManager,
+                                     Clock relogio, String dono) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relogio = relogio;
+        this.dono = dono;
+    }
+
+    @Override
+    public boolean adquirir(String tarefa, Duration duracao) {
+        LocalDateTime agora = LocalDateTime.now(relogio);
+        LocalDateTime expiraEm = agora.plus(duracao);
+
+        Boolean renovada = transactionTemplate.execute(status -> repository.renovar(tarefa, dono, agora, expiraEm) == 1);
+        if(Boolean.TRUE.equals(renovada)) {
+            return true;
+        }
+
+        if(repository.existsById(tarefa)) {
+            return false;
+        }
+
+        // Primeira execução da tarefa: entre duas instâncias, só uma consegue inserir.
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.criar(tarefa, dono, expiraEm));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void liberar(String tarefa) {
+        transactionTemplate.executeWithoutResult(status -> repository.liberar(tarefa, dono, LocalDateTime.now(relogio)));
+    }
+
+    private static String nomeDoHost() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "desconhecido";
+        }
+    }
+}
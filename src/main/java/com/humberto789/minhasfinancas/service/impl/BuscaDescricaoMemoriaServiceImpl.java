@@ -0,0 +1,69 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.BuscaDescricaoService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Busca por descrição em índices em memória por usuário, usada no perfil de testes (H2).
+ */
+@Service
+@Profile("test")
+public class BuscaDescricaoMemoriaServiceImpl implements BuscaDescricaoService {
+
+    private final LancamentoRepository repository;
+    private final Cache<Long, IndiceDescricaoUsuario> indices;
+
+    public BuscaDescricaoMemoriaServiceImpl(LancamentoRepository repository,
+                                            @Value("${minhasfinancas.busca.usuarios-em-memoria:1000}") int maximoUsuarios) {
+        this.repository = repository;
+        this.indices = Caffeine.newBuilder()
+                .maximumSize(maximoUsuarios)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+    }
+
+    @Override
+    public List<Long> buscar(Long idUsuario, String termo, ModoBuscaDescricao modo, int limite) {
+        IndiceDescricaoUsuario indice = obterIndice(idUsuario);
+
+        return switch(modo) {
+            case PREFIXO -> indice.buscarPorPrefixo(termo, limite);
+            case TOKEN -> indice.buscarPorToken(termo, limite);
+            case APROXIMADO -> indice.buscarAproximado(termo, limite);
+        };
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+        IndiceDescricaoUsuario indice = indices.getIfPresent(evento.idUsuario());
+
+        // Índices ainda não criados serão lidos do banco, já com esta alteração, na primeira busca.
+        if(indice == null) {
+            return;
+        }
+
+        if(evento.removido()) {
+            indice.remover(evento.idLancamento());
+        } else if(evento.descricao() != null) {
+            indice.registrar(evento.idLancamento(), evento.descricao());
+        }
+    }
+
+    private IndiceDescricaoUsuario obterIndice(Long idUsuario) {
+        // O índice entra no cache vazio e é carregado sob o seu próprio monitor; ver IndiceDescricaoUsuario.
+        IndiceDescricaoUsuario indice = indices.get(idUsuario, id -> new IndiceDescricaoUsuario());
+        indice.carregar(() -> repository.obterDescricoesPorUsuario(idUsuario));
+        return indice;
+    }
+}
@@ -0,0 +1,66 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
+import com.humberto789.minhasfinancas.service.BuscaDescricaoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Busca por descrição no Postgres, pelo índice pg_trgm sobre lower(descricao).
+ */
+@Service
+@Profile("!test")
+public class BuscaDescricaoPostgresServiceImpl implements BuscaDescricaoService {
+
+    private static final String INICIO_DE_TOKEN = "(^|[^[:alnum:]])";
+    private static final String FIM_DE_TOKEN = "([^[:alnum:]]|$)";
+
+    private static final String BUSCA_APROXIMADA = " select l.id from financas.lancamento l " +
+            "where l.id_usuario = :idUsuario " +
+            "and :termo <% lower(l.descricao) " +
+            "order by word_similarity(:termo, lower(l.descricao)) desc, l.id limit :limite";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> buscar(Long idUsuario, String termo, ModoBuscaDescricao modo, int limite) {
+        Query consulta;
+
+        if(modo == ModoBuscaDescricao.APROXIMADO) {
+            consulta = entityManager.createNativeQuery(BUSCA_APROXIMADA)
+                    .setParameter("termo", termo.trim().toLowerCase());
+        } else {
+            // Os tokens só têm letras e dígitos, então não há o que escapar na expressão.
+            List<String> tokens = new ArrayList<>(IndiceDescricaoUsuario.separar(termo));
+            if(tokens.isEmpty()) {
+                return List.of();
+            }
+
+            StringBuilder sql = new StringBuilder(" select l.id from financas.lancamento l where l.id_usuario = :idUsuario");
+            for(int i = 0; i < tokens.size(); i++) {
+                sql.append(" and lower(l.descricao) ~ :token").append(i);
+            }
+            sql.append(" order by l.id limit :limite");
+
+            consulta = entityManager.createNativeQuery(sql.toString());
+            for(int i = 0; i < tokens.size(); i++) {
+                String fim = modo == ModoBuscaDescricao.TOKEN ? FIM_DE_TOKEN : "";
+                consulta.setParameter("token" + i, INICIO_DE_TOKEN + tokens.get(i) + fim);
+            }
+        }
+
+        List<?> ids = consulta
+                .setParameter("idUsuario", idUsuario)
+                .setParameter("limite", limite)
+                .getResultList();
+
+        return ids.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+}
@@ -0,0 +1,318 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.ErroLote;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.entity.ImportacaoExtrato;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+import com.humberto789.minhasfinancas.model.enums.StatusImportacao;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.ImportacaoExtratoRepository;
+import com.humberto789.minhasfinancas.service.ImportacaoExtratoService;
+import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.UsuarioService;
+import com.humberto789.minhasfinancas.service.importacao.ErroLeituraExtrato;
+import com.humberto789.minhasfinancas.service.importacao.LeitorExtrato;
+import com.humberto789.minhasfinancas.service.importacao.RegistroExtrato;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Importa extratos em segundo plano, em lotes com checkpoint, retomando do último lote confirmado.
+ */
+@Slf4j
+@Service
+public class ImportacaoExtratoServiceImpl implements ImportacaoExtratoService, DisposableBean {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 255;
+
+    private final ImportacaoExtratoRepository repository;
+    private final LancamentoService lancamentoService;
+    private final UsuarioService usuarioService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path diretorio;
+    private final int tamanhoLote;
+    private final Set<Long> emExecucao = ConcurrentHashMap.newKeySet();
+
+    public ImportacaoExtratoServiceImpl(ImportacaoExtratoRepository repository,
+                                        LancamentoService lancamentoService,
+                                        UsuarioService usuarioService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${minhasfinancas.importacao.diretorio:${java.io.tmpdir}/minhasfinancas-importacoes}") String diretorio,
+                                        @Value("${minhasfinancas.importacao.tamanho-lote:500}") int tamanhoLote,
+                                        @Value("${minhasfinancas.importacao.threads:2}") int threads,
+                                        @Value("${minhasfinancas.importacao.fila:20}") int fila) {
+        this.repository = repository;
+        this.lancamentoService = lancamentoService;
+        this.usuarioService = usuarioService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.diretorio = Path.of(diretorio);
+        this.tamanhoLote = tamanhoLote;
+
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(fila);
+        this.executor.setThreadNamePrefix("importacao-");
+        this.executor.initialize();
+    }
+
+    @Override
+    public ImportacaoExtrato iniciar(Long idUsuario, FormatoExtrato formato, InputStream conteudo) {
+        if(usuarioService.obterDados(idUsuario).isEmpty()) {
+            throw new RegraNegocioException("Usuário não encontrado para o Id informado.");
+        }
+
+        Path arquivo;
+        try {
+            Files.createDirectories(diretorio);
+            arquivo = Files.createTempFile(diretorio, "extrato-", "." + formato.name().toLowerCase());
+            Files.copy(conteudo, arquivo, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível armazenar o extrato enviado.", e);
+        }
+
+        ImportacaoExtrato importacao = repository.save(ImportacaoExtrato.builder()
+                .idUsuario(idUsuario)
+                .formato(formato)
+                .arquivo(arquivo.toString())
+                .status(StatusImportacao.AGUARDANDO)
+                .registrosProcessados(0L)
+                .lancamentosImportados(0L)
+                .registrosComErro(0L)
+                .dataCriacao(LocalDateTime.now())
+                .dataAtualizacao(LocalDateTime.now())
+                .build());
+
+        try {
+            agendar(importacao.getId());
+        } catch (TaskRejectedException e) {
+            repository.delete(importacao);
+            apagar(arquivo);
+            throw e;
+        }
+        return importacao;
+    }
+
+    @Override
+    public ImportacaoExtrato retomar(Long id) {
+        ImportacaoExtrato importacao = repository.findById(id)
+                .orElseThrow(() -> new RegraNegocioException("Importação não encontrada para o Id informado."));
+
+        if(importacao.getStatus() == StatusImportacao.CONCLUIDA) {
+            throw new RegraNegocioException("A importação já foi concluída.");
+        }
+
+        agendar(id);
+        return importacao;
+    }
+
+    @Override
+    public Optional<ImportacaoExtrato> obterPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    public void processar(Long id) {
+        ImportacaoExtrato importacao = repository.findById(id).orElseThrow();
+        importacao.setStatus(StatusImportacao.EM_ANDAMENTO);
+        importacao.setDataAtualizacao(LocalDateTime.now());
+        importacao = repository.save(importacao);
+
+        try {
+            // O usuário já foi validado ao iniciar a importação; os lançamentos só precisam da chave estrangeira.
+            Usuario usuario = usuarioService.obterReferencia(importacao.getIdUsuario());
+
+            importacao = importarArquivo(importacao, usuario);
+
+            importacao.setStatus(StatusImportacao.CONCLUIDA);
+            importacao.setDataAtualizacao(LocalDateTime.now());
+            repository.save(importacao);
+            Files.deleteIfExists(Path.of(importacao.getArquivo()));
+        } catch (Exception e) {
+            log.error("Falha na importação de extrato {}", id, e);
+
+            // Relê a importação para preservar o checkpoint do último lote confirmado.
+            ImportacaoExtrato falha = repository.findById(id).orElse(importacao);
+            falha.setStatus(StatusImportacao.FALHOU);
+            falha.setUltimoErro(limitar("Importação interrompida: " + e.getMessage()));
+            falha.setDataAtualizacao(LocalDateTime.now());
+            repository.save(falha);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private void agendar(Long id) {
+        if(!emExecucao.add(id)) {
+            throw new RegraNegocioException("A importação já está em andamento.");
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    processar(id);
+                } finally {
+                    emExecucao.remove(id);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            emExecucao.remove(id);
+            throw e;
+        }
+    }
+
+    private void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar o extrato recusado {}", arquivo, e);
+        }
+    }
+
+    private ImportacaoExtrato importarArquivo(ImportacaoExtrato importacao, Usuario usuario) throws IOException {
+        Path arquivo = Path.of(importacao.getArquivo());
+
+        try (LeitorExtrato leitor = LeitorExtrato.de(importacao.getFormato(),
+                Files.newBufferedReader(arquivo, StandardCharsets.UTF_8))) {
+
+            pularRegistrosJaProcessados(leitor, importacao.getRegistrosProcessados());
+
+            boolean fimDoArquivo = false;
+            while(!fimDoArquivo) {
+                if(Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("execução cancelada");
+                }
+
+                Lote lote = new Lote(importacao.getRegistrosProcessados());
+                while(lote.registros < tamanhoLote) {
+                    try {
+                        RegistroExtrato registro = leitor.proximo();
+                        if(registro == null) {
+                            fimDoArquivo = true;
+                            break;
+                        }
+                        lote.adicionar(converter(registro, usuario));
+                    } catch (ErroLeituraExtrato e) {
+                        lote.adicionarErro(e.getMessage());
+                    }
+                }
+
+                if(lote.registros > 0) {
+                    importacao = confirmar(importacao, lote);
+                }
+            }
+        }
+
+        return importacao;
+    }
+
+    private void pularRegistrosJaProcessados(LeitorExtrato leitor, long registrosProcessados) throws IOException {
+        for(long i = 0; i < registrosProcessados; i++) {
+            try {
+                if(leitor.proximo() == null) {
+                    return;
+                }
+            } catch (ErroLeituraExtrato e) {
+                // Registro inválido já contabilizado antes da interrupção.
+            }
+        }
+    }
+
+    private ImportacaoExtrato confirmar(ImportacaoExtrato importacao, Lote lote) {
+        return transactionTemplate.execute(status -> {
+            ResultadoLote resultado = lancamentoService.salvarEmLote(lote.lancamentos);
+
+            for(ErroLote erro : resultado.erros()) {
+                lote.adicionarErroDeValidacao(lote.posicoes.get(erro.linha()), erro.mensagem());
+            }
+
+            importacao.setRegistrosProcessados(importacao.getRegistrosProcessados() + lote.registros);
+            importacao.setLancamentosImportados(importacao.getLancamentosImportados() + resultado.salvos());
+            importacao.setRegistrosComErro(importacao.getRegistrosComErro() + lote.erros);
+            if(lote.ultimoErro != null) {
+                importacao.setUltimoErro(limitar(lote.ultimoErro));
+            }
+            importacao.setDataAtualizacao(LocalDateTime.now());
+
+            return repository.save(importacao);
+        });
+    }
+
+    private Lancamento converter(RegistroExtrato registro, Usuario usuario) {
+        boolean debito = registro.valor().signum() < 0;
+
+        return Lancamento.builder()
+                .descricao(registro.descricao())
+                .ano(registro.data().getYear())
+                .mes(registro.data().getMonthValue())
+                .valor(registro.valor().abs())
+                .tipo(debito ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+                .usuario(usuario)
+                .dataCadastro(LocalDate.now())
+                .build();
+    }
+
+    private String limitar(String mensagem) {
+        return mensagem.length() <= TAMANHO_MAXIMO_ERRO ? mensagem : mensagem.substring(0, TAMANHO_MAXIMO_ERRO);
+    }
+
+    /**
+     * Registros lidos desde o último checkpoint. As posições são contadas a partir do início do arquivo.
+     */
+    private static class Lote {
+
+        private final long inicio;
+        private final List<Lancamento> lancamentos = new ArrayList<>();
+        private final List<Long> posicoes = new ArrayList<>();
+        private int registros;
+        private int erros;
+        private String ultimoErro;
+
+        private Lote(long inicio) {
+            this.inicio = inicio;
+        }
+
+        private void adicionar(Lancamento lancamento) {
+            lancamentos.add(lancamento);
+            posicoes.add(inicio + registros);
+            registros++;
+        }
+
+        private void adicionarErro(String mensagem) {
+            adicionarErroDeValidacao(inicio + registros, mensagem);
+            registros++;
+        }
+
+        private void adicionarErroDeValidacao(long posicao, String mensagem) {
+            erros++;
+            ultimoErro = "Registro " + (posicao + 1) + ": " + mensagem;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.model.dto.DescricaoLancamento;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido das descrições de um usuário, por token e por trigrama.
+ */
+class IndiceDescricaoUsuario {
+
+    static final double SIMILARIDADE_MINIMA = 0.3;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, String> descricoes = new HashMap<>();
+    private final TreeMap<String, Set<Long>> tokens = new TreeMap<>();
+    private final Map<String, Set<Long>> trigramas = new HashMap<>();
+    private boolean carregado;
+
+    synchronized void carregar(Supplier<List<DescricaoLancamento>> leitura) {
+        if(carregado) {
+            return;
+        }
+
+        for(DescricaoLancamento descricao : leitura.get()) {
+            registrar(descricao.id(), descricao.descricao());
+        }
+        carregado = true;
+    }
+
+    synchronized void registrar(Long id, String descricao) {
+        remover(id);
+
+        if(descricao == null) {
+            return;
+        }
+
+        descricoes.put(id, descricao);
+        for(String token : tokenizar(descricao)) {
+            tokens.computeIfAbsent(token, t -> new HashSet<>()).add(id);
+        }
+        for(String trigrama : trigramas(descricao)) {
+            trigramas.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remover(Long id) {
+        String descricao = descricoes.remove(id);
+
+        if(descricao == null) {
+            return;
+        }
+
+        for(String token : tokenizar(descricao)) {
+            removerPosting(tokens, token, id);
+        }
+        for(String trigrama : trigramas(descricao)) {
+            removerPosting(trigramas, trigrama, id);
+        }
+    }
+
+    synchronized List<Long> buscarPorPrefixo(String termo, int limite) {
+        Set<Long> resultado = null;
+
+        for(String prefixo : tokenizar(termo)) {
+            Set<Long> encontrados = new HashSet<>();
+            tokens.subMap(prefixo, prefixo + Character.MAX_VALUE).values().forEach(encontrados::addAll);
+            resultado = intersectar(resultado, encontrados);
+        }
+
+        return ordenarPorId(resultado, limite);
+    }
+
+    synchronized List<Long> buscarPorToken(String termo, int limite) {
+        Set<Long> resultado = null;
+
+        for(String token : tokenizar(termo)) {
+            resultado = intersectar(resultado, tokens.getOrDefault(token, Set.of()));
+        }
+
+        return ordenarPorId(resultado, limite);
+    }
+
+    synchronized List<Long> buscarAproximado(String termo, int limite) {
+        Set<String> trigramasTermo = trigramas(termo);
+        Map<Long, Integer> emComum = new HashMap<>();
+
+        for(String trigrama : trigramasTermo) {
+            for(Long id : trigramas.getOrDefault(trigrama, Set.of())) {
+                emComum.merge(id, 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Double> similaridades = new HashMap<>();
+        emComum.forEach((id, comum) -> {
+            // Mesma medida do word_similarity do pg_trgm: trigramas em comum sobre os trigramas do termo.
+            double similaridade = (double) comum / trigramasTermo.size();
+            if(similaridade >= SIMILARIDADE_MINIMA) {
+                similaridades.put(id, similaridade);
+            }
+        });
+
+        return similaridades.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    static String normalizar(String texto) {
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase();
+    }
+
+    static Set<String> tokenizar(String texto) {
+        return separar(normalizar(texto));
+    }
+
+    /**
+     * Tokens em minúsculas separados por qualquer caractere que não seja letra ou dígito, a mesma
+     * regra usada na busca no Postgres.
+     */
+    static Set<String> separar(String texto) {
+        Set<String> resultado = new LinkedHashSet<>();
+        Arrays.stream(SEPARADORES.split(texto.toLowerCase()))
+                .filter(token -> !token.isEmpty())
+                .forEach(resultado::add);
+        return resultado;
+    }
+
+    static Set<String> trigramas(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for(String token : tokenizar(texto)) {
+            String palavra = "  " + token + " ";
+            for(int i = 0; i + 3 <= palavra.length(); i++) {
+                resultado.add(palavra.substring(i, i + 3));
+            }
+        }
+        return resultado;
+    }
+
+    private static Set<Long> intersectar(Set<Long> acumulado, Set<Long> encontrados) {
+        if(acumulado == null) {
+            return new HashSet<>(encontrados);
+        }
+        acumulado.retainAll(encontrados);
+        return acumulado;
+    }
+
+    private static List<Long> ordenarPorId(Set<Long> ids, int limite) {
+        if(ids == null) {
+            return List.of();
+        }
+
+        List<Long> ordenados = new ArrayList<>(ids);
+        ordenados.sort(Comparator.naturalOrder());
+        return ordenados.subList(0, Math.min(limite, ordenados.size()));
+    }
+
+    private static void removerPosting(Map<String, Set<Long>> postings, String chave, Long id) {
+        Set<Long> ids = postings.get(chave);
+        if(ids != null) {
+            ids.remove(id);
+            if(ids.isEmpty()) {
+                postings.remove(chave);
+            }
+        }
+    }
+}
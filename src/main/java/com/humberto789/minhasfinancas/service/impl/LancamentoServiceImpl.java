@@ -1,28 +1,99 @@
 package com.humberto789.minhasfinancas.service.impl;
 
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.ErroLote;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.PaginaLancamento;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
 import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
-import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
 import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.ArquivamentoLancamentoService;
+import com.humberto789.minhasfinancas.service.BuscaDescricaoService;
 import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.SaldoUsuarioService;
+import com.humberto789.minhasfinancas.service.SomenteLeitura;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "servico.lancamento", description = "Tempo de execução dos métodos de LancamentoService")
 public class LancamentoServiceImpl implements LancamentoService {
 
+    public static final int TAMANHO_MAXIMO_PAGINA = 100;
+
+    private static final Comparator<LancamentoListagem> ORDEM_CURSOR = Comparator.comparing(LancamentoListagem::ano)
+            .thenComparing(LancamentoListagem::mes)
+            .thenComparing(LancamentoListagem::id);
+
+    private static final String REGRA_DESCRICAO = "descricao";
+    private static final String REGRA_MES = "mes";
+    private static final String REGRA_ANO = "ano";
+    private static final String REGRA_USUARIO = "usuario";
+    private static final String REGRA_VALOR = "valor";
+    private static final String REGRA_TIPO = "tipo";
+
     private LancamentoRepository repository;
+    private SaldoUsuarioService saldoUsuarioService;
+    private ArquivamentoLancamentoService arquivamentoLancamentoService;
+    private BuscaDescricaoService buscaDescricaoService;
+    private ApplicationEventPublisher eventPublisher;
+    private EntityManager entityManager;
 
-    public LancamentoServiceImpl(LancamentoRepository repository) {
+    // Medidores registrados uma única vez; o caminho quente só incrementa.
+    private final DistributionSummary linhasBuscadas;
+    private final Map<String, Counter> falhasValidacao = new HashMap<>();
+
+    public LancamentoServiceImpl(LancamentoRepository repository,
+                                 SaldoUsuarioService saldoUsuarioService,
+                                 ArquivamentoLancamentoService arquivamentoLancamentoService,
+                                 BuscaDescricaoService buscaDescricaoService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 EntityManager entityManager,
+                                 MeterRegistry meterRegistry) {
         this.repository = repository;
+        this.saldoUsuarioService = saldoUsuarioService;
+        this.arquivamentoLancamentoService = arquivamentoLancamentoService;
+        this.buscaDescricaoService = buscaDescricaoService;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+
+        this.linhasBuscadas = DistributionSummary.builder("lancamento.buscar.linhas")
+                .description("Quantidade de lançamentos devolvidos por buscar")
+                .register(meterRegistry);
+        for(String regra : List.of(REGRA_DESCRICAO, REGRA_MES, REGRA_ANO, REGRA_USUARIO, REGRA_VALOR, REGRA_TIPO)) {
+            falhasValidacao.put(regra, Counter.builder("lancamento.validacao.falhas")
+                    .tag("regra", regra)
+                    .description("Lançamentos recusados pela validação, por regra")
+                    .register(meterRegistry));
+        }
     }
 
     @Override
@@ -30,7 +101,36 @@ public class LancamentoServiceImpl implements LancamentoService {
     public Lancamento salvar(Lancamento lancamento) {
         validar(lancamento);
         lancamento.setStatus(StatusLancamento.PENDENTE);
-        return repository.save(lancamento);
+        Lancamento lancamentoSalvo = repository.save(lancamento);
+        saldoUsuarioService.registrar(lancamentoSalvo);
+        publicarAlteracao(null, lancamentoSalvo);
+        return lancamentoSalvo;
+    }
+
+    @Override
+    @Transactional
+    public ResultadoLote salvarEmLote(List<Lancamento> lancamentos) {
+        List<Lancamento> validos = new ArrayList<>();
+        List<ErroLote> erros = new ArrayList<>();
+
+        for(int linha = 0; linha < lancamentos.size(); linha++) {
+            Lancamento lancamento = lancamentos.get(linha);
+            try {
+                validar(lancamento);
+                lancamento.setStatus(StatusLancamento.PENDENTE);
+                validos.add(lancamento);
+            } catch (RegraNegocioException e) {
+                erros.add(new ErroLote(linha, e.getMessage()));
+            }
+        }
+
+        if(!validos.isEmpty()) {
+            List<Lancamento> lancamentosSalvos = repository.saveAll(validos);
+            saldoUsuarioService.registrarTodos(lancamentosSalvos);
+            lancamentosSalvos.forEach(lancamento -> publicarAlteracao(null, lancamento));
+        }
+
+        return new ResultadoLote(validos.size(), erros);
     }
 
     @Override
@@ -38,7 +138,19 @@ public class LancamentoServiceImpl implements LancamentoService {
     public Lancamento atualizar(Lancamento lancamento) {
         Objects.requireNonNull(lancamento.getId());
         validar(lancamento);
-        return repository.save(lancamento);
+
+        Optional<Lancamento> atual = repository.findById(lancamento.getId());
+        Lancamento anterior = atual.map(this::copiarValoresDeSaldo).orElse(null);
+
+        if(lancamento.getVersao() == null) {
+            // Sem versão informada pelo cliente, a alteração é feita sobre a versão vigente.
+            atual.ifPresent(vigente -> lancamento.setVersao(vigente.getVersao()));
+        }
+
+        Lancamento lancamentoAtualizado = repository.save(lancamento);
+        saldoUsuarioService.ajustar(anterior, lancamento);
+        publicarAlteracao(anterior, lancamento);
+        return lancamentoAtualizado;
     }
 
     @Override
@@ -47,18 +159,104 @@ public class LancamentoServiceImpl implements LancamentoService {
         Objects.requireNonNull(lancamento.getId());
 
         repository.delete(lancamento);
+        saldoUsuarioService.estornar(lancamento);
+        publicarAlteracao(lancamento, null);
     }
 
     @Override
-    public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
+    @SomenteLeitura
+    public List<LancamentoListagem> buscar(Lancamento lancamentoFiltro) {
+        if(lancamentoFiltro.getUsuario() == null || lancamentoFiltro.getUsuario().getId() == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        Long idUsuario = lancamentoFiltro.getUsuario().getId();
+        String padraoDescricao = padraoContendo(lancamentoFiltro.getDescricao());
+
+        List<LancamentoListagem> lancamentos = repository.buscarListagem(idUsuario, padraoDescricao,
+                lancamentoFiltro.getAno(), lancamentoFiltro.getMes());
+        List<LancamentoListagem> arquivados = arquivamentoLancamentoService.buscarListagem(idUsuario, padraoDescricao,
+                lancamentoFiltro.getAno(), lancamentoFiltro.getMes());
+
+        if(!arquivados.isEmpty()) {
+            lancamentos = Stream.concat(arquivados.stream(), lancamentos.stream()).toList();
+        }
+
+        linhasBuscadas.record(lancamentos.size());
+        return lancamentos;
+    }
+
+    @Override
+    public List<LancamentoListagem> buscarPorDescricao(Long idUsuario, String termo, ModoBuscaDescricao modo, int limite) {
+        if(termo == null || termo.isBlank()) {
+            throw new RegraNegocioException("Informe um termo de busca.");
+        }
+
+        if(limite < 1) {
+            throw new RegraNegocioException("Informe um limite válido.");
+        }
+
+        List<Long> ids = buscaDescricaoService.buscar(idUsuario, termo, modo, Math.min(limite, TAMANHO_MAXIMO_PAGINA));
+
+        // findAllById não preserva a ordem de relevância devolvida pelo motor de busca.
+        return repository.buscarListagemPorIds(idUsuario, ids).stream()
+                .sorted(Comparator.comparingInt(lancamento -> ids.indexOf(lancamento.id())))
+                .toList();
+    }
+
+    @Override
+    @SomenteLeitura
+    public PaginaLancamento buscarPagina(FiltroLancamento filtro, CursorLancamento cursor, int tamanho) {
+        if(filtro.getIdUsuario() == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        if(tamanho < 1) {
+            throw new RegraNegocioException("Informe um tamanho de página válido.");
+        }
+
+        int tamanhoPagina = Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+        CursorLancamento posicao = cursor == null ? CursorLancamento.INICIO : cursor;
+
+        // Busca um registro a mais apenas para saber se existe uma próxima página.
+        List<LancamentoListagem> lancamentos = repository.buscarAposCursor(filtro.getIdUsuario(),
+                filtro.getAno(), filtro.getMes(), filtro.getTipo(), filtro.getStatus(),
+                posicao.ano(), posicao.mes(), posicao.id(),
+                PageRequest.of(0, tamanhoPagina + 1));
+        List<LancamentoListagem> arquivados = arquivamentoLancamentoService.buscarAposCursor(filtro, posicao, tamanhoPagina + 1);
+
+        // Anos arquivados ainda podem receber lançamentos novos, então as duas listas são intercaladas na ordem do cursor.
+        if(!arquivados.isEmpty()) {
+            lancamentos = Stream.concat(arquivados.stream(), lancamentos.stream())
+                    .sorted(ORDEM_CURSOR)
+                    .limit(tamanhoPagina + 1)
+                    .toList();
+        }
+
+        if(lancamentos.size() <= tamanhoPagina) {
+            return new PaginaLancamento(lancamentos, null);
+        }
 
-        Example example = Example.of(lancamentoFiltro,
-                ExampleMatcher.matching()
-                        .withIgnoreCase()
-                        .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
+        List<LancamentoListagem> pagina = lancamentos.subList(0, tamanhoPagina);
+        return new PaginaLancamento(pagina, CursorLancamento.de(pagina.get(tamanhoPagina - 1)).codificar());
+    }
+
+    @Override
+    @Transactional
+    public void exportar(FiltroLancamento filtro, Consumer<Lancamento> consumidor) {
+        if(filtro.getIdUsuario() == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
 
-        return repository.findAll(example);
+        try (Stream<Lancamento> lancamentos = repository.exportarPorUsuario(filtro.getIdUsuario(),
+                filtro.getAno(), filtro.getMes(), filtro.getTipo(), filtro.getStatus())) {
 
+            // Cada lançamento é desanexado após o uso para o contexto de persistência não crescer com a exportação.
+            lancamentos.forEach(lancamento -> {
+                consumidor.accept(lancamento);
+                entityManager.detach(lancamento);
+            });
+        }
     }
 
     @Override
@@ -68,53 +266,152 @@ public class LancamentoServiceImpl implements LancamentoService {
         atualizar(lancamento);
     }
 
+    @Override
+    @Transactional
+    public VersaoLancamento atualizarStatus(Long id, VersaoLancamento versao, StatusLancamento status) {
+        Objects.requireNonNull(id);
+
+        if(status == null) {
+            throw new RegraNegocioException("Informe um status de lançamento.");
+        }
+
+        // Uma única instrução: o status não participa da validação nem do saldo, e a versão garante
+        // que a alteração não sobrescreva outra feita em paralelo.
+        int atualizados = repository.atualizarStatus(id, versao.idUsuario(), versao.versao(), status);
+
+        if(atualizados == 0) {
+            // O dono é conferido antes da versão: um dono adulterado no If-Match é acesso negado, não conflito.
+            Long idDono = repository.obterIdUsuario(id)
+                    .orElseThrow(() -> new RegraNegocioException("Lançamento não encontrado na base de dados."));
+            if(!idDono.equals(versao.idUsuario())) {
+                throw new ErroAutenticacao("O lançamento não pertence ao usuário informado.");
+            }
+            throw new OptimisticLockingFailureException("O lançamento foi alterado por outra requisição.");
+        }
+
+        eventPublisher.publishEvent(LancamentoAlteradoEvent.statusAlterado(versao.idUsuario(), id));
+        return new VersaoLancamento(versao.idUsuario(), versao.versao() + 1);
+    }
+
+    @Override
+    @Transactional
+    public int atualizarStatusEmLote(FiltroLancamento filtro, Collection<Long> ids, StatusLancamento status) {
+        if(filtro.getIdUsuario() == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        if(status == null) {
+            throw new RegraNegocioException("Informe um status de lançamento.");
+        }
+
+        if(ids != null && ids.isEmpty()) {
+            return 0;
+        }
+
+        // Lançamentos que já estão no status de destino não são contados nem têm a versão alterada.
+        int atualizados = ids != null
+                ? repository.atualizarStatusPorIds(filtro.getIdUsuario(), ids, status)
+                : repository.atualizarStatusPorFiltro(filtro.getIdUsuario(), filtro.getAno(), filtro.getMes(),
+                        filtro.getTipo(), filtro.getStatus(), status);
+
+        // O status não entra no saldo; o evento descarta o resumo em cache do usuário.
+        if(atualizados > 0) {
+            eventPublisher.publishEvent(LancamentoAlteradoEvent.statusAlteradoEmLote(filtro.getIdUsuario()));
+        }
+
+        return atualizados;
+    }
+
     @Override
     public void validar(Lancamento lancamento) {
         if(lancamento.getDescricao() == null || lancamento.getDescricao().trim().equals("")){
-            throw new RegraNegocioException("Informe uma descrição válida.");
+            throw recusar(REGRA_DESCRICAO, "Informe uma descrição válida.");
         }
 
         if(lancamento.getMes() == null || lancamento.getMes() < 1 || lancamento.getMes() > 12) {
-            throw new RegraNegocioException("Informe um mês válido.");
+            throw recusar(REGRA_MES, "Informe um mês válido.");
         }
 
         if(lancamento.getAno() == null || lancamento.getAno().toString().length() != 4 ) {
-            throw new RegraNegocioException("Informe um ano válido.");
+            throw recusar(REGRA_ANO, "Informe um ano válido.");
         }
 
         if(lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null){
-            throw new RegraNegocioException("Informe um usuário.");
+            throw recusar(REGRA_USUARIO, "Informe um usuário.");
         }
 
         if(lancamento.getValor() == null || lancamento.getValor().compareTo(BigDecimal.ZERO) < 1){
-            throw new RegraNegocioException("Informe um valor válido.");
+            throw recusar(REGRA_VALOR, "Informe um valor válido.");
         }
 
         if(lancamento.getTipo() == null) {
-            throw new RegraNegocioException("Informe um tipo de lançamento.");
+            throw recusar(REGRA_TIPO, "Informe um tipo de lançamento.");
         }
     }
 
     @Override
+    @SomenteLeitura
     public Optional<Lancamento> obterPorId(Long id) {
         return repository.findById(id);
     }
 
+    @Override
+    public Optional<Lancamento> obterParaAlteracao(Long id) {
+        return repository.findById(id);
+    }
+
     @Override
     public BigDecimal obterSaldoPorUsuario(Long id) {
-        BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-        BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
+        // Fica no primário: o saldo lido vai para o cache, e uma réplica atrasada guardaria lá o saldo
+        // anterior ao commit que acabou de descartar a entrada.
+        return saldoUsuarioService.obterSaldo(id);
+    }
+
+    private RegraNegocioException recusar(String regra, String mensagem) {
+        falhasValidacao.get(regra).increment();
+        return new RegraNegocioException(mensagem);
+    }
 
-        if(receitas == null){
-            receitas = BigDecimal.ZERO;
+    private void publicarAlteracao(Lancamento anterior, Lancamento atual) {
+        Long idUsuarioAnterior = idUsuario(anterior);
+        Long idUsuarioAtual = idUsuario(atual);
+
+        if(idUsuarioAnterior != null && !idUsuarioAnterior.equals(idUsuarioAtual)) {
+            eventPublisher.publishEvent(LancamentoAlteradoEvent.removido(idUsuarioAnterior, anterior.getId()));
         }
 
-        if(despesas == null){
-            despesas = BigDecimal.ZERO;
+        if(idUsuarioAtual != null) {
+            eventPublisher.publishEvent(LancamentoAlteradoEvent.gravado(idUsuarioAtual, atual.getId(), atual.getDescricao()));
         }
+    }
 
-        BigDecimal saldo = receitas.subtract(despesas);
+    private String padraoContendo(String descricao) {
+        if(descricao == null) {
+            return "%";
+        }
+
+        // Mesma semântica da busca por exemplo (contém, sem diferenciar maiúsculas), tratando % e _ como literais.
+        String escapada = descricao.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapada + "%";
+    }
+
+    private Long idUsuario(Lancamento lancamento) {
+        if(lancamento == null) {
+            return null;
+        }
+        Usuario usuario = lancamento.getUsuario();
+        return usuario == null ? null : usuario.getId();
+    }
 
-        return saldo;
+    private Lancamento copiarValoresDeSaldo(Lancamento lancamento) {
+        return Lancamento.builder()
+                .id(lancamento.getId())
+                .usuario(lancamento.getUsuario())
+                .tipo(lancamento.getTipo())
+                .valor(lancamento.getValor())
+                .build();
     }
 }
@@ -0,0 +1,70 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoReativoRepository;
+import com.humberto789.minhasfinancas.service.LeituraReativaService;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Caminho de leitura não bloqueante. As validações são feitas antes de montar o Flux/Mono, para que
+ * erros de parâmetro cheguem ao controller de forma síncrona, como nos demais serviços.
+ */
+@Service
+public class LeituraReativaServiceImpl implements LeituraReativaService {
+
+    public static final int LIMITE_MAXIMO = 10_000;
+
+    private final LancamentoReativoRepository repository;
+
+    public LeituraReativaServiceImpl(LancamentoReativoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Flux<LancamentoListagem> buscar(FiltroLancamento filtro, CursorLancamento cursor, int limite) {
+        if(filtro.getIdUsuario() == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        if(limite < 1) {
+            throw new RegraNegocioException("Informe um limite válido.");
+        }
+
+        return repository.buscarAposCursor(filtro, cursor == null ? CursorLancamento.INICIO : cursor,
+                Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    @Override
+    public Mono<BigDecimal> obterSaldo(Long idUsuario) {
+        if(idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        return repository.obterSaldo(idUsuario);
+    }
+
+    @Override
+    public Flux<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        if(idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        YearMonth de = inicio == null ? ResumoLancamentoServiceImpl.SEM_INICIO : inicio;
+        YearMonth ate = fim == null ? ResumoLancamentoServiceImpl.SEM_FIM : fim;
+
+        if(de.isAfter(ate)) {
+            throw new RegraNegocioException("O período inicial deve ser anterior ao período final.");
+        }
+
+        return repository.obterResumoPorUsuario(idUsuario, de.getYear(), de.getMonthValue(), ate.getYear(), ate.getMonthValue());
+    }
+}
@@ -0,0 +1,59 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Balde de tokens por chave (GCRA), sem locks; as chaves ociosas são descartadas por expiração.
+ */
+class LimitadorTaxa {
+
+    private final long intervalo;
+    private final long tolerancia;
+    private final LongSupplier relogio;
+    private final Cache<String, AtomicLong> baldes;
+
+    LimitadorTaxa(int capacidade, Duration reposicao, LongSupplier relogio) {
+        this.intervalo = reposicao.toNanos();
+        this.tolerancia = (capacidade - 1) * intervalo;
+        this.relogio = relogio;
+
+        // Sem acesso por capacidade * reposição o balde já está cheio de novo e pode ser descartado.
+        this.baldes = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(capacidade * intervalo))
+                .ticker(relogio::getAsLong)
+                .build();
+    }
+
+    /**
+     * Consome um token da chave. Retorna zero quando havia token disponível, ou quanto falta para o
+     * próximo token, sem consumir nada.
+     */
+    long consumir(String chave) {
+        AtomicLong chegadaTeorica = baldes.get(chave, c -> new AtomicLong(relogio.getAsLong()));
+
+        while(true) {
+            long agora = relogio.getAsLong();
+            long atual = chegadaTeorica.get();
+            // Comparação por diferença, já que System.nanoTime pode dar a volta.
+            long base = atual - agora > 0 ? atual : agora;
+            long adiantamento = base - agora;
+
+            if(adiantamento > tolerancia) {
+                return adiantamento - tolerancia;
+            }
+
+            if(chegadaTeorica.compareAndSet(atual, base + intervalo)) {
+                return 0;
+            }
+        }
+    }
+
+    long quantidadeDeChaves() {
+        return baldes.estimatedSize();
+    }
+}
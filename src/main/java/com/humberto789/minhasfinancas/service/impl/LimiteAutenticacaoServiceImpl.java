@@ -0,0 +1,84 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.service.LimiteAutenticacaoService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita as tentativas de autenticação por IP e por email antes de consultar o banco.
+ */
+@Service
+public class LimiteAutenticacaoServiceImpl implements LimiteAutenticacaoService, MeterBinder {
+
+    private final LimitadorTaxa porEmail;
+    private final LimitadorTaxa porIp;
+    private final LongAdder permitidas = new LongAdder();
+    private final LongAdder bloqueadasPorEmail = new LongAdder();
+    private final LongAdder bloqueadasPorIp = new LongAdder();
+
+    @Autowired
+    public LimiteAutenticacaoServiceImpl(@Value("${minhasfinancas.autenticacao.limite-email.capacidade:10}") int capacidadeEmail,
+                                         @Value("${minhasfinancas.autenticacao.limite-email.reposicao:6s}") Duration reposicaoEmail,
+                                         @Value("${minhasfinancas.autenticacao.limite-ip.capacidade:50}") int capacidadeIp,
+                                         @Value("${minhasfinancas.autenticacao.limite-ip.reposicao:1s}") Duration reposicaoIp) {
+        this(capacidadeEmail, reposicaoEmail, capacidadeIp, reposicaoIp, System::nanoTime);
+    }
+
+    public LimiteAutenticacaoServiceImpl(int capacidadeEmail, Duration reposicaoEmail,
+                                         int capacidadeIp, Duration reposicaoIp, LongSupplier relogio) {
+        this.porEmail = new LimitadorTaxa(capacidadeEmail, reposicaoEmail, relogio);
+        this.porIp = new LimitadorTaxa(capacidadeIp, reposicaoIp, relogio);
+    }
+
+    @Override
+    public Duration consumir(String email, String ip) {
+        // O IP é conferido primeiro: um IP já bloqueado não consome as tentativas do email alvo.
+        long espera = ip == null ? 0 : porIp.consumir(ip);
+        if(espera > 0) {
+            bloqueadasPorIp.increment();
+            return Duration.ofNanos(espera);
+        }
+
+        espera = email == null ? 0 : porEmail.consumir(email.trim().toLowerCase(Locale.ROOT));
+        if(espera > 0) {
+            bloqueadasPorEmail.increment();
+            return Duration.ofNanos(espera);
+        }
+
+        permitidas.increment();
+        return Duration.ZERO;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("autenticacao.limite.permitidas", permitidas, LongAdder::sum)
+                .description("Tentativas de autenticação liberadas pelo limitador")
+                .register(registry);
+        FunctionCounter.builder("autenticacao.limite.bloqueadas", bloqueadasPorEmail, LongAdder::sum)
+                .tag("chave", "email")
+                .description("Tentativas de autenticação recusadas pelo limitador")
+                .register(registry);
+        FunctionCounter.builder("autenticacao.limite.bloqueadas", bloqueadasPorIp, LongAdder::sum)
+                .tag("chave", "ip")
+                .description("Tentativas de autenticação recusadas pelo limitador")
+                .register(registry);
+        Gauge.builder("autenticacao.limite.chaves", porEmail, LimitadorTaxa::quantidadeDeChaves)
+                .tag("chave", "email")
+                .description("Chaves com tentativas recentes acompanhadas pelo limitador")
+                .register(registry);
+        Gauge.builder("autenticacao.limite.chaves", porIp, LimitadorTaxa::quantidadeDeChaves)
+                .tag("chave", "ip")
+                .description("Chaves com tentativas recentes acompanhadas pelo limitador")
+                .register(registry);
+    }
+}
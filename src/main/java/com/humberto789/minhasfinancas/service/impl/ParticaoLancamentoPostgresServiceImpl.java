@@ -0,0 +1,57 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.service.ParticaoLancamentoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cria as partições anuais de financas.lancamento no Postgres.
+ */
+@Service
+@Profile("!test")
+public class ParticaoLancamentoPostgresServiceImpl implements ParticaoLancamentoService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public List<Integer> criarParticoes(int anoInicial, int anoFinal) {
+        List<Integer> criadas = new ArrayList<>();
+
+        for(int ano = anoInicial; ano <= anoFinal; ano++) {
+            Object criada = entityManager.createNativeQuery("select financas.criar_particao_lancamento(:ano)")
+                    .setParameter("ano", ano)
+                    .getSingleResult();
+
+            if(Boolean.TRUE.equals(criada)) {
+                criadas.add(ano);
+            }
+        }
+
+        return criadas;
+    }
+
+    @Override
+    @Transactional
+    public boolean removerParticao(int ano) {
+        Object desanexada = entityManager.createNativeQuery("select financas.desanexar_particao_lancamento(:ano)")
+                .setParameter("ano", ano)
+                .getSingleResult();
+
+        if(!Boolean.TRUE.equals(desanexada)) {
+            return false;
+        }
+
+        String particao = "financas.lancamento_" + ano;
+        entityManager.createNativeQuery("insert into financas.lancamento select * from " + particao).executeUpdate();
+        entityManager.createNativeQuery("drop table " + particao).executeUpdate();
+        return true;
+    }
+}
@@ -0,0 +1,122 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.PrevisaoSaldo;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.SaldoMensalProjetado;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.service.PrevisaoSaldoService;
+import com.humberto789.minhasfinancas.service.RecorrenciaLancamentoService;
+import com.humberto789.minhasfinancas.service.ResumoLancamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Previsão calculada sobre o resumo mensal do usuário e as recorrências ativas, projetadas em memória.
+ */
+@Service
+public class PrevisaoSaldoServiceImpl implements PrevisaoSaldoService {
+
+    static final int MESES_PADRAO = 12;
+    static final int MESES_MAXIMO = 60;
+
+    private final ResumoLancamentoService resumoService;
+    private final RecorrenciaLancamentoService recorrenciaService;
+    private final Clock relogio;
+
+    @Autowired
+    public PrevisaoSaldoServiceImpl(ResumoLancamentoService resumoService, RecorrenciaLancamentoService recorrenciaService) {
+        this(resumoService, recorrenciaService, Clock.systemDefaultZone());
+    }
+
+    public PrevisaoSaldoServiceImpl(ResumoLancamentoService resumoService, RecorrenciaLancamentoService recorrenciaService,
+                                    Clock relogio) {
+        this.resumoService = resumoService;
+        this.recorrenciaService = recorrenciaService;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public PrevisaoSaldo preverSaldo(Long idUsuario, YearMonth ate) {
+        if(idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        YearMonth atual = YearMonth.now(relogio);
+        YearMonth fim = ate == null ? atual.plusMonths(MESES_PADRAO - 1) : ate;
+
+        if(fim.isBefore(atual)) {
+            throw new RegraNegocioException("O período final da previsão deve ser a partir do mês corrente.");
+        }
+
+        if(fim.isAfter(atual.plusMonths(MESES_MAXIMO - 1))) {
+            throw new RegraNegocioException("A previsão pode ter no máximo " + MESES_MAXIMO + " meses.");
+        }
+
+        int periodoAtual = RecorrenciaLancamento.periodo(atual);
+        int periodoFinal = RecorrenciaLancamento.periodo(fim);
+        BigDecimal[] receitas = zeros(periodoFinal - periodoAtual + 1);
+        BigDecimal[] despesas = zeros(periodoFinal - periodoAtual + 1);
+
+        BigDecimal efetivado = BigDecimal.ZERO;
+        BigDecimal cancelado = BigDecimal.ZERO;
+        long quantidadeCancelada = 0;
+
+        for(ResumoLancamento grupo : resumoService.obterResumo(idUsuario, null, null)) {
+            boolean receita = grupo.tipo() == TipoLancamento.RECEITA;
+
+            switch(grupo.status()) {
+                case EFETIVADO -> efetivado = receita ? efetivado.add(grupo.total()) : efetivado.subtract(grupo.total());
+                case CANCELADO -> {
+                    cancelado = cancelado.add(grupo.total());
+                    quantidadeCancelada += grupo.quantidade();
+                }
+                case PENDENTE -> {
+                    int periodo = RecorrenciaLancamento.periodo(YearMonth.of(grupo.ano(), grupo.mes()));
+                    prever(receita ? receitas : despesas, periodo - periodoAtual, grupo.total());
+                }
+            }
+        }
+
+        // Ocorrências já gravadas estão no resumo como pendentes; só as seguintes são projetadas.
+        for(RecorrenciaLancamento recorrencia : recorrenciaService.obterAtivasPorUsuario(idUsuario)) {
+            BigDecimal[] previstos = recorrencia.getTipo() == TipoLancamento.RECEITA ? receitas : despesas;
+            recorrencia.periodosNaoMaterializados(periodoFinal)
+                    .forEach(periodo -> prever(previstos, periodo - periodoAtual, recorrencia.getValor()));
+        }
+
+        List<SaldoMensalProjetado> meses = new ArrayList<>(receitas.length);
+        BigDecimal saldo = efetivado;
+        for(int i = 0; i < receitas.length; i++) {
+            YearMonth mes = atual.plusMonths(i);
+            saldo = saldo.add(receitas[i]).subtract(despesas[i]);
+            meses.add(new SaldoMensalProjetado(mes.getYear(), mes.getMonthValue(), receitas[i], despesas[i], saldo));
+        }
+
+        return new PrevisaoSaldo(efetivado, cancelado, quantidadeCancelada, meses);
+    }
+
+    /**
+     * Pendentes de meses passados entram no mês corrente; os posteriores ao fim da previsão ficam de fora.
+     */
+    private static void prever(BigDecimal[] previstos, int indice, BigDecimal valor) {
+        int mes = Math.max(0, indice);
+        if(mes < previstos.length) {
+            previstos[mes] = previstos[mes].add(valor);
+        }
+    }
+
+    private static BigDecimal[] zeros(int tamanho) {
+        BigDecimal[] valores = new BigDecimal[tamanho];
+        Arrays.fill(valores, BigDecimal.ZERO);
+        return valores;
+    }
+}
@@ -0,0 +1,225 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.OcorrenciaRecorrencia;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.humberto789.minhasfinancas.model.repository.OcorrenciaRecorrenciaRepository;
+import com.humberto789.minhasfinancas.model.repository.RecorrenciaLancamentoRepository;
+import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.RecorrenciaLancamentoService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Materializa as recorrências em faixas de ids de até {@code tamanho-lote}, cada faixa em sua transação.
+ */
+@Service
+public class RecorrenciaLancamentoServiceImpl implements RecorrenciaLancamentoService {
+
+    private final RecorrenciaLancamentoRepository repository;
+    private final OcorrenciaRecorrenciaRepository ocorrenciaRepository;
+    private final LancamentoService lancamentoService;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    private final Clock relogio;
+    private final String registrarDevidas;
+
+    @Autowired
+    public RecorrenciaLancamentoServiceImpl(RecorrenciaLancamentoRepository repository,
+                                            OcorrenciaRecorrenciaRepository ocorrenciaRepository,
+                                            LancamentoService lancamentoService,
+                                            CacheManager cacheManager,
+                                            EntityManager entityManager,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${minhasfinancas.recorrencia.tamanho-lote:10000}") int tamanhoLote) {
+        this(repository, ocorrenciaRepository, lancamentoService, cacheManager, entityManager, transactionManager, tamanhoLote,
+                Clock.systemDefaultZone());
+    }
+
+    public RecorrenciaLancamentoServiceImpl(RecorrenciaLancamentoRepository repository,
+                                            OcorrenciaRecorrenciaRepository ocorrenciaRepository,
+                                            LancamentoService lancamentoService,
+                                            CacheManager cacheManager,
+                                            EntityManager entityManager,
+                                            PlatformTransactionManager transactionManager,
+                                            int tamanhoLote,
+                                            Clock relogio) {
+        this.repository = repository;
+        this.ocorrenciaRepository = ocorrenciaRepository;
+        this.lancamentoService = lancamentoService;
+        this.cacheManager = cacheManager;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.relogio = relogio;
+
+        // O próximo valor da sequência é escrito de forma diferente em cada banco (nextval no Postgres).
+        String proximoId = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSelectSequenceNextValString("financas.lancamento_seq");
+        this.registrarDevidas = " insert into financas.ocorrencia_recorrencia (id_recorrencia, periodo, id_lancamento, pendente) " +
+                "select r.id, :periodo, " + proximoId + ", true " +
+                "from financas.recorrencia_lancamento r " +
+                "where " + RecorrenciaLancamentoRepository.DEVIDAS_NO_PERIODO + " " +
+                "and not exists (select 1 from financas.ocorrencia_recorrencia o " +
+                "where o.id_recorrencia = r.id and o.periodo = :periodo)";
+    }
+
+    @Override
+    @Transactional
+    public RecorrenciaLancamento criar(Lancamento modelo, PeriodicidadeRecorrencia periodicidade, Integer parcelas) {
+        if(periodicidade == null) {
+            throw new RegraNegocioException("Informe a periodicidade da recorrência.");
+        }
+
+        if(parcelas != null && parcelas < 2) {
+            throw new RegraNegocioException("Um parcelamento deve ter ao menos 2 parcelas.");
+        }
+
+        if(ocorrenciaRepository.existsByIdLancamento(modelo.getId())) {
+            throw new RegraNegocioException("O lançamento já faz parte de uma recorrência.");
+        }
+
+        int periodoInicial = RecorrenciaLancamento.periodo(YearMonth.of(modelo.getAno(), modelo.getMes()));
+
+        RecorrenciaLancamento recorrencia = repository.save(RecorrenciaLancamento.builder()
+                .idUsuario(modelo.getUsuario().getId())
+                .idLancamentoModelo(modelo.getId())
+                .descricao(modelo.getDescricao())
+                .valor(modelo.getValor())
+                .tipo(modelo.getTipo())
+                .periodicidade(periodicidade)
+                .parcelas(parcelas)
+                .periodoInicial(periodoInicial)
+                .periodoMaterializado(periodoInicial)
+                .ativa(true)
+                .dataCadastro(LocalDate.now(relogio))
+                .build());
+
+        ocorrenciaRepository.save(OcorrenciaRecorrencia.builder()
+                .idRecorrencia(recorrencia.getId())
+                .periodo(periodoInicial)
+                .idLancamento(modelo.getId())
+                .pendente(false)
+                .build());
+
+        if(parcelas != null) {
+            // As parcelas seguintes recebem o sufixo em lancarPendentes, a partir da descrição da recorrência.
+            modelo.setDescricao(RecorrenciaLancamento.descricaoDaParcela(recorrencia.getDescricao(), 1, parcelas));
+            lancamentoService.atualizar(modelo);
+        }
+
+        return recorrencia;
+    }
+
+    @Override
+    @Transactional
+    public void encerrar(Long id, Long idUsuario) {
+        RecorrenciaLancamento recorrencia = repository.findById(id)
+                .orElseThrow(() -> new RegraNegocioException("Recorrência não encontrada para o Id informado."));
+
+        if(!recorrencia.getIdUsuario().equals(idUsuario)) {
+            throw new ErroAutenticacao("A recorrência não pertence ao usuário informado.");
+        }
+
+        // Os lançamentos já criados continuam; apenas os próximos períodos deixam de ser gerados.
+        recorrencia.setAtiva(false);
+        repository.save(recorrencia);
+    }
+
+    @Override
+    public List<RecorrenciaLancamento> obterAtivasPorUsuario(Long idUsuario) {
+        if(idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        return repository.findByIdUsuarioAndAtivaTrueOrderById(idUsuario);
+    }
+
+    @Override
+    public int materializarAte(YearMonth mes) {
+        return materializarAte(mes, () -> true);
+    }
+
+    @Override
+    public int materializarAte(YearMonth mes, BooleanSupplier continuar) {
+        int periodoFinal = RecorrenciaLancamento.periodo(mes);
+        Optional<Integer> materializado = repository.obterMenorPeriodoMaterializado();
+        Optional<Long> menorId = repository.obterMenorIdAtivo();
+        Optional<Long> maiorId = repository.obterMaiorIdAtivo();
+
+        if(materializado.isEmpty() || menorId.isEmpty() || maiorId.isEmpty()) {
+            return 0;
+        }
+
+        int criados = 0;
+        materializacao:
+        for(int periodo = materializado.get() + 1; periodo <= periodoFinal; periodo++) {
+            for(long idInicial = menorId.get(); idInicial <= maiorId.get(); idInicial += tamanhoLote) {
+                if(!continuar.getAsBoolean()) {
+                    break materializacao;
+                }
+                criados += materializarLote(periodo, idInicial, idInicial + tamanhoLote - 1);
+            }
+        }
+
+        // Os lançamentos foram gravados fora do LancamentoService, sem eventos por usuário.
+        if(criados > 0) {
+            limpar(CacheConfig.SALDOS);
+            limpar(CacheConfig.RESUMO_LANCAMENTOS);
+        }
+
+        return criados;
+    }
+
+    private int materializarLote(int periodo, long idInicial, long idFinal) {
+        Integer criados = transactionTemplate.execute(status -> {
+            int registradas = entityManager.createNativeQuery(registrarDevidas)
+                    .setParameter("periodo", periodo)
+                    .setParameter("idInicial", idInicial)
+                    .setParameter("idFinal", idFinal)
+                    .executeUpdate();
+
+            int lancados = 0;
+            if(registradas > 0) {
+                lancados = ocorrenciaRepository.lancarPendentes(periodo, idInicial, idFinal, LocalDate.now(relogio));
+                ocorrenciaRepository.somarPendentesAoSaldo(periodo, idInicial, idFinal);
+                ocorrenciaRepository.confirmarPendentes(periodo, idInicial, idFinal);
+            }
+
+            repository.encerrarParcelamentosConcluidos(periodo, idInicial, idFinal);
+            repository.avancarPeriodoMaterializado(periodo, idInicial, idFinal);
+            return lancados;
+        });
+
+        return criados == null ? 0 : criados;
+    }
+
+    private void limpar(String nomeCache) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        if(cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.ArquivamentoLancamentoService;
+import com.humberto789.minhasfinancas.service.ResumoLancamentoService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Totais mensais por tipo e status, em uma consulta agrupada e em cache por usuário.
+ */
+@Service
+public class ResumoLancamentoServiceImpl implements ResumoLancamentoService {
+
+    static final YearMonth SEM_INICIO = YearMonth.of(0, 1);
+    static final YearMonth SEM_FIM = YearMonth.of(9999, 12);
+
+    // Mesma ordem do "order by ano, mes, tipo, status" da consulta, com os enums gravados como texto.
+    private static final Comparator<ResumoLancamento> ORDEM = Comparator.comparing(ResumoLancamento::ano)
+            .thenComparing(ResumoLancamento::mes)
+            .thenComparing(resumo -> resumo.tipo().name())
+            .thenComparing(resumo -> resumo.status().name());
+
+    // Limita os períodos guardados por usuário, já que o cache só conta as entradas (usuários).
+    static final int MAXIMO_PERIODOS_POR_USUARIO = 50;
+
+    private final LancamentoRepository repository;
+    private final ArquivamentoLancamentoService arquivamentoLancamentoService;
+    private final CacheManager cacheManager;
+
+    public ResumoLancamentoServiceImpl(LancamentoRepository repository,
+                                       ArquivamentoLancamentoService arquivamentoLancamentoService,
+                                       CacheManager cacheManager) {
+        this.repository = repository;
+        this.arquivamentoLancamentoService = arquivamentoLancamentoService;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public List<ResumoLancamento> obterResumo(Long idUsuario, YearMonth inicio, YearMonth fim) {
+        if(idUsuario == null) {
+            throw new RegraNegocioException("Informe um usuário.");
+        }
+
+        YearMonth de = inicio == null ? SEM_INICIO : inicio;
+        YearMonth ate = fim == null ? SEM_FIM : fim;
+
+        if(de.isAfter(ate)) {
+            throw new RegraNegocioException("O período inicial deve ser anterior ao período final.");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.RESUMO_LANCAMENTOS);
+
+        if(cache == null) {
+            return calcular(idUsuario, de, ate);
+        }
+
+        ConcurrentMap<List<YearMonth>, List<ResumoLancamento>> periodos = cache.get(idUsuario, ConcurrentHashMap::new);
+
+        if(periodos.size() >= MAXIMO_PERIODOS_POR_USUARIO) {
+            periodos.clear();
+        }
+
+        // Se a entrada for descartada durante o cálculo, o resultado fica apenas no mapa já removido.
+        return periodos.computeIfAbsent(List.of(de, ate), periodo -> calcular(idUsuario, de, ate));
+    }
+
+    private List<ResumoLancamento> calcular(Long idUsuario, YearMonth de, YearMonth ate) {
+        List<ResumoLancamento> resumo = repository.obterResumoPorUsuario(idUsuario,
+                de.getYear(), de.getMonthValue(), ate.getYear(), ate.getMonthValue());
+        List<ResumoLancamento> arquivado = arquivamentoLancamentoService.obterResumo(idUsuario, de, ate);
+
+        return arquivado.isEmpty() ? resumo : combinar(arquivado, resumo);
+    }
+
+    /**
+     * Soma os grupos presentes nas duas listas: um ano arquivado ainda recebe lançamentos novos até o
+     * próximo arquivamento.
+     */
+    private List<ResumoLancamento> combinar(List<ResumoLancamento> arquivado, List<ResumoLancamento> resumo) {
+        Map<ResumoLancamento, ResumoLancamento> grupos = new TreeMap<>(ORDEM);
+
+        for(List<ResumoLancamento> parte : List.of(arquivado, resumo)) {
+            for(ResumoLancamento grupo : parte) {
+                grupos.merge(grupo, grupo, (anterior, novo) -> new ResumoLancamento(anterior.ano(), anterior.mes(),
+                        anterior.tipo(), anterior.status(), anterior.total().add(novo.total()),
+                        anterior.quantidade() + novo.quantidade()));
+            }
+        }
+
+        return List.copyOf(grupos.values());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+        Cache cache = cacheManager.getCache(CacheConfig.RESUMO_LANCAMENTOS);
+
+        // Todos os períodos do usuário estão na mesma entrada: o descarte não percorre o cache.
+        if(cache != null) {
+            cache.evict(evento.idUsuario());
+        }
+    }
+}
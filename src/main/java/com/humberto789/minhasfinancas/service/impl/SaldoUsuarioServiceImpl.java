@@ -0,0 +1,223 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.model.dto.DivergenciaSaldo;
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.SaldoUsuario;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.humberto789.minhasfinancas.service.ArquivamentoLancamentoService;
+import com.humberto789.minhasfinancas.service.SaldoUsuarioService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Saldo materializado de cada usuário, atualizado na mesma transação das escritas de lançamento.
+ */
+@Service
+public class SaldoUsuarioServiceImpl implements SaldoUsuarioService {
+
+    private final SaldoUsuarioRepository repository;
+    private final LancamentoRepository lancamentoRepository;
+    private final ArquivamentoLancamentoService arquivamentoLancamentoService;
+    private final TransactionTemplate novaTransacao;
+
+    public SaldoUsuarioServiceImpl(SaldoUsuarioRepository repository, LancamentoRepository lancamentoRepository,
+                                   ArquivamentoLancamentoService arquivamentoLancamentoService,
+                                   PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.lancamentoRepository = lancamentoRepository;
+        this.arquivamentoLancamentoService = arquivamentoLancamentoService;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void registrar(Lancamento lancamento) {
+        ajustar(null, lancamento);
+    }
+
+    @Override
+    @Transactional
+    public void registrarTodos(List<Lancamento> lancamentos) {
+        Map<Long, Movimento> movimentos = new LinkedHashMap<>();
+        lancamentos.forEach(lancamento -> acumular(movimentos, lancamento, BigDecimal.ONE));
+        aplicar(movimentos);
+    }
+
+    @Override
+    @Transactional
+    public void estornar(Lancamento lancamento) {
+        ajustar(lancamento, null);
+    }
+
+    @Override
+    @Transactional
+    public void ajustar(Lancamento anterior, Lancamento atual) {
+        Map<Long, Movimento> movimentos = new LinkedHashMap<>();
+        acumular(movimentos, anterior, BigDecimal.ONE.negate());
+        acumular(movimentos, atual, BigDecimal.ONE);
+        aplicar(movimentos);
+    }
+
+    private void aplicar(Map<Long, Movimento> movimentos) {
+        movimentos.forEach((idUsuario, movimento) -> {
+            if(movimento.isNulo()) {
+                return;
+            }
+
+            if(repository.incrementar(idUsuario, movimento.receitas, movimento.despesas) == 0) {
+                criarComTotaisConfirmados(idUsuario);
+                repository.incrementar(idUsuario, movimento.receitas, movimento.despesas);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.SALDOS, key = "#idUsuario", sync = true)
+    @Timed(value = "saldo.calculo", description = "Tempo de obtenção do saldo quando ele não está em cache")
+    public BigDecimal obterSaldo(Long idUsuario) {
+        Optional<SaldoUsuario> saldo = repository.findById(idUsuario);
+        if(saldo.isEmpty()) {
+            criarComTotaisConfirmados(idUsuario);
+            saldo = repository.findById(idUsuario);
+        }
+
+        return saldo.orElseThrow().getSaldo();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfig.SALDOS, key = "#evento.idUsuario()")
+    public void aoAlterarLancamento(LancamentoAlteradoEvent evento) {
+        // O descarte é feito pelo @CacheEvict; a próxima leitura já enxerga o saldo confirmado.
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.SALDOS, allEntries = true)
+    public List<DivergenciaSaldo> reconciliar() {
+        // Bloqueadas antes da soma: um incremento concorrente espera, em vez de ser sobrescrito.
+        List<SaldoUsuario> registrados = repository.bloquearTodos();
+        Map<Long, SaldoUsuario> calculados = new HashMap<>();
+
+        // Os anos arquivados entram pelos totais anuais pré-calculados, sem percorrer o arquivo.
+        List<TotalPorTipo> totais = new ArrayList<>(lancamentoRepository.obterTotaisPorUsuarioETipo());
+        totais.addAll(arquivamentoLancamentoService.obterTotaisPorUsuarioETipo());
+
+        for(TotalPorTipo total : totais) {
+            SaldoUsuario saldo = calculados.computeIfAbsent(total.idUsuario(), this::saldoZerado);
+            if(total.tipo() == TipoLancamento.RECEITA) {
+                saldo.setReceitas(saldo.getReceitas().add(total.total()));
+            } else {
+                saldo.setDespesas(saldo.getDespesas().add(total.total()));
+            }
+        }
+
+        List<DivergenciaSaldo> divergencias = new ArrayList<>();
+
+        for(SaldoUsuario registrado : registrados) {
+            SaldoUsuario calculado = calculados.remove(registrado.getIdUsuario());
+            if(calculado == null) {
+                calculado = saldoZerado(registrado.getIdUsuario());
+            }
+
+            if(diverge(registrado, calculado)) {
+                divergencias.add(new DivergenciaSaldo(registrado.getIdUsuario(),
+                        registrado.getReceitas(), registrado.getDespesas(),
+                        calculado.getReceitas(), calculado.getDespesas()));
+
+                registrado.setReceitas(calculado.getReceitas());
+                registrado.setDespesas(calculado.getDespesas());
+                repository.save(registrado);
+            }
+        }
+
+        for(SaldoUsuario ausente : calculados.values()) {
+            divergencias.add(new DivergenciaSaldo(ausente.getIdUsuario(), null, null,
+                    ausente.getReceitas(), ausente.getDespesas()));
+            criarComTotaisConfirmados(ausente.getIdUsuario());
+        }
+
+        return divergencias;
+    }
+
+    /**
+     * Cria a linha com os lançamentos já confirmados, em transação própria; se outra transação a criou
+     * antes, a linha dela é mantida. Quem chama aplica o próprio movimento por incremento em seguida.
+     */
+    private void criarComTotaisConfirmados(Long idUsuario) {
+        try {
+            novaTransacao.executeWithoutResult(status -> repository.criar(idUsuario,
+                    somarTotal(idUsuario, TipoLancamento.RECEITA), somarTotal(idUsuario, TipoLancamento.DESPESA)));
+        } catch (DataIntegrityViolationException e) {
+            // Criada por uma transação concorrente.
+        }
+    }
+
+    private BigDecimal somarTotal(Long idUsuario, TipoLancamento tipo) {
+        BigDecimal total = lancamentoRepository.obterSaldoPorTipoLancamentoEUsuario(idUsuario, tipo);
+        BigDecimal arquivado = arquivamentoLancamentoService.obterTotal(idUsuario, tipo);
+
+        return (total == null ? BigDecimal.ZERO : total).add(arquivado == null ? BigDecimal.ZERO : arquivado);
+    }
+
+    private SaldoUsuario saldoZerado(Long idUsuario) {
+        return SaldoUsuario.builder()
+                .idUsuario(idUsuario)
+                .receitas(BigDecimal.ZERO)
+                .despesas(BigDecimal.ZERO)
+                .build();
+    }
+
+    private boolean diverge(SaldoUsuario registrado, SaldoUsuario calculado) {
+        return registrado.getReceitas().compareTo(calculado.getReceitas()) != 0
+                || registrado.getDespesas().compareTo(calculado.getDespesas()) != 0;
+    }
+
+    private void acumular(Map<Long, Movimento> movimentos, Lancamento lancamento, BigDecimal sinal) {
+        if(lancamento == null || lancamento.getUsuario() == null || lancamento.getUsuario().getId() == null
+                || lancamento.getValor() == null || lancamento.getTipo() == null) {
+            return;
+        }
+
+        Movimento movimento = movimentos.computeIfAbsent(lancamento.getUsuario().getId(), id -> new Movimento());
+        BigDecimal valor = lancamento.getValor().multiply(sinal);
+
+        if(lancamento.getTipo() == TipoLancamento.RECEITA) {
+            movimento.receitas = movimento.receitas.add(valor);
+        } else {
+            movimento.despesas = movimento.despesas.add(valor);
+        }
+    }
+
+    private static class Movimento {
+
+        private BigDecimal receitas = BigDecimal.ZERO;
+        private BigDecimal despesas = BigDecimal.ZERO;
+
+        private boolean isNulo() {
+            return receitas.signum() == 0 && despesas.signum() == 0;
+        }
+    }
+}
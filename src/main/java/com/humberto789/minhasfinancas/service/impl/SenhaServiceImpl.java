@@ -0,0 +1,79 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.humberto789.minhasfinancas.model.dto.ConferenciaSenha;
+import com.humberto789.minhasfinancas.service.SenhaService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Codifica e confere senhas com bcrypt em um pool próprio, com fila limitada.
+ */
+@Service
+public class SenhaServiceImpl implements SenhaService, DisposableBean {
+
+    private static final Pattern HASH_BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final String hashReferencia;
+
+    public SenhaServiceImpl(@Value("${minhasfinancas.senha.custo:10}") int custo,
+                            @Value("${minhasfinancas.senha.threads:0}") int threads,
+                            @Value("${minhasfinancas.senha.fila:200}") int fila) {
+        this.encoder = new BCryptPasswordEncoder(custo);
+
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(tamanhoPool);
+        this.executor.setMaxPoolSize(tamanhoPool);
+        this.executor.setQueueCapacity(fila);
+        this.executor.setThreadNamePrefix("senha-");
+        this.executor.initialize();
+
+        // Usado quando não há senha armazenada, para que a resposta leve o mesmo tempo de uma senha errada.
+        this.hashReferencia = encoder.encode("minhasfinancas");
+    }
+
+    @Override
+    public CompletableFuture<String> codificar(String senha) {
+        return executor.submitCompletable(() -> encoder.encode(senha));
+    }
+
+    @Override
+    public CompletableFuture<ConferenciaSenha> conferir(String senha, String senhaArmazenada) {
+        return executor.submitCompletable(() -> {
+            if(senha == null || senhaArmazenada == null) {
+                encoder.matches(senha == null ? "" : senha, hashReferencia);
+                return ConferenciaSenha.NAO_CONFERE;
+            }
+
+            if(!HASH_BCRYPT.matcher(senhaArmazenada).matches()) {
+                // Senha legada em texto puro: confere e já devolve o hash que deve substituí-la.
+                if(MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), senhaArmazenada.getBytes(StandardCharsets.UTF_8))) {
+                    return new ConferenciaSenha(true, encoder.encode(senha));
+                }
+                encoder.matches(senha, hashReferencia);
+                return ConferenciaSenha.NAO_CONFERE;
+            }
+
+            if(!encoder.matches(senha, senhaArmazenada)) {
+                return ConferenciaSenha.NAO_CONFERE;
+            }
+
+            return new ConferenciaSenha(true, encoder.upgradeEncoding(senhaArmazenada) ? encoder.encode(senha) : null);
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
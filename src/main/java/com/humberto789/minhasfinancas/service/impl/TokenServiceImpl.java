@@ -0,0 +1,152 @@
+package com.humberto789.minhasfinancas.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.model.dto.TokenAcesso;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.service.TokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Tokens de sessão sem estado no formato JWT (HS256) com o id do usuário em {@code sub}. A validação
+ * é local, só com a chave HMAC: nenhuma consulta ao banco é feita para identificar quem chama a API.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+
+    // Perfis em que, sem segredo configurado, uma chave aleatória por instância é aceitável.
+    private static final Profiles PERFIS_CHAVE_TEMPORARIA = Profiles.of("dev", "test");
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    // Só este cabeçalho é aceito, o que descarta tokens com "alg": "none" ou outro algoritmo.
+    private static final String CABECALHO = codificar("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final Mac prototipo;
+    private final Duration validade;
+    private final Clock relogio;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public TokenServiceImpl(@Value("${minhasfinancas.token.segredo:}") String segredo,
+                            @Value("${minhasfinancas.token.validade:8h}") Duration validade,
+                            Environment ambiente) {
+        this(segredoOuChaveTemporaria(segredo, ambiente), validade, Clock.systemUTC());
+    }
+
+    public TokenServiceImpl(String segredo, Duration validade, Clock relogio) {
+        this.validade = validade;
+        this.relogio = relogio;
+
+        byte[] chave = segredo == null ? new byte[0] : segredo.getBytes(StandardCharsets.UTF_8);
+        if(chave.length < TAMANHO_MINIMO_SEGREDO) {
+            throw new IllegalStateException("minhasfinancas.token.segredo deve ter ao menos " + TAMANHO_MINIMO_SEGREDO + " bytes.");
+        }
+
+        try {
+            this.prototipo = Mac.getInstance(ALGORITMO);
+            this.prototipo.init(new SecretKeySpec(chave, ALGORITMO));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível inicializar a assinatura dos tokens.", e);
+        }
+    }
+
+    /**
+     * Fora dos perfis de desenvolvimento e de teste a aplicação não sobe sem segredo: uma chave aleatória
+     * invalidaria as sessões a cada reinício e não seria compartilhada entre as instâncias.
+     */
+    private static String segredoOuChaveTemporaria(String segredo, Environment ambiente) {
+        if(segredo != null && !segredo.isBlank()) {
+            return segredo;
+        }
+
+        if(!ambiente.acceptsProfiles(PERFIS_CHAVE_TEMPORARIA)) {
+            throw new IllegalStateException("minhasfinancas.token.segredo não configurado.");
+        }
+
+        log.warn("minhasfinancas.token.segredo não configurado; usando uma chave aleatória válida apenas para esta instância.");
+        byte[] chave = new byte[TAMANHO_MINIMO_SEGREDO];
+        new SecureRandom().nextBytes(chave);
+        return codificar(chave);
+    }
+
+    @Override
+    public TokenAcesso gerar(Usuario usuario) {
+        Instant emissao = relogio.instant();
+        Instant expiracao = emissao.plus(validade);
+
+        String conteudo = "{\"sub\":\"" + usuario.getId() + "\",\"iat\":" + emissao.getEpochSecond()
+                + ",\"exp\":" + expiracao.getEpochSecond() + "}";
+        String assinado = CABECALHO + "." + codificar(conteudo.getBytes(StandardCharsets.UTF_8));
+
+        return new TokenAcesso(assinado + "." + codificar(assinar(assinado)), expiracao);
+    }
+
+    @Override
+    public Long validar(String token) {
+        int primeiroPonto = token.indexOf('.');
+        int ultimoPonto = token.lastIndexOf('.');
+        if(primeiroPonto < 0 || primeiroPonto == ultimoPonto
+                || !token.substring(0, primeiroPonto).equals(CABECALHO)) {
+            throw new ErroAutenticacao("Token inválido.");
+        }
+
+        try {
+            String assinado = token.substring(0, ultimoPonto);
+            byte[] assinatura = DECODIFICADOR.decode(token.substring(ultimoPonto + 1));
+            if(!MessageDigest.isEqual(assinar(assinado), assinatura)) {
+                throw new ErroAutenticacao("Token inválido.");
+            }
+
+            JsonNode conteudo = objectMapper.readTree(DECODIFICADOR.decode(token.substring(primeiroPonto + 1, ultimoPonto)));
+            JsonNode expiracao = conteudo.path("exp");
+            if(!expiracao.canConvertToLong()) {
+                throw new ErroAutenticacao("Token inválido.");
+            }
+            if(relogio.instant().getEpochSecond() >= expiracao.asLong()) {
+                throw new ErroAutenticacao("Token expirado.");
+            }
+
+            return Long.valueOf(conteudo.path("sub").asText());
+        } catch (IllegalArgumentException | IOException e) {
+            // Base64 ou JSON malformados, ou "sub" que não é um id; NumberFormatException é uma IllegalArgumentException.
+            throw new ErroAutenticacao("Token inválido.");
+        }
+    }
+
+    private byte[] assinar(String conteudo) {
+        try {
+            // Mac não é thread-safe; o clone reaproveita a chave já inicializada.
+            Mac mac = (Mac) prototipo.clone();
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String codificar(byte[] bytes) {
+        return CODIFICADOR.encodeToString(bytes);
+    }
+}
@@ -1,47 +1,89 @@
 package com.humberto789.minhasfinancas.service.impl;
 
+import com.humberto789.minhasfinancas.config.CacheConfig;
 import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
 import com.humberto789.minhasfinancas.model.repository.UsuarioRepository;
+import com.humberto789.minhasfinancas.service.SenhaService;
+import com.humberto789.minhasfinancas.service.SomenteLeitura;
 import com.humberto789.minhasfinancas.service.UsuarioService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Timed(value = "servico.usuario", description = "Tempo de execução dos métodos de UsuarioService")
 public class UsuarioServiceImpl implements UsuarioService {
 
+    // A mesma mensagem para email desconhecido e senha errada, para a resposta não revelar quais emails existem.
+    static final String FALHA_AUTENTICACAO = "Email ou senha inválidos.";
+
     @Autowired
     private UsuarioRepository repository;
 
-    public UsuarioServiceImpl(UsuarioRepository repository) {
+    private final SenhaService senhaService;
+    private final CacheManager cacheManager;
+
+    public UsuarioServiceImpl(UsuarioRepository repository, SenhaService senhaService, CacheManager cacheManager) {
         this.repository = repository;
+        this.senhaService = senhaService;
+        this.cacheManager = cacheManager;
     }
 
     @Override
-    public Usuario autenticar(String email, String senha) {
+    public CompletableFuture<Usuario> autenticar(String email, String senha) {
         Optional<Usuario> usuario = repository.findByEmail(email);
 
         if(!usuario.isPresent()){
-            throw new ErroAutenticacao("Usuário não encontrado para o email informado.");
+            // A conferência roda mesmo assim, para o tempo de resposta não revelar quais emails existem.
+            return senhaService.conferir(senha, null).thenApply(conferencia -> {
+                throw new ErroAutenticacao(FALHA_AUTENTICACAO);
+            });
         }
 
-        if(!usuario.get().getSenha().equals(senha)) {
-            throw new ErroAutenticacao("Senha inválida.");
-        }
+        Usuario encontrado = usuario.get();
+        return senhaService.conferir(senha, encontrado.getSenha()).thenApply(conferencia -> {
+            if(!conferencia.confere()) {
+                throw new ErroAutenticacao(FALHA_AUTENTICACAO);
+            }
+
+            if(conferencia.novoHash() != null) {
+                repository.atualizarSenha(encontrado.getId(), encontrado.getEmail(), encontrado.getSenha(), conferencia.novoHash());
+            }
 
-        return usuario.get();
+            return encontrado;
+        });
     }
 
+    /**
+     * O email é validado na thread da chamada; a gravação acontece depois do hash, na thread do pool de
+     * senhas, sem bloquear a requisição enquanto a senha é codificada.
+     */
     @Override
-    @Transactional
-    public Usuario salvarUsuario(Usuario usuario) {
+    public CompletableFuture<Usuario> salvarUsuario(Usuario usuario) {
         validarEmail(usuario.getEmail());
-        return repository.save(usuario);
+
+        CompletableFuture<String> senha = usuario.getSenha() == null
+                ? CompletableFuture.completedFuture(null)
+                : senhaService.codificar(usuario.getSenha());
+
+        return senha.thenApply(hash -> {
+            if(hash != null) {
+                usuario.setSenha(hash);
+            }
+
+            Usuario salvo = repository.save(usuario);
+            descartarDoCache(salvo.getId());
+            return salvo;
+        });
     }
 
     @Override
@@ -53,7 +95,32 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     @Override
+    @SomenteLeitura
     public Optional<Usuario> obterPorId(Long id) {
         return repository.findById(id);
     }
+
+    /**
+     * Somente os dados públicos ficam em cache; a autenticação sempre confere a senha no banco. A leitura é
+     * feita no primário porque também confirma o usuário antes de gravar um lançamento ou uma importação.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USUARIOS, key = "#id", unless = "#result == null")
+    public Optional<DadosUsuario> obterDados(Long id) {
+        return repository.buscarDadosPorId(id);
+    }
+
+    @Override
+    public Usuario obterReferencia(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    // Feito depois da gravação: o salvamento termina fora da chamada, onde @CacheEvict não alcança.
+    private void descartarDoCache(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.USUARIOS);
+
+        if(cache != null && id != null) {
+            cache.evict(id);
+        }
+    }
 }
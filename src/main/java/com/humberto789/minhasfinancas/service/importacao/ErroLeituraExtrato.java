@@ -0,0 +1,11 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+/**
+ * Registro do extrato que não pôde ser interpretado; a leitura pode continuar a partir do próximo.
+ */
+public class ErroLeituraExtrato extends RuntimeException {
+
+    public ErroLeituraExtrato(String mensagem) {
+        super(mensagem);
+    }
+}
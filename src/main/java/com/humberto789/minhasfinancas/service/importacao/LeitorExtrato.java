@@ -0,0 +1,26 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lê um extrato bancário registro a registro, sem carregar o arquivo inteiro em memória.
+ */
+public interface LeitorExtrato extends Closeable {
+
+    /**
+     * @return o próximo registro, ou {@code null} ao fim do arquivo
+     * @throws ErroLeituraExtrato se o registro atual for inválido; a próxima chamada segue para o seguinte
+     */
+    RegistroExtrato proximo() throws IOException;
+
+    static LeitorExtrato de(FormatoExtrato formato, BufferedReader reader) {
+        return switch(formato) {
+            case CSV -> new LeitorExtratoCsv(reader);
+            case OFX -> new LeitorExtratoOfx(reader);
+        };
+    }
+}
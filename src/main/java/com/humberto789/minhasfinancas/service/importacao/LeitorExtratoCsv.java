@@ -0,0 +1,122 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extrato CSV com as colunas data, descrição e valor, separadas por ";" ou ",".
+ */
+class LeitorExtratoCsv implements LeitorExtrato {
+
+    private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final BufferedReader reader;
+    private Character separador;
+
+    LeitorExtratoCsv(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public RegistroExtrato proximo() throws IOException {
+        String linha = proximaLinhaPreenchida();
+
+        if(linha == null) {
+            return null;
+        }
+
+        if(separador == null) {
+            separador = linha.indexOf(';') >= 0 ? ';' : ',';
+            if(isCabecalho(linha)) {
+                linha = proximaLinhaPreenchida();
+                if(linha == null) {
+                    return null;
+                }
+            }
+        }
+
+        List<String> campos = separar(linha);
+
+        if(campos.size() < 3) {
+            throw new ErroLeituraExtrato("Registro com menos de três colunas: " + linha);
+        }
+
+        return new RegistroExtrato(lerData(campos.get(0)), campos.get(1).trim(), lerValor(campos.get(2)));
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String proximaLinhaPreenchida() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+        } while(linha != null && linha.isBlank());
+        return linha;
+    }
+
+    private boolean isCabecalho(String linha) {
+        return linha.chars().noneMatch(Character::isDigit);
+    }
+
+    private List<String> separar(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for(int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if(c == '"') {
+                if(entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if(c == separador && !entreAspas) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+
+        return campos;
+    }
+
+    static LocalDate lerData(String texto) {
+        String data = texto.trim();
+        try {
+            return data.contains("/") ? LocalDate.parse(data, DATA_BRASILEIRA) : LocalDate.parse(data);
+        } catch(DateTimeParseException e) {
+            throw new ErroLeituraExtrato("Data inválida: " + data);
+        }
+    }
+
+    static BigDecimal lerValor(String texto) {
+        String valor = texto.replace("R$", "").replace(" ", "").trim();
+        int ultimaVirgula = valor.lastIndexOf(',');
+        int ultimoPonto = valor.lastIndexOf('.');
+
+        if(ultimaVirgula > ultimoPonto) {
+            valor = valor.replace(".", "").replace(',', '.');
+        } else {
+            valor = valor.replace(",", "");
+        }
+
+        try {
+            return new BigDecimal(valor);
+        } catch(NumberFormatException e) {
+            throw new ErroLeituraExtrato("Valor inválido: " + texto);
+        }
+    }
+}
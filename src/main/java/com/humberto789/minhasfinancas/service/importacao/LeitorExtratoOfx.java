@@ -0,0 +1,81 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extrato OFX (SGML 1.x ou XML 2.x). Lê as tags de cada bloco STMTTRN conforme aparecem,
+ * usando DTPOSTED, TRNAMT e MEMO (ou NAME, na ausência de MEMO).
+ */
+class LeitorExtratoOfx implements LeitorExtrato {
+
+    private static final Pattern TAG = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<]*)");
+    private static final DateTimeFormatter DATA_OFX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BufferedReader reader;
+    private Matcher linhaAtual;
+    private Map<String, String> transacao;
+
+    LeitorExtratoOfx(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public RegistroExtrato proximo() throws IOException {
+        while(true) {
+            if(linhaAtual == null || !linhaAtual.find()) {
+                String linha = reader.readLine();
+                if(linha == null) {
+                    return null;
+                }
+                linhaAtual = TAG.matcher(linha);
+                continue;
+            }
+
+            boolean fechamento = !linhaAtual.group(1).isEmpty();
+            String nome = linhaAtual.group(2).toUpperCase();
+            String valor = linhaAtual.group(3).trim();
+
+            if(nome.equals("STMTTRN")) {
+                if(!fechamento) {
+                    transacao = new HashMap<>();
+                } else if(transacao != null) {
+                    Map<String, String> concluida = transacao;
+                    transacao = null;
+                    return converter(concluida);
+                }
+            } else if(transacao != null && !fechamento) {
+                transacao.put(nome, valor);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private RegistroExtrato converter(Map<String, String> campos) {
+        String data = campos.get("DTPOSTED");
+        String valor = campos.get("TRNAMT");
+        String descricao = campos.getOrDefault("MEMO", campos.get("NAME"));
+
+        if(data == null || data.length() < 8 || valor == null) {
+            throw new ErroLeituraExtrato("Transação OFX sem DTPOSTED ou TRNAMT.");
+        }
+
+        try {
+            return new RegistroExtrato(LocalDate.parse(data.substring(0, 8), DATA_OFX), descricao,
+                    LeitorExtratoCsv.lerValor(valor));
+        } catch(DateTimeParseException e) {
+            throw new ErroLeituraExtrato("Data inválida: " + data);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Uma transação lida do extrato. O valor mantém o sinal do arquivo: negativo para débitos.
+ */
+public record RegistroExtrato(LocalDate data, String descricao, BigDecimal valor) {
+}
@@ -0,0 +1,27 @@
+CREATE TABLE IF NOT EXISTS financas.lancamento_arquivado
+(
+  id bigint NOT NULL PRIMARY KEY,
+  descricao character varying(255),
+  mes integer,
+  ano integer,
+  id_usuario bigint,
+  valor numeric(16,2),
+  data_cadastro date,
+  tipo character varying(255),
+  status character varying(255),
+  versao bigint
+);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_arquivado_usuario_ano_mes
+    ON financas.lancamento_arquivado (id_usuario, ano, mes);
+
+CREATE TABLE IF NOT EXISTS financas.total_anual_arquivado
+(
+  id_usuario bigint NOT NULL,
+  ano integer NOT NULL,
+  tipo character varying(255) NOT NULL,
+  status character varying(255) NOT NULL,
+  total numeric(16,2) NOT NULL,
+  quantidade bigint NOT NULL,
+  PRIMARY KEY (id_usuario, ano, tipo, status)
+);
@@ -0,0 +1,4 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_descricao_trgm
+    ON financas.lancamento USING gin (lower(descricao) gin_trgm_ops);
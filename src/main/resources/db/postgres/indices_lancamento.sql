@@ -0,0 +1,5 @@
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_ano_mes
+    ON financas.lancamento (id_usuario, ano, mes);
+
+CREATE INDEX IF NOT EXISTS idx_lancamento_usuario_tipo_status
+    ON financas.lancamento (id_usuario, tipo, status);
@@ -0,0 +1,85 @@
+-- Converte financas.lancamento em uma tabela particionada por ano (uma partição por ano e uma
+-- partição padrão para anos ainda sem partição). Deve ser aplicado depois dos demais scripts
+-- de db/postgres, pois recria os índices da tabela de lançamentos.
+
+CREATE OR REPLACE FUNCTION financas.criar_particao_lancamento(p_ano integer) RETURNS boolean AS $$
+DECLARE
+    v_nome text := 'lancamento_' || p_ano;
+BEGIN
+    IF to_regclass('financas.' || v_nome) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    -- O ano não pode ser anexado enquanto tiver linhas na partição padrão: elas são movidas para a
+    -- nova tabela antes do ATTACH. A restrição CHECK evita que o ATTACH percorra a tabela para validá-la.
+    EXECUTE format('CREATE TABLE financas.%I (LIKE financas.lancamento INCLUDING DEFAULTS)', v_nome);
+    EXECUTE format('ALTER TABLE financas.%I ADD CONSTRAINT %I CHECK (ano >= %s AND ano < %s)',
+                   v_nome, v_nome || '_ano', p_ano, p_ano + 1);
+    EXECUTE format('WITH movidos AS (DELETE FROM financas.lancamento_padrao WHERE ano = %s RETURNING *) '
+                   'INSERT INTO financas.%I SELECT * FROM movidos', p_ano, v_nome);
+    EXECUTE format('ALTER TABLE financas.lancamento ATTACH PARTITION financas.%I FOR VALUES FROM (%s) TO (%s)',
+                   v_nome, p_ano, p_ano + 1);
+    EXECUTE format('ALTER TABLE financas.%I DROP CONSTRAINT %I', v_nome, v_nome || '_ano');
+
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Desanexa o ano, que continua disponível como a tabela comum financas.lancamento_<ano>.
+CREATE OR REPLACE FUNCTION financas.desanexar_particao_lancamento(p_ano integer) RETURNS boolean AS $$
+DECLARE
+    v_nome text := 'lancamento_' || p_ano;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                    WHERE inhparent = 'financas.lancamento'::regclass
+                      AND inhrelid = to_regclass('financas.' || v_nome)) THEN
+        RETURN false;
+    END IF;
+
+    EXECUTE format('ALTER TABLE financas.lancamento DETACH PARTITION financas.%I', v_nome);
+    RETURN true;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    v_ano integer;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'financas.lancamento'::regclass) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE financas.lancamento RENAME TO lancamento_nao_particionada;
+    -- Os índices não mudam de nome com a tabela; a cópia antiga só é mantida para conferência.
+    DROP INDEX IF EXISTS financas.idx_lancamento_usuario_ano_mes;
+    DROP INDEX IF EXISTS financas.idx_lancamento_usuario_tipo_status;
+    DROP INDEX IF EXISTS financas.idx_lancamento_descricao_trgm;
+
+    -- A chave primária de uma tabela particionada precisa conter a coluna de partição.
+    CREATE TABLE financas.lancamento
+        (LIKE financas.lancamento_nao_particionada INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (ano);
+    ALTER TABLE financas.lancamento ALTER COLUMN ano SET NOT NULL;
+    ALTER TABLE financas.lancamento ADD CONSTRAINT pk_lancamento_particionada PRIMARY KEY (id, ano);
+    ALTER TABLE financas.lancamento ADD CONSTRAINT fk_lancamento_usuario
+        FOREIGN KEY (id_usuario) REFERENCES financas.usuario (id);
+
+    CREATE INDEX idx_lancamento_usuario_ano_mes ON financas.lancamento (id_usuario, ano, mes);
+    CREATE INDEX idx_lancamento_usuario_tipo_status ON financas.lancamento (id_usuario, tipo, status);
+    CREATE INDEX idx_lancamento_descricao_trgm ON financas.lancamento USING gin (lower(descricao) gin_trgm_ops);
+
+    CREATE TABLE financas.lancamento_padrao PARTITION OF financas.lancamento DEFAULT;
+
+    FOR v_ano IN SELECT DISTINCT ano FROM financas.lancamento_nao_particionada
+                 UNION SELECT extract(year FROM current_date)::integer + s FROM generate_series(0, 2) s
+                 ORDER BY 1 LOOP
+        PERFORM financas.criar_particao_lancamento(v_ano);
+    END LOOP;
+
+    INSERT INTO financas.lancamento SELECT * FROM financas.lancamento_nao_particionada;
+END;
+$$;
+
+ANALYZE financas.lancamento;
+
+-- Após conferir a migração: DROP TABLE financas.lancamento_nao_particionada;
@@ -0,0 +1,39 @@
+CREATE TABLE IF NOT EXISTS financas.recorrencia_lancamento
+(
+  id bigserial NOT NULL PRIMARY KEY,
+  id_usuario bigint NOT NULL REFERENCES financas.usuario (id),
+  id_lancamento_modelo bigint,
+  descricao character varying(255),
+  valor numeric(16,2),
+  tipo character varying(255),
+  periodicidade character varying(255) NOT NULL,
+  parcelas integer,
+  periodo_inicial integer NOT NULL,
+  periodo_materializado integer NOT NULL,
+  ativa boolean NOT NULL DEFAULT true,
+  data_cadastro date
+);
+
+CREATE INDEX IF NOT EXISTS idx_recorrencia_usuario
+    ON financas.recorrencia_lancamento (id_usuario);
+
+-- Uma linha por recorrência e período (ano * 12 + mês - 1): impede gravar o mesmo período duas vezes
+-- e mantém excluída a ocorrência cujo lançamento o usuário apagou.
+CREATE TABLE IF NOT EXISTS financas.ocorrencia_recorrencia
+(
+  id_recorrencia bigint NOT NULL REFERENCES financas.recorrencia_lancamento (id),
+  periodo integer NOT NULL,
+  id_lancamento bigint NOT NULL,
+  pendente boolean NOT NULL DEFAULT false,
+  PRIMARY KEY (id_recorrencia, periodo)
+);
+
+CREATE INDEX IF NOT EXISTS idx_ocorrencia_recorrencia_lancamento
+    ON financas.ocorrencia_recorrencia (id_lancamento);
+
+CREATE TABLE IF NOT EXISTS financas.bloqueio_tarefa
+(
+  nome character varying(255) NOT NULL PRIMARY KEY,
+  dono character varying(255) NOT NULL,
+  expira_em timestamp NOT NULL
+);
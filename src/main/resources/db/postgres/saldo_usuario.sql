@@ -0,0 +1,13 @@
+CREATE TABLE financas.saldo_usuario
+(
+  id_usuario bigint NOT NULL PRIMARY KEY REFERENCES financas.usuario (id),
+  receitas numeric(16,2) NOT NULL DEFAULT 0,
+  despesas numeric(16,2) NOT NULL DEFAULT 0
+);
+
+INSERT INTO financas.saldo_usuario (id_usuario, receitas, despesas)
+SELECT l.id_usuario,
+       COALESCE(SUM(CASE WHEN l.tipo = 'RECEITA' THEN l.valor END), 0),
+       COALESCE(SUM(CASE WHEN l.tipo = 'DESPESA' THEN l.valor END), 0)
+  FROM financas.lancamento l
+ GROUP BY l.id_usuario;
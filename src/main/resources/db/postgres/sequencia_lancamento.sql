@@ -0,0 +1,3 @@
+CREATE SEQUENCE IF NOT EXISTS financas.lancamento_seq INCREMENT BY 50;
+
+SELECT setval('financas.lancamento_seq', COALESCE((SELECT MAX(id) FROM financas.lancamento), 0) + 51, false);
@@ -0,0 +1,184 @@
+package com.humberto789.minhasfinancas.config;
+
+import com.humberto789.minhasfinancas.monitoramento.AtrasoReplica;
+import com.humberto789.minhasfinancas.service.SomenteLeitura;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+public class ReplicaConfigTest {
+
+    private static final String PRIMARIO = "jdbc:h2:mem:replica_config_primario;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA = "jdbc:h2:mem:replica_config_replica;DB_CLOSE_DELAY=-1";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+                    TransactionAutoConfiguration.class, AopAutoConfiguration.class))
+            .withUserConfiguration(ReplicaConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withBean(Leitor.class)
+            .withPropertyValues(
+                    "spring.datasource.url=" + PRIMARIO,
+                    "spring.datasource.username=sa",
+                    "minhasfinancas.replica.url=" + REPLICA,
+                    "minhasfinancas.replica.consulta-atraso=select atraso from estado_replica",
+                    "minhasfinancas.replica.atraso-maximo=5s");
+
+    @BeforeEach
+    public void criarBancos() {
+        JdbcTemplate primario = new JdbcTemplate(new DriverManagerDataSource(PRIMARIO, "sa", ""));
+        primario.execute("drop table if exists origem");
+        primario.execute("create table origem (nome varchar(20))");
+        primario.update("insert into origem values ('primario')");
+
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", ""));
+        replica.execute("drop table if exists origem");
+        replica.execute("drop table if exists estado_replica");
+        replica.execute("create table origem (nome varchar(20))");
+        replica.update("insert into origem values ('replica')");
+        replica.execute("create table estado_replica (atraso double precision)");
+        replica.update("insert into estado_replica values (0)");
+    }
+
+    @Test
+    public void deveEnviarTransacoesSomenteLeituraParaAReplica() {
+        contextRunner.run(context -> {
+            context.getBean(AtrasoReplica.class).verificar();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            // O LazyConnectionDataSourceProxy já abriu uma conexão na subida para ler os padrões da conexão.
+            double escritas = contagem(registry, "primario", "escrita");
+
+            Assertions.assertEquals("replica", lerOrigem(context, true));
+            Assertions.assertEquals("primario", lerOrigem(context, false));
+
+            Assertions.assertEquals(1, contagem(registry, "replica", "leitura"));
+            Assertions.assertEquals(escritas + 1, contagem(registry, "primario", "escrita"));
+            Assertions.assertEquals(0, contagem(registry, "primario", "leitura"));
+        });
+    }
+
+    @Test
+    public void deveManterNoPrimarioAsTransacoesSomenteLeituraSemAMarca() {
+        contextRunner.run(context -> {
+            context.getBean(AtrasoReplica.class).verificar();
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+
+            // Como nos métodos de repositório do Spring Data, que são somente leitura por padrão.
+            Assertions.assertEquals("primario", context.getBean(Leitor.class).lerSemMarca());
+
+            Assertions.assertEquals(0, contagem(registry, "replica", "leitura"));
+            Assertions.assertEquals(1, contagem(registry, "primario", "leitura"));
+        });
+    }
+
+    @Test
+    public void deveLerDoPrimarioQuandoAReplicaPassarDoAtrasoMaximo() {
+        contextRunner.run(context -> {
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", "")).update("update estado_replica set atraso = 30");
+            AtrasoReplica atrasoReplica = context.getBean(AtrasoReplica.class);
+            atrasoReplica.verificar();
+
+            Assertions.assertFalse(atrasoReplica.isDisponivel());
+            Assertions.assertEquals(30, atrasoReplica.getAtraso());
+            Assertions.assertEquals("primario", lerOrigem(context, true));
+            Assertions.assertEquals(1, contagem(context.getBean(MeterRegistry.class), "primario", "leitura"));
+
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", "")).update("update estado_replica set atraso = 1");
+            atrasoReplica.verificar();
+
+            Assertions.assertEquals("replica", lerOrigem(context, true));
+        });
+    }
+
+    @Test
+    public void deveLerDoPrimarioQuandoNaoForPossivelMedirOAtraso() {
+        contextRunner.run(context -> {
+            AtrasoReplica atrasoReplica = context.getBean(AtrasoReplica.class);
+            Assertions.assertFalse(atrasoReplica.isDisponivel());
+            Assertions.assertEquals("primario", lerOrigem(context, true));
+
+            atrasoReplica.verificar();
+            new JdbcTemplate(new DriverManagerDataSource(REPLICA, "sa", "")).execute("drop table estado_replica");
+            atrasoReplica.verificar();
+
+            Assertions.assertFalse(atrasoReplica.isDisponivel());
+            Assertions.assertTrue(Double.isNaN(atrasoReplica.getAtraso()));
+            Assertions.assertEquals("primario", lerOrigem(context, true));
+        });
+    }
+
+    @Test
+    public void deveRegistrarUmPoolPorDataSource() {
+        contextRunner.run(context -> {
+            Assertions.assertEquals("primario", context.getBean("dataSourcePrimario", HikariDataSource.class).getPoolName());
+            Assertions.assertEquals("replica", context.getBean("dataSourceReplica", HikariDataSource.class).getPoolName());
+            Assertions.assertTrue(context.getBean("dataSourceReplica", HikariDataSource.class).isReadOnly());
+        });
+    }
+
+    @Test
+    public void naoDeveRotearSemAUrlDaReplica() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+                .withUserConfiguration(ReplicaConfig.class)
+                .withPropertyValues("spring.datasource.url=" + PRIMARIO)
+                .run(context -> {
+                    Assertions.assertTrue(context.getBeansOfType(AtrasoReplica.class).isEmpty());
+                    Assertions.assertInstanceOf(HikariDataSource.class, context.getBean(DataSource.class));
+                });
+    }
+
+    private String lerOrigem(ApplicationContext context, boolean somenteLeitura) {
+        Leitor leitor = context.getBean(Leitor.class);
+        return somenteLeitura ? leitor.lerMarcado() : leitor.lerEmEscrita();
+    }
+
+    private double contagem(MeterRegistry registry, String pool, String transacao) {
+        return registry.get("datasource.roteamento").tag("pool", pool).tag("transacao", transacao).counter().count();
+    }
+
+    public static class Leitor {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        public Leitor(DataSource dataSource) {
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        @SomenteLeitura
+        public String lerMarcado() {
+            return ler();
+        }
+
+        @Transactional(readOnly = true)
+        public String lerSemMarca() {
+            return ler();
+        }
+
+        @Transactional
+        public String lerEmEscrita() {
+            return ler();
+        }
+
+        private String ler() {
+            return jdbcTemplate.queryForObject("select nome from origem", String.class);
+        }
+    }
+}
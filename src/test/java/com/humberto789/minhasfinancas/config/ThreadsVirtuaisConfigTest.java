@@ -0,0 +1,28 @@
+package com.humberto789.minhasfinancas.config;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+public class ThreadsVirtuaisConfigTest {
+
+    @Test
+    public void deveCriarExecutorDeThreadsVirtuaisApenasNoJava21OuSuperior() throws Exception {
+        if(Runtime.version().feature() < 21) {
+            IllegalStateException erro = Assertions.assertThrowsExactly(IllegalStateException.class,
+                    ThreadsVirtuaisConfig::criarExecutorThreadsVirtuais);
+            Assertions.assertTrue(erro.getMessage().contains("Java 21"));
+            return;
+        }
+
+        ExecutorService executor = ThreadsVirtuaisConfig.criarExecutorThreadsVirtuais();
+        try {
+            Future<Boolean> virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            Assertions.assertTrue(virtual.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.service.ImportacaoExtratoService;
+import com.humberto789.minhasfinancas.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(ImportacaoController.class)
+@AutoConfigureMockMvc
+public class ImportacaoControllerTest {
+
+    private static final String API = "/api/importacoes";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    ImportacaoExtratoService service;
+
+    @MockBean
+    TokenService tokenService;
+
+    @Test
+    public void deveRetornarBadRequestParaFormatoDesconhecido() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "extrato.txt", "text/plain", "2023-01-05;Mercado;-10,00".getBytes());
+
+        mvc.perform(MockMvcRequestBuilders.multipart(API).file(arquivo)
+                        .param("formato", "XLS")
+                        .param("usuario", "1"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+}
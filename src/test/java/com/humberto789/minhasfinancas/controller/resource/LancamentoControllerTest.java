@@ -0,0 +1,539 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
+import com.humberto789.minhasfinancas.model.dto.ErroLote;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.PrevisaoSaldo;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.dto.SaldoMensalProjetado;
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.PrevisaoSaldoService;
+import com.humberto789.minhasfinancas.service.RecorrenciaLancamentoService;
+import com.humberto789.minhasfinancas.service.ResumoLancamentoService;
+import com.humberto789.minhasfinancas.service.TokenService;
+import com.humberto789.minhasfinancas.service.UsuarioService;
+import com.humberto789.minhasfinancas.service.impl.TokenServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(LancamentoController.class)
+@AutoConfigureMockMvc
+@Import(TokenServiceImpl.class)
+public class LancamentoControllerTest {
+
+    private static final String API = "/api/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    LancamentoService service;
+
+    @MockBean
+    UsuarioService usuarioService;
+
+    @MockBean
+    ResumoLancamentoService resumoService;
+
+    @MockBean
+    RecorrenciaLancamentoService recorrenciaService;
+
+    @MockBean
+    PrevisaoSaldoService previsaoSaldoService;
+
+    @Autowired
+    TokenService tokenService;
+
+    @Test
+    public void deveSalvarLoteEnviadoComoArrayJsonBuscandoCadaUsuarioUmaVez() throws Exception {
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+        Mockito.when(service.salvarEmLote(Mockito.anyList())).thenReturn(new ResultadoLote(2, List.of()));
+
+        String json = "[" + lancamentoJson(1l, "RECEITA") + "," + lancamentoJson(1l, "DESPESA") + "]";
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(API.concat("/lote"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json);
+
+        mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("salvos").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("erros").isEmpty());
+
+        Mockito.verify(usuarioService, Mockito.times(1)).obterDados(1l);
+        Mockito.verify(service).salvarEmLote(Mockito.argThat(lancamentos -> lancamentos.size() == 2));
+    }
+
+    @Test
+    public void deveReportarErrosPorLinhaNoLoteNdjson() throws Exception {
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+        Mockito.when(usuarioService.obterDados(2l)).thenReturn(Optional.empty());
+        Mockito.when(service.salvarEmLote(Mockito.anyList()))
+                .thenReturn(new ResultadoLote(1, List.of(new ErroLote(1, "Informe um valor válido."))));
+
+        String ndjson = lancamentoJson(1l, "RECEITA") + "\n"
+                + lancamentoJson(2l, "RECEITA") + "\n"
+                + lancamentoJson(1l, "INVALIDO") + "\n"
+                + lancamentoJson(1l, "DESPESA") + "\n";
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(API.concat("/lote"))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson);
+
+        mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("salvos").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("erros[0].linha").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("erros[1].linha").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("erros[2].linha").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("erros[2].mensagem").value("Informe um valor válido."));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaLoteMalFormado() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(API.concat("/lote"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"descricao\": ");
+
+        mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(service, Mockito.never()).salvarEmLote(Mockito.anyList());
+    }
+
+    @Test
+    public void deveListarLancamentosApenasComOIdDoUsuario() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha("senha").build();
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", usuario);
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(usuario);
+        Mockito.when(service.buscar(Mockito.any())).thenReturn(List.of(LancamentoListagem.de(lancamento)));
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("?usuario=1&descricao=merc")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].id").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].idUsuario").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].usuario").doesNotExist());
+    }
+
+    @Test
+    public void deveRetornarResumoDoPeriodo() throws Exception {
+        Mockito.when(resumoService.obterResumo(1l, YearMonth.of(2023, 1), YearMonth.of(2023, 6))).thenReturn(List.of(
+                new ResumoLancamento(2023, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, BigDecimal.TEN, 2l)));
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/resumo?usuario=1&inicio=2023-01&fim=2023-06")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].mes").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].tipo").value("RECEITA"))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].total").value(10))
+                .andExpect(MockMvcResultMatchers.jsonPath("[0].quantidade").value(2));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaPeriodoDoResumoInvalido() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/resumo?usuario=1&inicio=01/2023")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(resumoService);
+    }
+
+    @Test
+    public void deveExportarLancamentosEmCsv() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).build();
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(usuario);
+        Mockito.doAnswer(invocacao -> {
+            Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+            consumidor.accept(lancamentoExportado(1l, "Mercado, feira", usuario));
+            consumidor.accept(lancamentoExportado(2l, "Aluguel", usuario));
+            return null;
+        }).when(service).exportar(Mockito.argThat(filtro -> filtro.getIdUsuario().equals(1l)), Mockito.any());
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/exportacao?usuario=1&formato=CSV")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String esperado = "id,descricao,mes,ano,valor,tipo,status,data_cadastro,usuario\r\n"
+                + "1,\"Mercado, feira\",1,2023,10,RECEITA,PENDENTE,2023-01-15,1\r\n"
+                + "2,Aluguel,1,2023,10,RECEITA,PENDENTE,2023-01-15,1\r\n";
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(MockMvcResultMatchers.content().string(esperado));
+    }
+
+    @Test
+    public void deveExportarLancamentosEmNdjson() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha("senha").build();
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(usuario);
+        Mockito.doAnswer(invocacao -> {
+            Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+            consumidor.accept(lancamentoExportado(1l, "Mercado", usuario));
+            consumidor.accept(lancamentoExportado(2l, "Aluguel", usuario));
+            return null;
+        }).when(service).exportar(Mockito.any(), Mockito.any());
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/exportacao?usuario=1&formato=NDJSON")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // Uma linha por lançamento, sem o separador padrão do Jackson entre os valores.
+        String esperado = "{\"id\":1,\"descricao\":\"Mercado\",\"mes\":1,\"ano\":2023,\"valor\":10,"
+                + "\"tipo\":\"RECEITA\",\"status\":\"PENDENTE\",\"dataCadastro\":\"2023-01-15\",\"usuario\":1}\n"
+                + "{\"id\":2,\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2023,\"valor\":10,"
+                + "\"tipo\":\"RECEITA\",\"status\":\"PENDENTE\",\"dataCadastro\":\"2023-01-15\",\"usuario\":1}\n";
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(esperado));
+    }
+
+    @Test
+    public void deveRetornarBadRequestAoExportarParaUsuarioInexistente() throws Exception {
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.empty());
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/exportacao?usuario=1")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verify(service, Mockito.never()).exportar(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveAtualizarStatusCondicionalmenteComIfMatch() throws Exception {
+        Mockito.when(service.atualizarStatus(1l, new VersaoLancamento(2l, 3l), StatusLancamento.EFETIVADO))
+                .thenReturn(new VersaoLancamento(2l, 4l));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+                        .header("If-Match", "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNoContent())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"2-4\""));
+
+        Mockito.verify(service, Mockito.never()).obterParaAlteracao(Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarPreconditionFailedQuandoAVersaoEstiverDesatualizada() throws Exception {
+        Mockito.when(service.atualizarStatus(Mockito.eq(1l), Mockito.any(VersaoLancamento.class), Mockito.any()))
+                .thenThrow(new OptimisticLockingFailureException("O lançamento foi alterado por outra requisição."));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+                        .header("If-Match", "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    public void deveNegarAcessoQuandoODonoDoIfMatchForAdulterado() throws Exception {
+        Mockito.when(service.atualizarStatus(Mockito.eq(1l), Mockito.any(VersaoLancamento.class), Mockito.any()))
+                .thenThrow(new ErroAutenticacao("O lançamento não pertence ao usuário informado."));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+                        .header("If-Match", "\"9-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CANCELADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+    @Test
+    public void deveAtualizarLancamentoComAVersaoDoIfMatch() throws Exception {
+        Usuario usuario = Usuario.builder().id(1l).build();
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", usuario);
+        lancamento.setVersao(5l);
+        Mockito.when(service.obterParaAlteracao(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(usuario);
+        Mockito.when(service.atualizar(Mockito.any())).thenThrow(
+                new OptimisticLockingFailureException("O lançamento foi alterado por outra requisição."));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1"))
+                        .header("If-Match", "\"1-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lancamentoJson(1l, "RECEITA")))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+        Mockito.verify(service).atualizar(Mockito.argThat(alterado -> alterado.getVersao().equals(3l)));
+    }
+
+    @Test
+    public void deveNegarAcessoAoAtualizarComDonoAdulteradoNoIfMatch() throws Exception {
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", Usuario.builder().id(1l).build());
+        Mockito.when(service.obterParaAlteracao(1l)).thenReturn(Optional.of(lancamento));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1"))
+                        .header("If-Match", "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lancamentoJson(1l, "RECEITA")))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verify(service, Mockito.never()).atualizar(Mockito.any());
+    }
+
+    @Test
+    public void deveAtualizarStatusSemIfMatchUsandoAVersaoVigente() throws Exception {
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", Usuario.builder().id(2l).build());
+        lancamento.setVersao(3l);
+        Mockito.when(service.obterParaAlteracao(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(service.atualizarStatus(1l, new VersaoLancamento(2l, 3l), StatusLancamento.EFETIVADO))
+                .thenReturn(new VersaoLancamento(2l, 4l));
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"2-4\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("status").value("EFETIVADO"))
+                .andExpect(MockMvcResultMatchers.jsonPath("versao").value(4));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaTipoInvalidoNaPesquisa() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/pesquisa?usuario=1&tipo=INVALIDO")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("Informe um tipo e um status de lançamento válidos."));
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaStatusInvalido() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+                        .header("If-Match", "\"2-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"INEXISTENTE\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLoteRetornandoAQuantidade() throws Exception {
+        Mockito.when(service.atualizarStatusEmLote(Mockito.any(), Mockito.any(), Mockito.eq(StatusLancamento.EFETIVADO)))
+                .thenReturn(3);
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/lote/atualiza-status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\":1,\"ano\":2023,\"mes\":1,\"statusAtual\":\"PENDENTE\",\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(3));
+
+        Mockito.verify(service).atualizarStatusEmLote(
+                Mockito.argThat(filtro -> filtro.getIdUsuario().equals(1l) && filtro.getMes().equals(1)
+                        && filtro.getStatus() == StatusLancamento.PENDENTE && filtro.getTipo() == null),
+                Mockito.isNull(), Mockito.eq(StatusLancamento.EFETIVADO));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaStatusInvalidoNoLote() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/lote/atualiza-status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\":1,\"ids\":[1,2],\"status\":\"PAGO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveObterLancamentoComETag() throws Exception {
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", Usuario.builder().id(2l).build());
+        lancamento.setVersao(7l);
+        Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/1")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("ETag", "\"2-7\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("idUsuario").value(2));
+    }
+
+    @Test
+    public void deveSalvarLoteComOUsuarioDoTokenSemConsultarOBanco() throws Exception {
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+        Mockito.when(service.salvarEmLote(Mockito.anyList())).thenReturn(new ResultadoLote(2, List.of()));
+
+        String json = "[" + lancamentoJson(1l, "RECEITA") + ",{\"descricao\":\"lancamento\",\"mes\":1,\"ano\":2023,"
+                + "\"valor\":10,\"tipo\":\"DESPESA\"}]";
+
+        mvc.perform(MockMvcRequestBuilders.post(API.concat("/lote"))
+                        .header("Authorization", bearer(1l))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("salvos").value(2));
+
+        Mockito.verify(usuarioService, Mockito.never()).obterDados(Mockito.any());
+        Mockito.verify(service).salvarEmLote(Mockito.argThat(lancamentos ->
+                lancamentos.stream().allMatch(lancamento -> lancamento.getUsuario().getId().equals(1l))));
+    }
+
+    @Test
+    public void deveListarLancamentosDoUsuarioDoTokenSemConsultarOBanco() throws Exception {
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+        Mockito.when(service.buscar(Mockito.any())).thenReturn(List.of());
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("?descricao=merc"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Mockito.verify(usuarioService, Mockito.never()).obterDados(Mockito.any());
+        Mockito.verify(service).buscar(Mockito.argThat(filtro -> filtro.getUsuario().getId().equals(1l)));
+    }
+
+    @Test
+    public void deveRetornarBadRequestAoBuscarPorDescricaoComModoInvalido() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/descricao?termo=mercado&modo=foo&usuario=1")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveRetornarForbiddenQuandoOUsuarioInformadoDiferirDoToken() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/pesquisa?usuario=2"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveRetornarForbiddenAoObterLancamentoDeOutroUsuario() throws Exception {
+        Lancamento lancamento = lancamentoExportado(1l, "Mercado", Usuario.builder().id(2l).build());
+        Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/1"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+    }
+
+    @Test
+    public void deveRetornarUnauthorizedParaTokenInvalido() throws Exception {
+        String token = bearer(1l);
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/pesquisa"))
+                        .header("Authorization", token.substring(0, token.length() - 2)))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized())
+                .andExpect(MockMvcResultMatchers.header().exists("WWW-Authenticate"));
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    public void deveCriarRecorrenciaParceladaDoLancamento() throws Exception {
+        Lancamento lancamento = lancamentoExportado(1l, "Notebook", Usuario.builder().id(1l).build());
+        Mockito.when(service.obterParaAlteracao(1l)).thenReturn(Optional.of(lancamento));
+        Mockito.when(recorrenciaService.criar(lancamento, PeriodicidadeRecorrencia.MENSAL, 10))
+                .thenReturn(RecorrenciaLancamento.builder().id(5l).parcelas(10).periodicidade(PeriodicidadeRecorrencia.MENSAL).build());
+
+        mvc.perform(MockMvcRequestBuilders.post(API.concat("/1/recorrencia"))
+                        .header("Authorization", bearer(1l))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"periodicidade\": \"MENSAL\", \"parcelas\": 10}"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("id").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("parcelas").value(10));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaPeriodicidadeInvalida() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.post(API.concat("/1/recorrencia"))
+                        .header("Authorization", bearer(1l))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"periodicidade\": \"SEMANAL\"}"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(recorrenciaService);
+    }
+
+    @Test
+    public void deveEncerrarRecorrenciaDoUsuarioAutenticado() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.delete(API.concat("/recorrencias/5"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Mockito.verify(recorrenciaService).encerrar(5l, 1l);
+    }
+
+    @Test
+    public void deveRetornarAPrevisaoDeSaldoDoUsuarioAutenticado() throws Exception {
+        PrevisaoSaldo previsao = new PrevisaoSaldo(BigDecimal.valueOf(100), BigDecimal.valueOf(20), 1l,
+                List.of(new SaldoMensalProjetado(2023, 7, BigDecimal.ZERO, BigDecimal.valueOf(30), BigDecimal.valueOf(70))));
+        Mockito.when(previsaoSaldoService.preverSaldo(1l, YearMonth.of(2023, 7))).thenReturn(previsao);
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/previsao?ate=2023-07"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("saldoEfetivado").value(100))
+                .andExpect(MockMvcResultMatchers.jsonPath("meses[0].saldoProjetado").value(70));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaPeriodoDePrevisaoInvalido() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/previsao?ate=07-2023"))
+                        .header("Authorization", bearer(1l)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        Mockito.verifyNoInteractions(previsaoSaldoService);
+    }
+
+    private String bearer(Long idUsuario) {
+        return "Bearer " + tokenService.gerar(Usuario.builder().id(idUsuario).build()).token();
+    }
+
+    private Lancamento lancamentoExportado(Long id, String descricao, Usuario usuario) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(id);
+        lancamento.setDescricao(descricao);
+        lancamento.setUsuario(usuario);
+        lancamento.setDataCadastro(LocalDate.of(2023, 1, 15));
+        return lancamento;
+    }
+
+    private String lancamentoJson(Long usuario, String tipo) {
+        return "{\"descricao\":\"lancamento\",\"mes\":1,\"ano\":2023,\"valor\":10,\"usuario\":" + usuario
+                + ",\"tipo\":\"" + tipo + "\"}";
+    }
+}
@@ -0,0 +1,126 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepository;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.humberto789.minhasfinancas.monitoramento.AtrasoReplica;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Réplica que responde dentro do atraso máximo, mas ainda não recebeu nenhuma linha do primário: as
+ * alterações precisam ler o lançamento no primário, e só as consultas puras vão para a réplica.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_atrasada_primario;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas",
+        "minhasfinancas.replica.url=jdbc:h2:mem:replica_atrasada_replica;DB_CLOSE_DELAY=-1",
+        "minhasfinancas.replica.consulta-atraso=select 0",
+        "minhasfinancas.replica.atraso-maximo=5s"})
+@AutoConfigureMockMvc
+public class LancamentoReplicaAtrasadaTest {
+
+    private static final String API = "/api/lancamentos";
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    AtrasoReplica atrasoReplica;
+
+    @Autowired
+    @Qualifier("dataSourcePrimario")
+    DataSource dataSourcePrimario;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    DataSource dataSourceReplica;
+
+    Lancamento lancamento;
+
+    @BeforeEach
+    public void setUp() {
+        copiarEsquemaSemDados();
+        atrasoReplica.verificar();
+        Assertions.assertTrue(atrasoReplica.isDisponivel());
+
+        Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+        usuario.setEmail(UUID.randomUUID() + "@email.com");
+        usuario = usuarioRepository.save(usuario);
+
+        lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento = lancamentoRepository.save(lancamento);
+    }
+
+    @Test
+    public void deveConsultarNaReplicaQueAindaNaoTemOLancamento() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/" + lancamento.getId())))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void deveAtualizarLendoOLancamentoNoPrimario() throws Exception {
+        String json = "{\"descricao\":\"alterado\",\"mes\":2,\"ano\":2023,\"valor\":15,\"usuario\":"
+                + lancamento.getUsuario().getId() + ",\"tipo\":\"DESPESA\"}";
+
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("descricao").value("alterado"));
+
+        Assertions.assertEquals("alterado", lancamentoRepository.findById(lancamento.getId()).orElseThrow().getDescricao());
+    }
+
+    @Test
+    public void deveAtualizarStatusLendoOLancamentoNoPrimario() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.put(API.concat("/" + lancamento.getId() + "/atualiza-status"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"EFETIVADO\"}"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertEquals(StatusLancamento.EFETIVADO, lancamentoRepository.findById(lancamento.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void deveDeletarLendoOLancamentoNoPrimario() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.delete(API.concat("/" + lancamento.getId())))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        Assertions.assertTrue(lancamentoRepository.findById(lancamento.getId()).isEmpty());
+    }
+
+    private void copiarEsquemaSemDados() {
+        JdbcTemplate replica = new JdbcTemplate(dataSourceReplica);
+        replica.execute("drop all objects");
+
+        new JdbcTemplate(dataSourcePrimario).queryForList("script nodata", String.class).stream()
+                .filter(sql -> !sql.startsWith("CREATE USER"))
+                .forEach(replica::execute);
+    }
+}
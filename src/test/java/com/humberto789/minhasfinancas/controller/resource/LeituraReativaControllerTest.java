@@ -0,0 +1,138 @@
+package com.humberto789.minhasfinancas.controller.resource;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.service.LeituraReativaService;
+import com.humberto789.minhasfinancas.service.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebMvcTest(LeituraReativaController.class)
+@AutoConfigureMockMvc
+public class LeituraReativaControllerTest {
+
+    private static final String API = "/api/reativo";
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    LeituraReativaService service;
+
+    @MockBean
+    TokenService tokenService;
+
+    @Test
+    public void deveTransmitirLancamentosEmNdjson() throws Exception {
+        Mockito.when(service.buscar(Mockito.any(), Mockito.eq(CursorLancamento.INICIO), Mockito.eq(100)))
+                .thenReturn(Flux.just(listagem(1l), listagem(2l)));
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos?usuario=1"))
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"id\":1,\"descricao\":\"Mercado\",\"mes\":1,\"ano\":2023,\"valor\":10,\"tipo\":\"RECEITA\","
+                                + "\"status\":\"PENDENTE\",\"dataCadastro\":\"2023-01-15\",\"idUsuario\":1,\"versao\":0}\n"
+                                + "{\"id\":2,\"descricao\":\"Mercado\",\"mes\":1,\"ano\":2023,\"valor\":10,\"tipo\":\"RECEITA\","
+                                + "\"status\":\"PENDENTE\",\"dataCadastro\":\"2023-01-15\",\"idUsuario\":1,\"versao\":0}\n"));
+    }
+
+    @Test
+    public void deveRetornarLancamentosComoArrayJson() throws Exception {
+        Mockito.when(service.buscar(Mockito.any(), Mockito.any(), Mockito.anyInt())).thenReturn(Flux.just(listagem(1l)));
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos?usuario=1&limite=10"))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1));
+
+        Mockito.verify(service).buscar(Mockito.argThat(filtro -> filtro.getIdUsuario().equals(1l)),
+                Mockito.eq(CursorLancamento.INICIO), Mockito.eq(10));
+    }
+
+    @Test
+    public void deveObterSaldoDoUsuario() throws Exception {
+        Mockito.when(service.obterSaldo(1l)).thenReturn(Mono.just(BigDecimal.valueOf(60)));
+
+        MvcResult resultado = mvc.perform(MockMvcRequestBuilders.get(API.concat("/usuarios/1/saldo")))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("60"));
+    }
+
+    @Test
+    public void deveUsarOUsuarioDoTokenENegarOutroUsuario() throws Exception {
+        Mockito.when(tokenService.validar("token")).thenReturn(2l);
+        Mockito.when(service.obterResumo(Mockito.eq(2l), Mockito.any(), Mockito.any())).thenReturn(Flux.empty());
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos/resumo"))
+                        .header("Authorization", "Bearer token"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos?usuario=1"))
+                        .header("Authorization", "Bearer token"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/usuarios/1/saldo"))
+                        .header("Authorization", "Bearer token"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verify(service).obterResumo(Mockito.eq(2l), Mockito.any(), Mockito.any());
+        Mockito.verify(service, Mockito.never()).buscar(Mockito.any(), Mockito.any(), Mockito.anyInt());
+        Mockito.verify(service, Mockito.never()).obterSaldo(Mockito.any());
+    }
+
+    @Test
+    public void deveRetornarBadRequestQuandoServicoRejeitarParametros() throws Exception {
+        Mockito.when(service.buscar(Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenThrow(new RegraNegocioException("Informe um limite válido."));
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos?usuario=1&limite=0")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string("Informe um limite válido."));
+    }
+
+    @Test
+    public void deveRetornarBadRequestParaPeriodoInvalidoNoResumo() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/lancamentos/resumo?usuario=1&inicio=2023-13")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private LancamentoListagem listagem(Long id) {
+        return new LancamentoListagem(id, "Mercado", 1, 2023, BigDecimal.valueOf(10), TipoLancamento.RECEITA,
+                StatusLancamento.PENDENTE, LocalDate.of(2023, 1, 15), 1l, 0l);
+    }
+}
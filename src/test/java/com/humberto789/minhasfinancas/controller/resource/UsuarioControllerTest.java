@@ -4,9 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.humberto789.minhasfinancas.controller.dto.UsuarioDTO;
 import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.TokenAcesso;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
 import com.humberto789.minhasfinancas.service.LancamentoService;
+import com.humberto789.minhasfinancas.service.LimiteAutenticacaoService;
+import com.humberto789.minhasfinancas.service.TokenService;
 import com.humberto789.minhasfinancas.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
@@ -14,17 +18,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
-@WebMvcTest
+@WebMvcTest(UsuarioController.class)
 @AutoConfigureMockMvc
 public class UsuarioControllerTest {
 
@@ -40,6 +50,17 @@ public class UsuarioControllerTest {
     @MockBean
     LancamentoService lancamentoService;
 
+    @MockBean
+    TokenService tokenService;
+
+    @MockBean
+    LimiteAutenticacaoService limiteAutenticacaoService;
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(limiteAutenticacaoService.consumir(Mockito.any(), Mockito.any())).thenReturn(Duration.ZERO);
+    }
+
     @Test
     public void deveAutenticarUsuario() throws Exception {
         String email = "usuario@email.com";
@@ -56,7 +77,8 @@ public class UsuarioControllerTest {
                 .senha(senha)
                 .build();
 
-        Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+        Mockito.when(service.autenticar(email, senha)).thenReturn(CompletableFuture.completedFuture(usuario));
+        Mockito.when(tokenService.gerar(usuario)).thenReturn(new TokenAcesso("cabecalho.conteudo.assinatura", Instant.EPOCH));
 
         String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -66,11 +88,17 @@ public class UsuarioControllerTest {
                 .contentType(JSON)
                 .content(json);
 
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-                .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+                .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+                .andExpect(MockMvcResultMatchers.jsonPath("token").value("cabecalho.conteudo.assinatura"))
+                .andExpect(MockMvcResultMatchers.jsonPath("senha").doesNotExist());
     }
 
     @Test
@@ -83,7 +111,8 @@ public class UsuarioControllerTest {
                 .senha(senha)
                 .build();
 
-        Mockito.when(service.autenticar(email, senha)).thenThrow(ErroAutenticacao.class);
+        Mockito.when(service.autenticar(email, senha))
+                .thenReturn(CompletableFuture.failedFuture(new ErroAutenticacao("Email ou senha inválidos.")));
 
         String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -93,10 +122,51 @@ public class UsuarioControllerTest {
                 .contentType(JSON)
                 .content(json);
 
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    public void deveRetornarServiceUnavailableQuandoOPoolDeSenhasEstiverCheio() throws Exception {
+        Mockito.when(service.autenticar(Mockito.any(), Mockito.any())).thenThrow(new TaskRejectedException("fila cheia"));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(API.concat("/autenticar"))
+                .accept(JSON)
+                .contentType(JSON)
+                .content("{\"email\":\"usuario@email.com\",\"senha\":\"123\"}");
+
+        MvcResult resultado = mvc.perform(request).andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+    }
+
+    @Test
+    public void deveRecusarTentativasAcimaDoLimiteSemChamarOServico() throws Exception {
+        Mockito.when(limiteAutenticacaoService.consumir(Mockito.eq("usuario@email.com"), Mockito.any()))
+                .thenReturn(Duration.ofMillis(5500));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(API.concat("/autenticar"))
+                .accept(JSON)
+                .contentType(JSON)
+                .content("{\"email\":\"usuario@email.com\",\"senha\":\"123\"}");
+
+        MvcResult resultado = mvc.perform(request).andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "6"));
+
+        Mockito.verifyNoInteractions(service);
+    }
+
     @Test
     public void deveCriarNovoUsuario() throws Exception {
         String email = "usuario@email.com";
@@ -113,7 +183,7 @@ public class UsuarioControllerTest {
                 .senha(senha)
                 .build();
 
-        Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class))).thenReturn(usuario);
+        Mockito.when(service.salvarUsuario(Mockito.any(Usuario.class))).thenReturn(CompletableFuture.completedFuture(usuario));
 
         String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -123,13 +193,28 @@ public class UsuarioControllerTest {
                 .contentType(JSON)
                 .content(json);
 
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
                 .andExpect(MockMvcResultMatchers.status().isCreated())
                 .andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
                 .andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
                 .andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
     }
 
+    @Test
+    public void deveNegarSaldoDeOutroUsuarioQuandoAutenticado() throws Exception {
+        Mockito.when(tokenService.validar("token")).thenReturn(2l);
+
+        mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo"))
+                        .header("Authorization", "Bearer token"))
+                .andExpect(MockMvcResultMatchers.status().isForbidden());
+
+        Mockito.verifyNoInteractions(lancamentoService);
+    }
+
     @Test
     public void deveRetornarBadRequestAoTentarCriarUsuarioInvalido() throws Exception {
         String email = "usuario@email.com";
@@ -150,7 +235,11 @@ public class UsuarioControllerTest {
                 .contentType(JSON)
                 .content(json);
 
-        mvc.perform(request)
+        MvcResult resultado = mvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 }
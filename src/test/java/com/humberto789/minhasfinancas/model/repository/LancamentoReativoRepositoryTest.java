@@ -0,0 +1,151 @@
+package com.humberto789.minhasfinancas.model.repository;
+
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class LancamentoReativoRepositoryTest {
+
+    private static final String URL = "r2dbc:h2:mem:///reativo?options=DB_CLOSE_DELAY=-1";
+
+    LancamentoReativoRepository repository;
+    DatabaseClient client;
+
+    @BeforeEach
+    public void setUp() {
+        client = DatabaseClient.create(ConnectionFactories.get(URL));
+        Flux.just(
+                "create schema if not exists financas",
+                "drop table if exists financas.lancamento",
+                "drop table if exists financas.saldo_usuario",
+                "drop table if exists financas.lancamento_arquivado",
+                "drop table if exists financas.total_anual_arquivado",
+                "create table financas.lancamento (id bigint primary key, descricao varchar(100), mes integer, ano integer, " +
+                        "valor numeric(16,2), tipo varchar(20), status varchar(20), data_cadastro date, id_usuario bigint, versao bigint)",
+                "create table financas.lancamento_arquivado as select * from financas.lancamento",
+                "create table financas.total_anual_arquivado (id_usuario bigint, ano integer, tipo varchar(20), status varchar(20), " +
+                        "total numeric(16,2), quantidade bigint)",
+                "create table financas.saldo_usuario (id_usuario bigint primary key, receitas numeric(16,2), despesas numeric(16,2))")
+                .concatMap(sql -> client.sql(sql).then())
+                .blockLast();
+
+        repository = new LancamentoReativoRepository(URL, "", "", 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.destroy();
+    }
+
+    @Test
+    public void deveBuscarLancamentosDoUsuarioAposOCursorEmOrdemDePeriodo() {
+        inserir(1l, 2023, 2, "10", TipoLancamento.RECEITA, 1l);
+        inserir(2l, 2023, 1, "20", TipoLancamento.DESPESA, 1l);
+        inserir(3l, 2023, 1, "30", TipoLancamento.RECEITA, 2l);
+        inserir(4l, 2023, 3, "40", TipoLancamento.RECEITA, 1l);
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+
+        StepVerifier.create(repository.buscarAposCursor(filtro, CursorLancamento.INICIO, 2).map(LancamentoListagem::id))
+                .expectNext(2l, 1l)
+                .verifyComplete();
+
+        StepVerifier.create(repository.buscarAposCursor(filtro, new CursorLancamento(2023, 2, 1l), 10).map(LancamentoListagem::id))
+                .expectNext(4l)
+                .verifyComplete();
+    }
+
+    @Test
+    public void deveLerOsLancamentosArquivadosJuntoComOsAtivos() {
+        inserir(1l, 2023, 1, "10", TipoLancamento.RECEITA, 1l);
+        inserir(2l, 2020, 5, "20", TipoLancamento.DESPESA, 1l);
+        client.sql("insert into financas.lancamento_arquivado select * from financas.lancamento where ano = 2020").then().block();
+        client.sql("delete from financas.lancamento where ano = 2020").then().block();
+        client.sql("insert into financas.total_anual_arquivado values (1, 2020, 'DESPESA', 'PENDENTE', 20, 1)").then().block();
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+
+        StepVerifier.create(repository.buscarAposCursor(filtro, CursorLancamento.INICIO, 10).map(LancamentoListagem::id))
+                .expectNext(2l, 1l)
+                .verifyComplete();
+
+        StepVerifier.create(repository.obterSaldo(1l))
+                .assertNext(saldo -> Assertions.assertEquals(0, new BigDecimal("-10").compareTo(saldo)))
+                .verifyComplete();
+
+        Assertions.assertEquals(2, repository.obterResumoPorUsuario(1l, 2020, 1, 2023, 12).collectList().block().size());
+    }
+
+    @Test
+    public void deveAplicarFiltrosNaBusca() {
+        inserir(1l, 2023, 1, "10", TipoLancamento.RECEITA, 1l);
+        inserir(2l, 2023, 1, "20", TipoLancamento.DESPESA, 1l);
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).ano(2023).mes(1).tipo(TipoLancamento.DESPESA).build();
+
+        StepVerifier.create(repository.buscarAposCursor(filtro, CursorLancamento.INICIO, 10))
+                .assertNext(lancamento -> {
+                    Assertions.assertEquals(2l, lancamento.id());
+                    Assertions.assertEquals(TipoLancamento.DESPESA, lancamento.tipo());
+                    Assertions.assertEquals(StatusLancamento.PENDENTE, lancamento.status());
+                    Assertions.assertEquals(0, new BigDecimal("20").compareTo(lancamento.valor()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void deveObterSaldoMaterializadoOuCalcularQuandoAusente() {
+        inserir(1l, 2023, 1, "100", TipoLancamento.RECEITA, 1l);
+        inserir(2l, 2023, 1, "30", TipoLancamento.DESPESA, 1l);
+        client.sql("insert into financas.saldo_usuario values (2, 50, 5)").then().block();
+
+        StepVerifier.create(repository.obterSaldo(1l))
+                .assertNext(saldo -> Assertions.assertEquals(0, new BigDecimal("70").compareTo(saldo)))
+                .verifyComplete();
+
+        StepVerifier.create(repository.obterSaldo(2l))
+                .assertNext(saldo -> Assertions.assertEquals(0, new BigDecimal("45").compareTo(saldo)))
+                .verifyComplete();
+    }
+
+    @Test
+    public void deveAgruparResumoPorPeriodoTipoEStatus() {
+        inserir(1l, 2022, 12, "5", TipoLancamento.RECEITA, 1l);
+        inserir(2l, 2023, 1, "10", TipoLancamento.RECEITA, 1l);
+        inserir(3l, 2023, 1, "15", TipoLancamento.RECEITA, 1l);
+        inserir(4l, 2023, 2, "7", TipoLancamento.DESPESA, 1l);
+
+        List<ResumoLancamento> resumo = repository.obterResumoPorUsuario(1l, 2023, 1, 2023, 12).collectList().block();
+
+        Assertions.assertEquals(2, resumo.size());
+        Assertions.assertEquals(2l, resumo.get(0).quantidade());
+        Assertions.assertEquals(0, new BigDecimal("25").compareTo(resumo.get(0).total()));
+        Assertions.assertEquals(TipoLancamento.DESPESA, resumo.get(1).tipo());
+    }
+
+    private void inserir(Long id, int ano, int mes, String valor, TipoLancamento tipo, Long idUsuario) {
+        client.sql("insert into financas.lancamento values (:id, 'lancamento', :mes, :ano, :valor, :tipo, 'PENDENTE', current_date, :idUsuario, 0)")
+                .bind("id", id)
+                .bind("mes", mes)
+                .bind("ano", ano)
+                .bind("valor", new BigDecimal(valor))
+                .bind("tipo", tipo.name())
+                .bind("idUsuario", idUsuario)
+                .then()
+                .block();
+    }
+}
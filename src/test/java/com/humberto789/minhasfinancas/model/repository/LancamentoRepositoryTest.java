@@ -1,8 +1,12 @@
 package com.humberto789.minhasfinancas.model.repository;
 
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
 import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
 import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,12 +14,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -75,6 +82,69 @@ public class LancamentoRepositoryTest {
         Assertions.assertEquals(lancamentoAtualizado.getStatus(), StatusLancamento.CANCELADO);
     }
 
+    @Test
+    public void deveIncrementarAVersaoAoAtualizarUmLancamento(){
+        Lancamento lancamento = criarPersistirLancamento();
+        Assertions.assertEquals(0l, lancamento.getVersao());
+
+        lancamento.setDescricao("Atualizada");
+        entityManager.flush();
+
+        Assertions.assertEquals(1l, lancamento.getVersao());
+    }
+
+    @Test
+    public void deveAtualizarStatusSomenteNaVersaoInformada(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento lancamento = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        entityManager.flush();
+
+        Assertions.assertEquals(0, repository.atualizarStatus(lancamento.getId(), usuario.getId(), 5l, StatusLancamento.EFETIVADO));
+        Assertions.assertEquals(0, repository.atualizarStatus(lancamento.getId(), usuario.getId() + 1, 0l, StatusLancamento.EFETIVADO));
+        Assertions.assertEquals(1, repository.atualizarStatus(lancamento.getId(), usuario.getId(), 0l, StatusLancamento.EFETIVADO));
+
+        Lancamento atualizado = entityManager.find(Lancamento.class, lancamento.getId());
+        Assertions.assertEquals(StatusLancamento.EFETIVADO, atualizado.getStatus());
+        Assertions.assertEquals(1l, atualizado.getVersao());
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLotePorIdsSomenteDoUsuario(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento primeiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento segundo = persistirLancamentoDoUsuario(usuario, 2023, 2);
+        Lancamento deOutroUsuario = criarPersistirLancamento();
+        entityManager.flush();
+
+        int atualizados = repository.atualizarStatusPorIds(usuario.getId(),
+                List.of(primeiro.getId(), deOutroUsuario.getId()), StatusLancamento.EFETIVADO);
+
+        Assertions.assertEquals(1, atualizados);
+        Assertions.assertEquals(StatusLancamento.EFETIVADO, entityManager.find(Lancamento.class, primeiro.getId()).getStatus());
+        Assertions.assertEquals(1l, entityManager.find(Lancamento.class, primeiro.getId()).getVersao());
+        Assertions.assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, segundo.getId()).getStatus());
+        Assertions.assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, deOutroUsuario.getId()).getStatus());
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLotePorFiltroIgnorandoOsQueJaEstaoNoStatus(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento janeiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento efetivado = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        efetivado.setStatus(StatusLancamento.EFETIVADO);
+        Lancamento fevereiro = persistirLancamentoDoUsuario(usuario, 2023, 2);
+        entityManager.flush();
+        Long versaoEfetivado = efetivado.getVersao();
+
+        int atualizados = repository.atualizarStatusPorFiltro(usuario.getId(), 2023, 1, TipoLancamento.RECEITA,
+                null, StatusLancamento.EFETIVADO);
+
+        Assertions.assertEquals(1, atualizados);
+        Assertions.assertEquals(StatusLancamento.EFETIVADO, entityManager.find(Lancamento.class, janeiro.getId()).getStatus());
+        Assertions.assertEquals(versaoEfetivado, entityManager.find(Lancamento.class, efetivado.getId()).getVersao());
+        Assertions.assertEquals(StatusLancamento.PENDENTE, entityManager.find(Lancamento.class, fevereiro.getId()).getStatus());
+    }
+
     @Test
     public void deveBuscarUmLancamentoPorId(){
         Lancamento lancamento = criarPersistirLancamento();
@@ -85,6 +155,151 @@ public class LancamentoRepositoryTest {
 
     }
 
+    @Test
+    public void deveBuscarLancamentosAposOCursorOrdenadosPorAnoMesEId(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento marco = persistirLancamentoDoUsuario(usuario, 2023, 3);
+        Lancamento janeiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento dezembro = persistirLancamentoDoUsuario(usuario, 2022, 12);
+        Lancamento outroJaneiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+
+        List<LancamentoListagem> primeiraPagina = repository.buscarAposCursor(usuario.getId(), null, null, null, null,
+                0, 0, 0L, PageRequest.of(0, 2));
+
+        Assertions.assertEquals(List.of(dezembro.getId(), janeiro.getId()),
+                primeiraPagina.stream().map(LancamentoListagem::id).toList());
+
+        List<LancamentoListagem> segundaPagina = repository.buscarAposCursor(usuario.getId(), null, null, null, null,
+                janeiro.getAno(), janeiro.getMes(), janeiro.getId(), PageRequest.of(0, 2));
+
+        Assertions.assertEquals(List.of(outroJaneiro.getId(), marco.getId()),
+                segundaPagina.stream().map(LancamentoListagem::id).toList());
+    }
+
+    @Test
+    public void deveRestringirBuscaPorCursorAoAnoFiltradoEAoAnoDoCursor(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        persistirLancamentoDoUsuario(usuario, 2022, 12);
+        Lancamento janeiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        persistirLancamentoDoUsuario(usuario, 2024, 1);
+
+        List<LancamentoListagem> doAno = repository.buscarAposCursor(usuario.getId(), 2023, null, null, null,
+                0, 0, 0L, PageRequest.of(0, 10));
+        List<LancamentoListagem> anoAnteriorAoCursor = repository.buscarAposCursor(usuario.getId(), 2022, null, null, null,
+                2023, 1, 0L, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of(janeiro.getId()), doAno.stream().map(LancamentoListagem::id).toList());
+        Assertions.assertTrue(anoAnteriorAoCursor.isEmpty());
+    }
+
+    @Test
+    public void deveFiltrarBuscaPorCursorPorTipoEStatus(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento despesa = persistirLancamentoDoUsuario(usuario, 2023, 2);
+        despesa.setTipo(TipoLancamento.DESPESA);
+        entityManager.flush();
+
+        List<LancamentoListagem> resultado = repository.buscarAposCursor(usuario.getId(), null, null,
+                TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 0, 0, 0L, PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, resultado.size());
+        Assertions.assertEquals(despesa.getId(), resultado.get(0).id());
+        Assertions.assertEquals(usuario.getId(), resultado.get(0).idUsuario());
+    }
+
+    @Test
+    public void deveBuscarListagemPorDescricaoSemDiferenciarMaiusculas(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento mercado = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        mercado.setDescricao("Mercado do Mês");
+        Lancamento aluguel = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        aluguel.setDescricao("Aluguel 100%");
+        entityManager.flush();
+
+        List<LancamentoListagem> resultado = repository.buscarListagem(usuario.getId(), "%mercado%", 2023, null);
+
+        Assertions.assertEquals(List.of(mercado.getId()), resultado.stream().map(LancamentoListagem::id).toList());
+        Assertions.assertEquals(usuario.getId(), resultado.get(0).idUsuario());
+        Assertions.assertEquals(List.of(aluguel.getId()), repository.buscarListagem(usuario.getId(), "%100\\%%", null, null)
+                .stream().map(LancamentoListagem::id).toList());
+        Assertions.assertTrue(repository.buscarListagem(usuario.getId(), "%mercado%", 2022, null).isEmpty());
+    }
+
+    @Test
+    public void deveCarregarOUsuarioDoLancamentoSomenteQuandoAcessado(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento lancamento = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        entityManager.flush();
+        entityManager.clear();
+
+        Lancamento encontrado = repository.findById(lancamento.getId()).get();
+
+        Assertions.assertFalse(Hibernate.isInitialized(encontrado.getUsuario()));
+        Assertions.assertEquals(usuario.getId(), encontrado.getUsuario().getId());
+        Assertions.assertFalse(Hibernate.isInitialized(encontrado.getUsuario()));
+    }
+
+    @Test
+    public void deveExportarLancamentosDoUsuarioOrdenadosPorAnoMesEId(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Lancamento fevereiro = persistirLancamentoDoUsuario(usuario, 2023, 2);
+        Lancamento janeiro = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        persistirLancamentoDoUsuario(usuario, 2022, 1);
+        criarPersistirLancamento();
+        entityManager.flush();
+
+        try (Stream<Lancamento> lancamentos = repository.exportarPorUsuario(usuario.getId(), 2023, null, null, null)) {
+            Assertions.assertEquals(List.of(janeiro.getId(), fevereiro.getId()),
+                    lancamentos.map(Lancamento::getId).toList());
+        }
+    }
+
+    @Test
+    public void deveAgruparTotaisPorAnoMesTipoEStatusDentroDoPeriodo(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        persistirLancamentoDoUsuario(usuario, 2022, 12);
+        persistirLancamentoDoUsuario(usuario, 2023, 1);
+        persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento despesa = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        despesa.setTipo(TipoLancamento.DESPESA);
+        persistirLancamentoDoUsuario(usuario, 2023, 3);
+        persistirLancamentoDoUsuario(usuario, 2023, 4);
+        criarPersistirLancamento();
+        entityManager.flush();
+
+        List<ResumoLancamento> resumo = repository.obterResumoPorUsuario(usuario.getId(), 2023, 1, 2023, 3);
+
+        Assertions.assertEquals(List.of(
+                new ResumoLancamento(2023, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, new BigDecimal("10.00"), 1l),
+                new ResumoLancamento(2023, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, new BigDecimal("20.00"), 2l),
+                new ResumoLancamento(2023, 3, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, new BigDecimal("10.00"), 1l)),
+                resumo);
+    }
+
+    @Test
+    public void deveListarPorIdsApenasOsLancamentosDoUsuario(){
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        Usuario outro = UsuarioRepositoryTest.criarUsuario();
+        outro.setEmail("outro@email.com");
+        entityManager.persist(outro);
+        Lancamento proprio = persistirLancamentoDoUsuario(usuario, 2023, 1);
+        Lancamento alheio = persistirLancamentoDoUsuario(outro, 2023, 1);
+        entityManager.flush();
+
+        List<LancamentoListagem> listagem = repository.buscarListagemPorIds(usuario.getId(), List.of(proprio.getId(), alheio.getId()));
+
+        Assertions.assertEquals(List.of(proprio.getId()), listagem.stream().map(LancamentoListagem::id).toList());
+    }
+
+    private Lancamento persistirLancamentoDoUsuario(Usuario usuario, Integer ano, Integer mes) {
+        Lancamento lancamento = criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setAno(ano);
+        lancamento.setMes(mes);
+        return entityManager.persist(lancamento);
+    }
+
     public Lancamento criarPersistirLancamento() {
         Lancamento lancamento = criarLancamento();
         entityManager.persist(lancamento);
@@ -72,6 +72,17 @@ public class UsuarioRepositoryTest {
         Assertions.assertFalse(result.isPresent());
     }
 
+    @Test
+    public void deveAtualizarSenhaSomenteQuandoAindaForAAnterior(){
+        Usuario usuario = entityManager.persist(criarUsuario());
+        entityManager.flush();
+
+        Assertions.assertEquals(0, repository.atualizarSenha(usuario.getId(), usuario.getEmail(), "outra", "hash"));
+        Assertions.assertEquals(1, repository.atualizarSenha(usuario.getId(), usuario.getEmail(), "senha", "hash"));
+
+        Assertions.assertEquals("hash", entityManager.find(Usuario.class, usuario.getId()).getSenha());
+    }
+
     public static Usuario criarUsuario(){
         return Usuario
                 .builder()
@@ -0,0 +1,29 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Asserções sobre a quantidade de statements SQL executados por uma operação. Operações que só
+ * gravam no flush precisam chamar o flush dentro do bloco contado.
+ */
+public final class ConsultasSql {
+
+    private ConsultasSql() {
+    }
+
+    public static ContadorConsultas.Contagem contar(Runnable operacao) {
+        ContadorConsultas.Contagem contagem = ContadorConsultas.iniciar(0);
+        try {
+            operacao.run();
+        } finally {
+            ContadorConsultas.encerrar();
+        }
+        return contagem;
+    }
+
+    public static void assertConsultas(int esperadas, Runnable operacao) {
+        ContadorConsultas.Contagem contagem = contar(operacao);
+        Assertions.assertEquals(esperadas, contagem.getQuantidade(),
+                () -> "Quantidade de statements SQL inesperada: " + contagem.getStatements());
+    }
+}
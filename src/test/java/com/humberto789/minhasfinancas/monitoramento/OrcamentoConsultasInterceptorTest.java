@@ -0,0 +1,124 @@
+package com.humberto789.minhasfinancas.monitoramento;
+
+import com.humberto789.minhasfinancas.exception.OrcamentoConsultasExcedidoException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+public class OrcamentoConsultasInterceptorTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ContadorConsultas inspector = new ContadorConsultas();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teste");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    public void tearDown() {
+        ContadorConsultas.encerrar();
+    }
+
+    @Test
+    public void deveRegistrarAQuantidadeDeStatementsPorEndpoint() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(10, false, meterRegistry);
+        HandlerMethod handler = handler("padrao");
+
+        interceptor.preHandle(request, response, handler);
+        executar(3);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary resumo = meterRegistry.get("consultas.sql.requisicao")
+                .tag("endpoint", "ControladorDeTeste.padrao").summary();
+        Assertions.assertEquals(1, resumo.count());
+        Assertions.assertEquals(3, resumo.totalAmount());
+    }
+
+    @Test
+    public void deveApenasRegistrarQuandoExcedeOOrcamentoSemFalhar() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(2, false, meterRegistry);
+        HandlerMethod handler = handler("padrao");
+
+        interceptor.preHandle(request, response, handler);
+
+        Assertions.assertDoesNotThrow(() -> executar(5));
+    }
+
+    @Test
+    public void deveFalharNoStatementQueExcedeOOrcamento() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(10, true, meterRegistry);
+        HandlerMethod handler = handler("padrao");
+
+        interceptor.preHandle(request, response, handler);
+        executar(4);
+
+        Assertions.assertThrows(OrcamentoConsultasExcedidoException.class, () -> executar(1));
+    }
+
+    @Test
+    public void devePriorizarOOrcamentoDoMetodoSobreODaClasse() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(1, true, meterRegistry);
+
+        interceptor.preHandle(request, response, handler("padrao"));
+        executar(4);
+        Assertions.assertThrows(OrcamentoConsultasExcedidoException.class, () -> executar(1));
+        ContadorConsultas.encerrar();
+
+        interceptor.preHandle(request, response, handler("anotado"));
+        executar(6);
+        Assertions.assertThrows(OrcamentoConsultasExcedidoException.class, () -> executar(1));
+    }
+
+    @Test
+    public void naoDeveLimitarEndpointSemLimite() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(1, true, meterRegistry);
+        HandlerMethod handler = handler("emLote");
+
+        interceptor.preHandle(request, response, handler);
+
+        Assertions.assertDoesNotThrow(() -> executar(500));
+        interceptor.afterCompletion(request, response, handler, null);
+        Assertions.assertEquals(500, meterRegistry.get("consultas.sql.requisicao")
+                .tag("endpoint", "ControladorDeTeste.emLote").summary().totalAmount());
+    }
+
+    @Test
+    public void deveEncerrarAContagemQuandoARequisicaoSeTornaAssincrona() throws Exception {
+        OrcamentoConsultasInterceptor interceptor = new OrcamentoConsultasInterceptor(1, true, meterRegistry);
+        HandlerMethod handler = handler("padrao");
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        Assertions.assertDoesNotThrow(() -> executar(5));
+        Assertions.assertNull(ContadorConsultas.encerrar());
+    }
+
+    private void executar(int statements) {
+        for(int i = 0; i < statements; i++) {
+            inspector.inspect("select 1");
+        }
+    }
+
+    private HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new ControladorDeTeste(), ControladorDeTeste.class.getMethod(metodo));
+    }
+
+    @OrcamentoConsultas(4)
+    static class ControladorDeTeste {
+
+        public void padrao() {
+        }
+
+        @OrcamentoConsultas(6)
+        public void anotado() {
+        }
+
+        @OrcamentoConsultas(OrcamentoConsultas.SEM_LIMITE)
+        public void emLote() {
+        }
+    }
+}
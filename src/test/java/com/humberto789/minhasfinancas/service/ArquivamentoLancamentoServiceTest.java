@@ -0,0 +1,163 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.TotalAnualArquivado;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoArquivadoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.model.repository.TotalAnualArquivadoRepository;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.humberto789.minhasfinancas.service.impl.ArquivamentoLancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Year;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ArquivamentoLancamentoServiceImpl.class, LancamentoServiceImpl.class, SaldoUsuarioServiceImpl.class,
+        SimpleMeterRegistry.class})
+public class ArquivamentoLancamentoServiceTest {
+
+    private static final int ANO_ARQUIVADO = 2020;
+
+    @Autowired
+    ArquivamentoLancamentoService service;
+
+    @Autowired
+    LancamentoService lancamentoService;
+
+    @Autowired
+    SaldoUsuarioService saldoUsuarioService;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    LancamentoArquivadoRepository lancamentoArquivadoRepository;
+
+    @Autowired
+    TotalAnualArquivadoRepository totalAnualArquivadoRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+
+    Usuario usuario;
+    int anoAtual = Year.now().getValue();
+
+    @BeforeEach
+    public void setUp() {
+        usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        salvar(ANO_ARQUIVADO, 3, TipoLancamento.RECEITA, 100);
+        salvar(ANO_ARQUIVADO, 1, TipoLancamento.DESPESA, 30);
+        salvar(anoAtual, 1, TipoLancamento.RECEITA, 50);
+        entityManager.flush();
+    }
+
+    @Test
+    public void deveMoverOAnoParaOArquivoComOsTotaisAnuais() {
+        int movidos = service.arquivar(ANO_ARQUIVADO);
+
+        Assertions.assertEquals(2, movidos);
+        Assertions.assertEquals(1, lancamentoRepository.count());
+        Assertions.assertEquals(2, lancamentoArquivadoRepository.count());
+
+        List<TotalAnualArquivado> totais = totalAnualArquivadoRepository.findAll();
+        Assertions.assertEquals(2, totais.size());
+        Assertions.assertTrue(totais.stream().allMatch(total -> total.getQuantidade() == 1
+                && total.getAno() == ANO_ARQUIVADO && total.getStatus() == StatusLancamento.PENDENTE));
+        Assertions.assertEquals(0, BigDecimal.valueOf(100).compareTo(service.obterTotal(usuario.getId(), TipoLancamento.RECEITA)));
+    }
+
+    @Test
+    public void deveLerOArquivoNaBuscaQuandoOPeriodoAlcancaAnosArquivados() {
+        service.arquivar(ANO_ARQUIVADO);
+
+        Lancamento todos = Lancamento.builder().usuario(usuario).build();
+        Lancamento doAnoArquivado = Lancamento.builder().usuario(usuario).ano(ANO_ARQUIVADO).build();
+        Lancamento doAnoAtual = Lancamento.builder().usuario(usuario).ano(anoAtual).build();
+
+        Assertions.assertEquals(3, lancamentoService.buscar(todos).size());
+        Assertions.assertEquals(2, lancamentoService.buscar(doAnoArquivado).size());
+        Assertions.assertEquals(1, lancamentoService.buscar(doAnoAtual).size());
+    }
+
+    @Test
+    public void deveIntercalarArquivoEAtivosNaPaginacao() {
+        service.arquivar(ANO_ARQUIVADO);
+        // Lançamento novo em um ano já arquivado: fica na tabela até o próximo arquivamento.
+        salvar(ANO_ARQUIVADO, 2, TipoLancamento.DESPESA, 5);
+        entityManager.flush();
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(usuario.getId()).build();
+
+        List<LancamentoListagem> primeira = lancamentoService.buscarPagina(filtro, CursorLancamento.INICIO, 3).conteudo();
+
+        Assertions.assertEquals(List.of(1, 2, 3), primeira.stream().map(LancamentoListagem::mes).toList());
+        Assertions.assertTrue(primeira.stream().allMatch(lancamento -> lancamento.ano() == ANO_ARQUIVADO));
+    }
+
+    @Test
+    public void deveConsiderarOArquivoNaReconciliacaoDoSaldo() {
+        service.arquivar(ANO_ARQUIVADO);
+
+        Assertions.assertTrue(saldoUsuarioService.reconciliar().isEmpty());
+        Assertions.assertEquals(0, BigDecimal.valueOf(120).compareTo(saldoUsuarioService.obterSaldo(usuario.getId())));
+    }
+
+    @Test
+    public void deveArquivarLancamentosNovosDeAnosJaArquivados() {
+        service.arquivar(ANO_ARQUIVADO);
+        salvar(ANO_ARQUIVADO, 2, TipoLancamento.RECEITA, 7);
+        entityManager.flush();
+
+        List<Integer> anos = service.arquivarAnosEncerrados();
+
+        Assertions.assertEquals(List.of(ANO_ARQUIVADO), anos);
+        Assertions.assertEquals(3, lancamentoArquivadoRepository.count());
+        Assertions.assertEquals(0, BigDecimal.valueOf(107).compareTo(service.obterTotal(usuario.getId(), TipoLancamento.RECEITA)));
+    }
+
+    @Test
+    public void naoDeveArquivarAnosAindaMantidos() {
+        Assertions.assertThrows(RegraNegocioException.class, () -> service.arquivar(anoAtual - 1));
+        Assertions.assertTrue(service.buscarListagem(usuario.getId(), "%", anoAtual, null).isEmpty());
+    }
+
+    private void salvar(int ano, int mes, TipoLancamento tipo, int valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento.setAno(ano);
+        lancamento.setMes(mes);
+        lancamento.setTipo(tipo);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        lancamentoService.salvar(lancamento);
+    }
+}
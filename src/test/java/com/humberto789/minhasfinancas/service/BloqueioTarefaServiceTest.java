@@ -0,0 +1,104 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.repository.BloqueioTarefaRepository;
+import com.humberto789.minhasfinancas.service.impl.BloqueioTarefaServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BloqueioTarefaServiceTest {
+
+    private static final String TAREFA = "tarefa";
+    private static final Duration DURACAO = Duration.ofMinutes(30);
+    private static final Instant AGORA = Instant.parse("2023-06-01T10:00:00Z");
+
+    @Autowired
+    BloqueioTarefaRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    BloqueioTarefaService primeira;
+    BloqueioTarefaService segunda;
+
+    @BeforeEach
+    public void setUp() {
+        primeira = instancia("primeira", AGORA);
+        segunda = instancia("segunda", AGORA.plusSeconds(60));
+    }
+
+    @Test
+    public void deveConcederATarefaAUmaInstanciaPorVez() {
+        Assertions.assertTrue(primeira.adquirir(TAREFA, DURACAO));
+        entityManager.clear();
+
+        Assertions.assertFalse(segunda.adquirir(TAREFA, DURACAO));
+        Assertions.assertTrue(primeira.adquirir(TAREFA, DURACAO));
+    }
+
+    @Test
+    public void deveConcederATarefaLiberadaAOutraInstancia() {
+        primeira.adquirir(TAREFA, DURACAO);
+        primeira.liberar(TAREFA);
+        entityManager.clear();
+
+        Assertions.assertTrue(segunda.adquirir(TAREFA, DURACAO));
+        Assertions.assertEquals("segunda", repository.findById(TAREFA).get().getDono());
+    }
+
+    @Test
+    public void deveConcederATarefaExpiradaAOutraInstancia() {
+        primeira.adquirir(TAREFA, DURACAO);
+        entityManager.clear();
+
+        BloqueioTarefaService depoisDaExpiracao = instancia("segunda", AGORA.plus(DURACAO).plusSeconds(1));
+
+        Assertions.assertTrue(depoisDaExpiracao.adquirir(TAREFA, DURACAO));
+        entityManager.clear();
+        Assertions.assertFalse(primeira.adquirir(TAREFA, DURACAO));
+    }
+
+    @Test
+    public void deveManterATarefaRenovadaAlemDaPrimeiraExpiracao() {
+        primeira.adquirir(TAREFA, DURACAO);
+        entityManager.clear();
+
+        Assertions.assertTrue(instancia("primeira", AGORA.plus(DURACAO).minusSeconds(60)).adquirir(TAREFA, DURACAO));
+        entityManager.clear();
+
+        Assertions.assertFalse(instancia("segunda", AGORA.plus(DURACAO).plusSeconds(1)).adquirir(TAREFA, DURACAO));
+    }
+
+    @Test
+    public void naoDeveLiberarATarefaDeOutraInstancia() {
+        primeira.adquirir(TAREFA, DURACAO);
+        segunda.liberar(TAREFA);
+        entityManager.clear();
+
+        Assertions.assertFalse(segunda.adquirir(TAREFA, DURACAO));
+    }
+
+    private BloqueioTarefaService instancia(String dono, Instant instante) {
+        return new BloqueioTarefaServiceImpl(repository, transactionManager, Clock.fixed(instante, ZoneId.of("UTC")), dono);
+    }
+}
@@ -0,0 +1,109 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.model.dto.DescricaoLancamento;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.impl.BuscaDescricaoMemoriaServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class BuscaDescricaoServiceTest {
+
+    BuscaDescricaoMemoriaServiceImpl service;
+
+    @MockBean
+    LancamentoRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        service = new BuscaDescricaoMemoriaServiceImpl(repository, 10);
+        Mockito.when(repository.obterDescricoesPorUsuario(1l)).thenReturn(Arrays.asList(
+                new DescricaoLancamento(1l, "Supermercado Extra"),
+                new DescricaoLancamento(2l, "Conta de Luz"),
+                new DescricaoLancamento(3l, "Aluguel apartamento"),
+                new DescricaoLancamento(4l, "Mercado da esquina")));
+    }
+
+    @Test
+    public void deveBuscarPorPrefixoDeToken() {
+        List<Long> resultado = service.buscar(1l, "alu", ModoBuscaDescricao.PREFIXO, 10);
+
+        Assertions.assertEquals(List.of(3l), resultado);
+    }
+
+    @Test
+    public void deveBuscarPorTokenIgnorandoCaixaEAcentos() {
+        List<Long> resultado = service.buscar(1l, "MERCADO", ModoBuscaDescricao.TOKEN, 10);
+
+        Assertions.assertEquals(List.of(4l), resultado);
+    }
+
+    @Test
+    public void deveBuscarDeFormaAproximadaToleravelAErrosDeDigitacao() {
+        List<Long> resultado = service.buscar(1l, "mercdo", ModoBuscaDescricao.APROXIMADO, 10);
+
+        Assertions.assertEquals(4l, resultado.get(0));
+        Assertions.assertFalse(resultado.contains(2l));
+    }
+
+    @Test
+    public void deveCarregarOIndiceDoUsuarioUmaUnicaVez() {
+        service.buscar(1l, "luz", ModoBuscaDescricao.TOKEN, 10);
+        service.buscar(1l, "conta", ModoBuscaDescricao.TOKEN, 10);
+
+        Mockito.verify(repository, Mockito.times(1)).obterDescricoesPorUsuario(1l);
+    }
+
+    @Test
+    public void deveManterOIndiceSincronizadoComAsAlteracoes() {
+        service.buscar(1l, "luz", ModoBuscaDescricao.TOKEN, 10);
+
+        service.aoAlterarLancamento(LancamentoAlteradoEvent.gravado(1l, 5l, "Conta de água"));
+        service.aoAlterarLancamento(LancamentoAlteradoEvent.gravado(1l, 2l, "Energia elétrica"));
+        service.aoAlterarLancamento(LancamentoAlteradoEvent.removido(1l, 3l));
+
+        Assertions.assertEquals(List.of(5l), service.buscar(1l, "agua", ModoBuscaDescricao.TOKEN, 10));
+        Assertions.assertEquals(List.of(5l), service.buscar(1l, "conta", ModoBuscaDescricao.TOKEN, 10));
+        Assertions.assertEquals(List.of(2l), service.buscar(1l, "eletrica", ModoBuscaDescricao.TOKEN, 10));
+        Assertions.assertTrue(service.buscar(1l, "aluguel", ModoBuscaDescricao.TOKEN, 10).isEmpty());
+    }
+
+    @Test
+    public void deveSepararOsTokensTambemPelaPontuacao() {
+        Mockito.when(repository.obterDescricoesPorUsuario(2l)).thenReturn(List.of(
+                new DescricaoLancamento(7l, "Super-mercado/Centro")));
+
+        Assertions.assertEquals(List.of(7l), service.buscar(2l, "merc", ModoBuscaDescricao.PREFIXO, 10));
+        Assertions.assertEquals(List.of(7l), service.buscar(2l, "centro super", ModoBuscaDescricao.TOKEN, 10));
+    }
+
+    @Test
+    public void naoDevePerderAlteracaoRecebidaDuranteACargaDoIndice() {
+        CompletableFuture<Void>[] alteracao = new CompletableFuture[1];
+        Mockito.when(repository.obterDescricoesPorUsuario(3l)).thenAnswer(invocacao -> {
+            // A leitura do banco ainda não vê o lançamento gravado enquanto o índice carrega.
+            alteracao[0] = CompletableFuture.runAsync(() ->
+                    service.aoAlterarLancamento(LancamentoAlteradoEvent.gravado(3l, 9l, "Farmácia")));
+            Thread.sleep(200);
+            return List.of(new DescricaoLancamento(8l, "Padaria"));
+        });
+
+        service.buscar(3l, "padaria", ModoBuscaDescricao.TOKEN, 10);
+        alteracao[0].join();
+
+        Assertions.assertEquals(List.of(9l), service.buscar(3l, "farmacia", ModoBuscaDescricao.TOKEN, 10));
+    }
+}
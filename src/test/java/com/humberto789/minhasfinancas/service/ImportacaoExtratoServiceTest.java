@@ -0,0 +1,179 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.entity.ImportacaoExtrato;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+import com.humberto789.minhasfinancas.model.enums.StatusImportacao;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.ImportacaoExtratoRepository;
+import com.humberto789.minhasfinancas.service.impl.ImportacaoExtratoServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "minhasfinancas.importacao.tamanho-lote=2")
+public class ImportacaoExtratoServiceTest {
+
+    @SpyBean
+    ImportacaoExtratoServiceImpl service;
+
+    @MockBean
+    ImportacaoExtratoRepository repository;
+
+    @MockBean
+    LancamentoService lancamentoService;
+
+    @MockBean
+    UsuarioService usuarioService;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path diretorio;
+
+    ImportacaoExtrato importacao;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path arquivo = diretorio.resolve("extrato.csv");
+        Files.writeString(arquivo, "15/01/2023;Padaria;-10,00\n" +
+                "data inválida;Registro ruim;-1,00\n" +
+                "20/01/2023;Salário;5000,00\n" +
+                "21/01/2023;Farmácia;-30,00\n" +
+                "02/02/2023;Aluguel;-1500,00\n");
+
+        importacao = ImportacaoExtrato.builder()
+                .id(1l)
+                .idUsuario(1l)
+                .formato(FormatoExtrato.CSV)
+                .arquivo(arquivo.toString())
+                .status(StatusImportacao.AGUARDANDO)
+                .registrosProcessados(0l)
+                .lancamentosImportados(0l)
+                .registrosComErro(0l)
+                .build();
+
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(importacao));
+        Mockito.when(repository.save(Mockito.any(ImportacaoExtrato.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+        Mockito.when(usuarioService.obterReferencia(1l)).thenReturn(Usuario.builder().id(1l).build());
+        Mockito.when(lancamentoService.salvarEmLote(Mockito.anyList()))
+                .thenAnswer(invocacao -> new ResultadoLote(((List<?>) invocacao.getArgument(0)).size(), List.of()));
+    }
+
+    @Test
+    public void deveImportarOArquivoEmLotesComCheckpoint() {
+        service.processar(1l);
+
+        ArgumentCaptor<List<Lancamento>> lotes = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(lancamentoService, Mockito.times(3)).salvarEmLote(lotes.capture());
+
+        Assertions.assertEquals(List.of(1, 2, 1), lotes.getAllValues().stream().map(List::size).toList());
+
+        Lancamento padaria = lotes.getAllValues().get(0).get(0);
+        Assertions.assertEquals(TipoLancamento.DESPESA, padaria.getTipo());
+        Assertions.assertEquals(new BigDecimal("10.00"), padaria.getValor());
+        Assertions.assertEquals(2023, padaria.getAno());
+        Assertions.assertEquals(1, padaria.getMes());
+        Assertions.assertEquals(TipoLancamento.RECEITA, lotes.getAllValues().get(1).get(0).getTipo());
+
+        Assertions.assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        Assertions.assertEquals(5l, importacao.getRegistrosProcessados());
+        Assertions.assertEquals(4l, importacao.getLancamentosImportados());
+        Assertions.assertEquals(1l, importacao.getRegistrosComErro());
+        Assertions.assertTrue(importacao.getUltimoErro().startsWith("Registro 2:"));
+        Assertions.assertFalse(Files.exists(Path.of(importacao.getArquivo())));
+    }
+
+    @Test
+    public void deveRetomarAImportacaoAPartirDoCheckpoint() {
+        importacao.setStatus(StatusImportacao.FALHOU);
+        importacao.setRegistrosProcessados(4l);
+        importacao.setLancamentosImportados(3l);
+
+        service.processar(1l);
+
+        ArgumentCaptor<List<Lancamento>> lotes = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(lancamentoService, Mockito.times(1)).salvarEmLote(lotes.capture());
+        Assertions.assertEquals("Aluguel", lotes.getValue().get(0).getDescricao());
+
+        Assertions.assertEquals(StatusImportacao.CONCLUIDA, importacao.getStatus());
+        Assertions.assertEquals(5l, importacao.getRegistrosProcessados());
+        Assertions.assertEquals(4l, importacao.getLancamentosImportados());
+    }
+
+    @Test
+    public void deveMarcarAImportacaoComoFalhaPreservandoOCheckpoint() {
+        Mockito.when(lancamentoService.salvarEmLote(Mockito.anyList()))
+                .thenAnswer(invocacao -> new ResultadoLote(1, List.of()))
+                .thenThrow(new IllegalStateException("banco indisponível"));
+
+        service.processar(1l);
+
+        Assertions.assertEquals(StatusImportacao.FALHOU, importacao.getStatus());
+        Assertions.assertEquals(2l, importacao.getRegistrosProcessados());
+        Assertions.assertTrue(importacao.getUltimoErro().contains("banco indisponível"));
+    }
+
+    @Test
+    public void deveRecusarAImportacaoQuandoAFilaEstiverCheiaSemDeixarRegistroNemArquivo() throws Exception {
+        ImportacaoExtratoServiceImpl limitado = new ImportacaoExtratoServiceImpl(repository, lancamentoService,
+                usuarioService, transactionManager, diretorio.resolve("fila").toString(), 2, 1, 0);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicLong ids = new AtomicLong(10);
+        Mockito.when(usuarioService.obterDados(1l)).thenReturn(Optional.of(new DadosUsuario(1l, null, null)));
+        Mockito.when(repository.save(Mockito.any(ImportacaoExtrato.class))).thenAnswer(invocacao -> {
+            ImportacaoExtrato salva = invocacao.getArgument(0);
+            if(salva.getId() == null) {
+                salva.setId(ids.incrementAndGet());
+            }
+            return salva;
+        });
+        // A primeira importação ocupa a única thread até o fim do teste.
+        Mockito.when(repository.findById(11l)).thenAnswer(invocacao -> {
+            liberar.await();
+            return Optional.empty();
+        });
+
+        try {
+            limitado.iniciar(1l, FormatoExtrato.CSV, new ByteArrayInputStream("15/01/2023;Padaria;-10,00".getBytes()));
+
+            Assertions.assertThrows(TaskRejectedException.class, () -> limitado.iniciar(1l, FormatoExtrato.CSV,
+                    new ByteArrayInputStream("16/01/2023;Farmácia;-20,00".getBytes())));
+
+            Mockito.verify(repository).delete(Mockito.argThat(importacao -> importacao.getId() == 12l));
+            try (var arquivos = Files.list(diretorio.resolve("fila"))) {
+                Assertions.assertEquals(1, arquivos.count());
+            }
+        } finally {
+            liberar.countDown();
+            limitado.destroy();
+        }
+    }
+}
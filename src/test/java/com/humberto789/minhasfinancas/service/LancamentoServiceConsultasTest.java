@@ -0,0 +1,117 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.humberto789.minhasfinancas.monitoramento.ConsultasSql;
+import com.humberto789.minhasfinancas.service.impl.ArquivamentoLancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Year;
+
+/**
+ * Fixa a quantidade de statements SQL de cada operação de LancamentoService contra o banco real.
+ */
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({LancamentoServiceImpl.class, SaldoUsuarioServiceImpl.class, ArquivamentoLancamentoServiceImpl.class,
+        SimpleMeterRegistry.class})
+public class LancamentoServiceConsultasTest {
+
+    @Autowired
+    LancamentoService service;
+
+    @Autowired
+    SaldoUsuarioService saldoUsuarioService;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+
+    Usuario usuario;
+    Lancamento lancamento;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(usuario);
+        lancamento = service.salvar(lancamento);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void deveObterPorIdComUmaConsultaSemCarregarOUsuario() {
+        ConsultasSql.assertConsultas(1, () -> service.obterPorId(lancamento.getId()));
+    }
+
+    @Test
+    public void deveBuscarAnoRecenteComUmaConsulta() {
+        Lancamento filtro = Lancamento.builder().usuario(usuario).descricao("lanc").ano(Year.now().getValue()).build();
+
+        ConsultasSql.assertConsultas(1, () -> service.buscar(filtro));
+    }
+
+    @Test
+    public void deveBuscarSemAnoConsultandoTambemOArquivo() {
+        Lancamento filtro = Lancamento.builder().usuario(usuario).descricao("lanc").build();
+
+        ConsultasSql.assertConsultas(2, () -> service.buscar(filtro));
+    }
+
+    @Test
+    public void deveSalvarComOInsertEOIncrementoDoSaldo() {
+        Lancamento novo = LancamentoRepositoryTest.criarLancamento();
+        novo.setUsuario(entityManager.getEntityManager().getReference(Usuario.class, usuario.getId()));
+
+        ConsultasSql.assertConsultas(2, () -> {
+            service.salvar(novo);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void deveAtualizarComALeituraOUpdateEOAjusteDoSaldo() {
+        Lancamento alterado = service.obterPorId(lancamento.getId()).orElseThrow();
+        entityManager.clear();
+        alterado.setValor(BigDecimal.valueOf(25));
+
+        ConsultasSql.assertConsultas(3, () -> {
+            service.atualizar(alterado);
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void deveAtualizarStatusComUmaUnicaInstrucao() {
+        ConsultasSql.assertConsultas(1, () -> service.atualizarStatus(lancamento.getId(),
+                new VersaoLancamento(usuario.getId(), lancamento.getVersao()), StatusLancamento.EFETIVADO));
+    }
+
+    @Test
+    public void deveObterOSaldoMaterializadoComUmaConsulta() {
+        ConsultasSql.assertConsultas(1, () -> saldoUsuarioService.obterSaldo(usuario.getId()));
+    }
+}
@@ -1,31 +1,52 @@
 package com.humberto789.minhasfinancas.service;
 
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
 import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.CursorLancamento;
+import com.humberto789.minhasfinancas.model.dto.FiltroLancamento;
+import com.humberto789.minhasfinancas.model.dto.LancamentoListagem;
+import com.humberto789.minhasfinancas.model.dto.PaginaLancamento;
+import com.humberto789.minhasfinancas.model.dto.ResultadoLote;
+import com.humberto789.minhasfinancas.model.dto.VersaoLancamento;
 import com.humberto789.minhasfinancas.model.entity.Lancamento;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.ModoBuscaDescricao;
 import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
 import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
 import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
 import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
 import com.humberto789.minhasfinancas.service.impl.LancamentoServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
+@RecordApplicationEvents
+@Import(SimpleMeterRegistry.class)
 public class LancamentoServiceTest {
 
     @SpyBean
@@ -34,6 +55,24 @@ public class LancamentoServiceTest {
     @MockBean
     LancamentoRepository repository;
 
+    @MockBean
+    ArquivamentoLancamentoService arquivamentoLancamentoService;
+
+    @MockBean
+    SaldoUsuarioService saldoUsuarioService;
+
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+
+    @MockBean
+    EntityManager entityManager;
+
+    @Autowired
+    ApplicationEvents eventos;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     public void deveSalvarLancamento() {
         Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
@@ -50,6 +89,17 @@ public class LancamentoServiceTest {
         Assertions.assertEquals(lancamento.getStatus(), StatusLancamento.PENDENTE);
     }
 
+    @Test
+    public void deveRegistrarNoSaldoAoSalvarLancamento() {
+        Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
+        Mockito.doNothing().when(service).validar(lancamentoASalvar);
+        Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+
+        service.salvar(lancamentoASalvar);
+
+        Mockito.verify(saldoUsuarioService).registrar(lancamentoASalvar);
+    }
+
     @Test
     public void naoDeveSalvarLancamentoQuandoHouverErroDeValidacao(){
         Lancamento lancamentoASalvar = LancamentoRepositoryTest.criarLancamento();
@@ -60,6 +110,39 @@ public class LancamentoServiceTest {
         });
 
         Mockito.verify(repository, Mockito.never()).save(lancamentoASalvar);
+        Mockito.verify(saldoUsuarioService, Mockito.never()).registrar(Mockito.any());
+    }
+
+    @Test
+    public void deveSalvarApenasOsLancamentosValidosDoLote() {
+        Lancamento valido = LancamentoRepositoryTest.criarLancamento();
+        valido.setUsuario(Usuario.builder().id(1l).build());
+        valido.setStatus(null);
+        Lancamento invalido = LancamentoRepositoryTest.criarLancamento();
+        invalido.setUsuario(Usuario.builder().id(1l).build());
+        invalido.setValor(null);
+
+        Mockito.when(repository.saveAll(Mockito.anyList())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        ResultadoLote resultado = service.salvarEmLote(Arrays.asList(invalido, valido));
+
+        Assertions.assertEquals(1, resultado.salvos());
+        Assertions.assertEquals(1, resultado.erros().size());
+        Assertions.assertEquals(0, resultado.erros().get(0).linha());
+        Assertions.assertEquals("Informe um valor válido.", resultado.erros().get(0).mensagem());
+        Assertions.assertEquals(StatusLancamento.PENDENTE, valido.getStatus());
+        Mockito.verify(repository).saveAll(List.of(valido));
+        Mockito.verify(saldoUsuarioService).registrarTodos(List.of(valido));
+    }
+
+    @Test
+    public void naoDeveGravarNadaQuandoTodoOLoteForInvalido() {
+        Lancamento invalido = new Lancamento();
+
+        ResultadoLote resultado = service.salvarEmLote(List.of(invalido));
+
+        Assertions.assertEquals(0, resultado.salvos());
+        Mockito.verify(repository, Mockito.never()).saveAll(Mockito.anyList());
     }
 
     @Test
@@ -76,6 +159,126 @@ public class LancamentoServiceTest {
         Mockito.verify(repository, Mockito.times(1)).save(lancamento);
     }
 
+    @Test
+    public void deveAjustarSaldoComValoresAnterioresAoAtualizarLancamento() {
+        Lancamento anterior = LancamentoRepositoryTest.criarLancamento();
+        anterior.setId(1l);
+
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setValor(BigDecimal.valueOf(50));
+        Mockito.doNothing().when(service).validar(lancamento);
+
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(anterior));
+        Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+        service.atualizar(lancamento);
+
+        Mockito.verify(saldoUsuarioService).ajustar(
+                Mockito.argThat(l -> l.getValor().equals(BigDecimal.valueOf(10))),
+                Mockito.eq(lancamento));
+    }
+
+    @Test
+    public void deveUsarVersaoVigenteAoAtualizarLancamentoSemVersao() {
+        Lancamento vigente = LancamentoRepositoryTest.criarLancamento();
+        vigente.setId(1l);
+        vigente.setVersao(3l);
+
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        Mockito.doNothing().when(service).validar(lancamento);
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(vigente));
+        Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+        service.atualizar(lancamento);
+
+        Assertions.assertEquals(3l, lancamento.getVersao());
+    }
+
+    @Test
+    public void deveAtualizarStatusComUmaUnicaInstrucaoCondicional() {
+        Mockito.when(repository.atualizarStatus(1l, 2l, 3l, StatusLancamento.EFETIVADO)).thenReturn(1);
+
+        VersaoLancamento novaVersao = service.atualizarStatus(1l, new VersaoLancamento(2l, 3l), StatusLancamento.EFETIVADO);
+
+        Assertions.assertEquals(new VersaoLancamento(2l, 4l), novaVersao);
+        Mockito.verify(repository, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(saldoUsuarioService);
+        Assertions.assertEquals(1, eventos.stream(LancamentoAlteradoEvent.class)
+                .filter(evento -> evento.idUsuario().equals(2l) && evento.descricao() == null)
+                .count());
+    }
+
+    @Test
+    public void deveLancarErroDeConcorrenciaQuandoAVersaoNaoForAVigente() {
+        Mockito.when(repository.atualizarStatus(1l, 2l, 3l, StatusLancamento.CANCELADO)).thenReturn(0);
+        Mockito.when(repository.obterIdUsuario(1l)).thenReturn(Optional.of(2l));
+
+        Assertions.assertThrows(OptimisticLockingFailureException.class, () ->
+                service.atualizarStatus(1l, new VersaoLancamento(2l, 3l), StatusLancamento.CANCELADO));
+
+        Assertions.assertEquals(0, eventos.stream(LancamentoAlteradoEvent.class).count());
+    }
+
+    @Test
+    public void deveNegarAcessoQuandoODonoDaVersaoNaoForODonoDoLancamento() {
+        Mockito.when(repository.atualizarStatus(1l, 9l, 3l, StatusLancamento.CANCELADO)).thenReturn(0);
+        Mockito.when(repository.obterIdUsuario(1l)).thenReturn(Optional.of(2l));
+
+        Assertions.assertThrowsExactly(ErroAutenticacao.class, () ->
+                service.atualizarStatus(1l, new VersaoLancamento(9l, 3l), StatusLancamento.CANCELADO));
+    }
+
+    @Test
+    public void deveLancarErroAoAtualizarStatusDeLancamentoInexistente() {
+        Mockito.when(repository.atualizarStatus(1l, 2l, 3l, StatusLancamento.CANCELADO)).thenReturn(0);
+        Mockito.when(repository.obterIdUsuario(1l)).thenReturn(Optional.empty());
+
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () ->
+                service.atualizarStatus(1l, new VersaoLancamento(2l, 3l), StatusLancamento.CANCELADO));
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLotePorIdsPublicandoUmEventoDoUsuario() {
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+        Mockito.when(repository.atualizarStatusPorIds(1l, List.of(1l, 2l), StatusLancamento.EFETIVADO)).thenReturn(2);
+
+        int atualizados = service.atualizarStatusEmLote(filtro, List.of(1l, 2l), StatusLancamento.EFETIVADO);
+
+        Assertions.assertEquals(2, atualizados);
+        Mockito.verify(repository, Mockito.never()).atualizarStatusPorFiltro(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(saldoUsuarioService);
+        Assertions.assertEquals(1, eventos.stream(LancamentoAlteradoEvent.class)
+                .filter(evento -> evento.idUsuario().equals(1l))
+                .count());
+    }
+
+    @Test
+    public void deveAtualizarStatusEmLotePorFiltro() {
+        FiltroLancamento filtro = FiltroLancamento.builder()
+                .idUsuario(1l).ano(2023).mes(1).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).build();
+
+        int atualizados = service.atualizarStatusEmLote(filtro, null, StatusLancamento.EFETIVADO);
+
+        Assertions.assertEquals(0, atualizados);
+        Mockito.verify(repository).atualizarStatusPorFiltro(1l, 2023, 1, TipoLancamento.DESPESA,
+                StatusLancamento.PENDENTE, StatusLancamento.EFETIVADO);
+        Assertions.assertEquals(0, eventos.stream(LancamentoAlteradoEvent.class).count());
+    }
+
+    @Test
+    public void deveLancarErroAoAtualizarStatusEmLoteSemUsuarioOuStatus() {
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () ->
+                service.atualizarStatusEmLote(new FiltroLancamento(), List.of(1l), StatusLancamento.EFETIVADO));
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () ->
+                service.atualizarStatusEmLote(FiltroLancamento.builder().idUsuario(1l).build(), List.of(1l), null));
+
+        Mockito.verifyNoInteractions(repository);
+    }
+
     @Test
     public void deveLancarErroAoTentarAtualizarLancamentoQueAindaNaoFoiSalvo(){
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -109,6 +312,7 @@ public class LancamentoServiceTest {
         service.deletar(lancamento);
 
         Mockito.verify(repository, Mockito.times(1)).delete(lancamento);
+        Mockito.verify(saldoUsuarioService).estornar(lancamento);
     }
 
     @Test
@@ -126,18 +330,162 @@ public class LancamentoServiceTest {
     public void deveFiltrarLancamento(){
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
         lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
 
-        List<Lancamento> lista = Arrays.asList(lancamento);
+        List<LancamentoListagem> lista = Arrays.asList(LancamentoListagem.de(lancamento));
 
-        Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+        Mockito.when(repository.buscarListagem(1l, "%lancamento%", 2023, 1)).thenReturn(lista);
 
-        List<Lancamento> resultado = service.buscar(lancamento);
+        List<LancamentoListagem> resultado = service.buscar(lancamento);
 
         Assertions.assertFalse(resultado.isEmpty());
         Assertions.assertArrayEquals(resultado.toArray(), lista.toArray());
         Assertions.assertEquals(resultado.size(), lista.size());
     }
 
+    @Test
+    public void deveRegistrarAQuantidadeDeLinhasDevolvidasPelaBusca(){
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(1l);
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        Mockito.when(repository.buscarListagem(1l, "%lancamento%", 2023, 1))
+                .thenReturn(List.of(LancamentoListagem.de(lancamento), LancamentoListagem.de(lancamento)));
+
+        long buscasAntes = meterRegistry.get("lancamento.buscar.linhas").summary().count();
+        double linhasAntes = meterRegistry.get("lancamento.buscar.linhas").summary().totalAmount();
+
+        service.buscar(lancamento);
+
+        Assertions.assertEquals(buscasAntes + 1, meterRegistry.get("lancamento.buscar.linhas").summary().count());
+        Assertions.assertEquals(linhasAntes + 2, meterRegistry.get("lancamento.buscar.linhas").summary().totalAmount());
+    }
+
+    @Test
+    public void deveContarAsFalhasDeValidacaoPorRegra(){
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(1l).build());
+        lancamento.setValor(BigDecimal.ZERO);
+
+        double antes = meterRegistry.get("lancamento.validacao.falhas").tag("regra", "valor").counter().count();
+
+        Assertions.assertThrows(RegraNegocioException.class, () -> service.validar(lancamento));
+
+        Assertions.assertEquals(antes + 1, meterRegistry.get("lancamento.validacao.falhas").tag("regra", "valor").counter().count());
+    }
+
+    @Test
+    public void deveTratarCuringasDaDescricaoComoLiteraisAoFiltrar(){
+        Lancamento filtro = Lancamento.builder()
+                .descricao("100%_Luz")
+                .usuario(Usuario.builder().id(1l).build())
+                .build();
+
+        service.buscar(filtro);
+
+        Mockito.verify(repository).buscarListagem(1l, "%100\\%\\_luz%", null, null);
+    }
+
+    @Test
+    public void deveLancarErroAoFiltrarSemUsuario(){
+        Lancamento filtro = LancamentoRepositoryTest.criarLancamento();
+
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> service.buscar(filtro));
+
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void deveBuscarPorDescricaoNaOrdemDeRelevancia(){
+        LancamentoListagem primeiro = listagem(1l);
+        LancamentoListagem segundo = listagem(2l);
+
+        Mockito.when(buscaDescricaoService.buscar(1l, "mercado", ModoBuscaDescricao.APROXIMADO, 20))
+                .thenReturn(Arrays.asList(2l, 1l));
+        Mockito.when(repository.buscarListagemPorIds(1l, Arrays.asList(2l, 1l))).thenReturn(Arrays.asList(primeiro, segundo));
+
+        List<LancamentoListagem> resultado = service.buscarPorDescricao(1l, "mercado", ModoBuscaDescricao.APROXIMADO, 20);
+
+        Assertions.assertEquals(Arrays.asList(segundo, primeiro), resultado);
+    }
+
+    @Test
+    public void deveLancarErroAoBuscarPorDescricaoSemTermo(){
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> {
+            service.buscarPorDescricao(1l, " ", ModoBuscaDescricao.TOKEN, 20);
+        });
+
+        Mockito.verifyNoInteractions(buscaDescricaoService);
+    }
+
+    @Test
+    public void deveLancarErroAoBuscarPorDescricaoComLimiteInvalido(){
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> {
+            service.buscarPorDescricao(1l, "mercado", ModoBuscaDescricao.TOKEN, 0);
+        });
+
+        Mockito.verifyNoInteractions(buscaDescricaoService);
+    }
+
+    @Test
+    public void deveRetornarCursorDaProximaPaginaQuandoHouverMaisResultados(){
+        LancamentoListagem primeiro = listagem(1l);
+        LancamentoListagem segundo = listagem(2l);
+
+        Mockito.when(repository.buscarAposCursor(Mockito.eq(1l), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.eq(0), Mockito.eq(0), Mockito.eq(0l), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(primeiro, segundo));
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+        PaginaLancamento pagina = service.buscarPagina(filtro, null, 1);
+
+        Assertions.assertEquals(1, pagina.conteudo().size());
+        Assertions.assertEquals(new CursorLancamento(2023, 1, 1l), CursorLancamento.decodificar(pagina.proximoCursor()));
+    }
+
+    @Test
+    public void deveLimitarOTamanhoDaPagina(){
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).build();
+
+        PaginaLancamento pagina = service.buscarPagina(filtro, CursorLancamento.INICIO, 10_000);
+
+        Assertions.assertNull(pagina.proximoCursor());
+        Mockito.verify(repository).buscarAposCursor(Mockito.eq(1l), Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.anyInt(), Mockito.anyInt(), Mockito.anyLong(),
+                Mockito.eq(PageRequest.of(0, LancamentoServiceImpl.TAMANHO_MAXIMO_PAGINA + 1)));
+    }
+
+    @Test
+    public void deveLancarErroAoDecodificarCursorInvalido(){
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> CursorLancamento.decodificar("invalido"));
+    }
+
+    @Test
+    public void deveExportarLancamentosDesanexandoCadaUmAposOUso(){
+        Lancamento primeiro = LancamentoRepositoryTest.criarLancamento();
+        primeiro.setId(1l);
+        Lancamento segundo = LancamentoRepositoryTest.criarLancamento();
+        segundo.setId(2l);
+        Mockito.when(repository.exportarPorUsuario(1l, 2023, null, null, null))
+                .thenReturn(Stream.of(primeiro, segundo));
+
+        FiltroLancamento filtro = FiltroLancamento.builder().idUsuario(1l).ano(2023).build();
+        List<Lancamento> exportados = new ArrayList<>();
+        service.exportar(filtro, exportados::add);
+
+        Assertions.assertEquals(Arrays.asList(primeiro, segundo), exportados);
+        Mockito.verify(entityManager).detach(primeiro);
+        Mockito.verify(entityManager).detach(segundo);
+    }
+
+    @Test
+    public void deveLancarErroAoExportarSemUsuario(){
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> {
+            service.exportar(new FiltroLancamento(), lancamento -> {});
+        });
+
+        Mockito.verifyNoInteractions(repository);
+    }
+
     @Test
     public void deveAtualizarStatusLancamento(){
         Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
@@ -184,6 +532,16 @@ public class LancamentoServiceTest {
         Assertions.assertTrue(resultado.isEmpty());
     }
 
+    @Test
+    public void deveObterSaldoMaterializadoDoUsuario(){
+        Mockito.when(saldoUsuarioService.obterSaldo(1l)).thenReturn(BigDecimal.valueOf(100));
+
+        BigDecimal saldo = service.obterSaldoPorUsuario(1l);
+
+        Assertions.assertEquals(BigDecimal.valueOf(100), saldo);
+        Mockito.verify(repository, Mockito.never()).obterSaldoPorTipoLancamentoEUsuario(Mockito.any(), Mockito.any());
+    }
+
     @Test
     public void deveLancarErroAoValidarUmLancamento(){
         Lancamento lancamento = new Lancamento();
@@ -296,4 +654,10 @@ public class LancamentoServiceTest {
             service.validar(lancamento);
         });
     }
+
+    private LancamentoListagem listagem(Long id) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setId(id);
+        return LancamentoListagem.de(lancamento);
+    }
 }
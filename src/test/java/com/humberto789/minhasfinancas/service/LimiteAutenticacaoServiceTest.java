@@ -0,0 +1,122 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.service.impl.LimiteAutenticacaoServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LimiteAutenticacaoServiceTest {
+
+    AtomicLong relogio = new AtomicLong();
+
+    LimiteAutenticacaoServiceImpl service = new LimiteAutenticacaoServiceImpl(
+            3, Duration.ofSeconds(10), 5, Duration.ofSeconds(1), relogio::get);
+
+    @Test
+    public void deveLiberarARajadaEBloquearAteReporUmToken() {
+        for(int i = 0; i < 3; i++) {
+            Assertions.assertEquals(Duration.ZERO, service.consumir("usuario@email.com", "10.0.0." + i));
+        }
+
+        Assertions.assertEquals(Duration.ofSeconds(10), service.consumir("usuario@email.com", "10.0.0.9"));
+
+        relogio.addAndGet(Duration.ofSeconds(4).toNanos());
+        Assertions.assertEquals(Duration.ofSeconds(6), service.consumir("usuario@email.com", "10.0.0.9"));
+
+        relogio.addAndGet(Duration.ofSeconds(6).toNanos());
+        Assertions.assertEquals(Duration.ZERO, service.consumir("usuario@email.com", "10.0.0.9"));
+    }
+
+    @Test
+    public void deveManterOBloqueioMesmoComMuitasChavesNovas() {
+        for(int i = 0; i < 3; i++) {
+            service.consumir("alvo@email.com", null);
+        }
+
+        for(int i = 0; i < 150_000; i++) {
+            service.consumir("inundacao" + i + "@email.com", null);
+        }
+
+        Assertions.assertTrue(service.consumir("alvo@email.com", null).compareTo(Duration.ZERO) > 0);
+    }
+
+    @Test
+    public void deveTratarOEmailSemDiferenciarMaiusculas() {
+        for(int i = 0; i < 3; i++) {
+            service.consumir("Usuario@Email.com ", "10.0.0." + i);
+        }
+
+        Assertions.assertTrue(service.consumir("usuario@email.com", "10.0.0.9").compareTo(Duration.ZERO) > 0);
+        Assertions.assertEquals(Duration.ZERO, service.consumir("outro@email.com", "10.0.0.9"));
+    }
+
+    @Test
+    public void deveBloquearPorIpSemConsumirAsTentativasDoEmail() {
+        for(int i = 0; i < 5; i++) {
+            Assertions.assertEquals(Duration.ZERO, service.consumir("usuario" + i + "@email.com", "10.0.0.1"));
+        }
+
+        for(int i = 0; i < 10; i++) {
+            Assertions.assertTrue(service.consumir("alvo@email.com", "10.0.0.1").compareTo(Duration.ZERO) > 0);
+        }
+
+        Assertions.assertEquals(Duration.ZERO, service.consumir("alvo@email.com", "10.0.0.2"));
+    }
+
+    @Test
+    public void deveLiberarExatamenteACapacidadeSobConcorrencia() throws Exception {
+        LimiteAutenticacaoServiceImpl limite = new LimiteAutenticacaoServiceImpl(
+                100, Duration.ofHours(1), 10_000, Duration.ofHours(1), relogio::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for(int t = 0; t < 8; t++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    int liberadas = 0;
+                    for(int i = 0; i < 1_000; i++) {
+                        if(limite.consumir("usuario@email.com", "10.0.0.1").isZero()) {
+                            liberadas++;
+                        }
+                    }
+                    return liberadas;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for(Future<Integer> resultado : resultados) {
+                total += resultado.get();
+            }
+            Assertions.assertEquals(100, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void deveExporContadoresDeTentativas() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+
+        for(int i = 0; i < 4; i++) {
+            service.consumir("usuario@email.com", "10.0.0.1");
+        }
+
+        Assertions.assertEquals(3, registry.get("autenticacao.limite.permitidas").functionCounter().count());
+        Assertions.assertEquals(1, registry.get("autenticacao.limite.bloqueadas").tag("chave", "email").functionCounter().count());
+        Assertions.assertEquals(0, registry.get("autenticacao.limite.bloqueadas").tag("chave", "ip").functionCounter().count());
+        Assertions.assertEquals(1, registry.get("autenticacao.limite.chaves").tag("chave", "email").gauge().value());
+    }
+}
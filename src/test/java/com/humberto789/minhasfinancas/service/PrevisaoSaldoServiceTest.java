@@ -0,0 +1,123 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.PrevisaoSaldo;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.dto.SaldoMensalProjetado;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.service.impl.PrevisaoSaldoServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class PrevisaoSaldoServiceTest {
+
+    private static final YearMonth ATUAL = YearMonth.of(2023, 6);
+
+    @MockBean
+    ResumoLancamentoService resumoService;
+
+    @MockBean
+    RecorrenciaLancamentoService recorrenciaService;
+
+    PrevisaoSaldoService service;
+
+    @BeforeEach
+    public void setUp() {
+        Clock relogio = Clock.fixed(Instant.parse("2023-06-15T12:00:00Z"), ZoneId.of("UTC"));
+        service = new PrevisaoSaldoServiceImpl(resumoService, recorrenciaService, relogio);
+    }
+
+    @Test
+    public void deveSepararEfetivadosCanceladosEPendentesPorMes() {
+        Mockito.when(resumoService.obterResumo(1l, null, null)).thenReturn(List.of(
+                resumo(2022, 3, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO, 1000),
+                resumo(2023, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, 300),
+                resumo(2023, 2, TipoLancamento.DESPESA, StatusLancamento.CANCELADO, 80),
+                resumo(2023, 4, TipoLancamento.RECEITA, StatusLancamento.CANCELADO, 20),
+                resumo(2023, 5, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 50),
+                resumo(2023, 8, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, 200),
+                resumo(2024, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 999)));
+
+        PrevisaoSaldo previsao = service.preverSaldo(1l, YearMonth.of(2023, 8));
+
+        Assertions.assertEquals(0, BigDecimal.valueOf(700).compareTo(previsao.saldoEfetivado()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(100).compareTo(previsao.totalCancelado()));
+        Assertions.assertEquals(2l, previsao.quantidadeCancelada());
+        Assertions.assertEquals(List.of(650, 650, 850), saldos(previsao));
+        Assertions.assertEquals(ATUAL, YearMonth.of(previsao.meses().get(0).ano(), previsao.meses().get(0).mes()));
+        Mockito.verify(resumoService, Mockito.times(1)).obterResumo(1l, null, null);
+    }
+
+    @Test
+    public void deveProjetarAsOcorrenciasAindaNaoGravadasDasRecorrencias() {
+        Mockito.when(resumoService.obterResumo(1l, null, null)).thenReturn(List.of(
+                resumo(2023, 6, TipoLancamento.DESPESA, StatusLancamento.PENDENTE, 100)));
+        Mockito.when(recorrenciaService.obterAtivasPorUsuario(1l)).thenReturn(List.of(
+                recorrencia(PeriodicidadeRecorrencia.MENSAL, 3, YearMonth.of(2023, 5), ATUAL, TipoLancamento.DESPESA, 100),
+                recorrencia(PeriodicidadeRecorrencia.ANUAL, null, YearMonth.of(2022, 8), YearMonth.of(2022, 8), TipoLancamento.RECEITA, 500)));
+
+        PrevisaoSaldo previsao = service.preverSaldo(1l, YearMonth.of(2023, 9));
+
+        // Junho já gravado (no resumo); julho é a 3ª e última parcela; agosto traz a receita anual.
+        Assertions.assertEquals(List.of(-100, -200, 300, 300), saldos(previsao));
+    }
+
+    @Test
+    public void deveProjetarDozeMesesQuandoOFimNaoForInformado() {
+        Mockito.when(resumoService.obterResumo(1l, null, null)).thenReturn(List.of());
+
+        PrevisaoSaldo previsao = service.preverSaldo(1l, null);
+
+        Assertions.assertEquals(12, previsao.meses().size());
+        SaldoMensalProjetado ultimo = previsao.meses().get(11);
+        Assertions.assertEquals(ATUAL.plusMonths(11), YearMonth.of(ultimo.ano(), ultimo.mes()));
+    }
+
+    @Test
+    public void deveRecusarPeriodosForaDoLimite() {
+        Assertions.assertThrows(RegraNegocioException.class, () -> service.preverSaldo(1l, ATUAL.minusMonths(1)));
+        Assertions.assertThrows(RegraNegocioException.class, () -> service.preverSaldo(1l, ATUAL.plusMonths(60)));
+        Assertions.assertThrows(RegraNegocioException.class, () -> service.preverSaldo(null, ATUAL));
+
+        Mockito.verifyNoInteractions(resumoService);
+    }
+
+    private List<Integer> saldos(PrevisaoSaldo previsao) {
+        return previsao.meses().stream().map(mes -> mes.saldoProjetado().intValueExact()).toList();
+    }
+
+    private ResumoLancamento resumo(int ano, int mes, TipoLancamento tipo, StatusLancamento status, int total) {
+        return new ResumoLancamento(ano, mes, tipo, status, BigDecimal.valueOf(total), 1l);
+    }
+
+    private RecorrenciaLancamento recorrencia(PeriodicidadeRecorrencia periodicidade, Integer parcelas, YearMonth inicio,
+                                              YearMonth materializado, TipoLancamento tipo, int valor) {
+        return RecorrenciaLancamento.builder()
+                .periodicidade(periodicidade)
+                .parcelas(parcelas)
+                .periodoInicial(RecorrenciaLancamento.periodo(inicio))
+                .periodoMaterializado(RecorrenciaLancamento.periodo(materializado))
+                .tipo(tipo)
+                .valor(BigDecimal.valueOf(valor))
+                .ativa(true)
+                .build();
+    }
+}
@@ -0,0 +1,247 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.RecorrenciaLancamento;
+import com.humberto789.minhasfinancas.model.entity.SaldoUsuario;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.PeriodicidadeRecorrencia;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.model.repository.RecorrenciaLancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.humberto789.minhasfinancas.monitoramento.ConsultasSql;
+import com.humberto789.minhasfinancas.service.impl.ArquivamentoLancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.LancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.RecorrenciaLancamentoServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RecorrenciaLancamentoServiceImpl.class, LancamentoServiceImpl.class, SaldoUsuarioServiceImpl.class,
+        ArquivamentoLancamentoServiceImpl.class, CacheConfig.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "minhasfinancas.recorrencia.tamanho-lote=2")
+public class RecorrenciaLancamentoServiceTest {
+
+    @Autowired
+    RecorrenciaLancamentoService service;
+
+    @Autowired
+    RecorrenciaLancamentoRepository repository;
+
+    @Autowired
+    LancamentoRepository lancamentoRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @MockBean
+    BuscaDescricaoService buscaDescricaoService;
+
+    Usuario usuario;
+
+    @BeforeEach
+    public void setUp() {
+        usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+    }
+
+    @Test
+    public void deveGravarUmaOcorrenciaPendentePorMesDaRecorrenciaMensal() {
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50), PeriodicidadeRecorrencia.MENSAL, null);
+
+        int criados = service.materializarAte(YearMonth.of(2023, 4));
+
+        Assertions.assertEquals(3, criados);
+        List<Lancamento> lancamentos = lancamentosDoUsuario(usuario);
+        Assertions.assertEquals(List.of(1, 2, 3, 4), lancamentos.stream().map(Lancamento::getMes).toList());
+        Assertions.assertTrue(lancamentos.stream().skip(1).allMatch(l -> l.getStatus() == StatusLancamento.PENDENTE
+                && l.getDescricao().equals("Aluguel") && l.getValor().compareTo(BigDecimal.valueOf(50)) == 0));
+    }
+
+    @Test
+    public void naoDeveGravarDeNovoPeriodosJaMaterializados() {
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50), PeriodicidadeRecorrencia.MENSAL, null);
+        service.materializarAte(YearMonth.of(2023, 3));
+
+        Assertions.assertEquals(0, service.materializarAte(YearMonth.of(2023, 3)));
+        Assertions.assertEquals(1, service.materializarAte(YearMonth.of(2023, 4)));
+        Assertions.assertEquals(4, lancamentosDoUsuario(usuario).size());
+    }
+
+    @Test
+    public void deveNumerarAsParcelasEEncerrarOParcelamentoConcluido() {
+        RecorrenciaLancamento recorrencia = service.criar(modelo(usuario, 2023, 11, TipoLancamento.DESPESA, 100),
+                PeriodicidadeRecorrencia.MENSAL, 3);
+
+        service.materializarAte(YearMonth.of(2024, 6));
+
+        List<Lancamento> lancamentos = lancamentosDoUsuario(usuario);
+        Assertions.assertEquals(List.of("Aluguel (1/3)", "Aluguel (2/3)", "Aluguel (3/3)"),
+                lancamentos.stream().map(Lancamento::getDescricao).toList());
+        Assertions.assertEquals(2024, lancamentos.get(2).getAno());
+        Assertions.assertEquals(1, lancamentos.get(2).getMes());
+        Assertions.assertFalse(repository.findById(recorrencia.getId()).get().getAtiva());
+    }
+
+    @Test
+    public void deveGravarARecorrenciaAnualUmaVezPorAno() {
+        service.criar(modelo(usuario, 2022, 5, TipoLancamento.DESPESA, 300), PeriodicidadeRecorrencia.ANUAL, null);
+
+        service.materializarAte(YearMonth.of(2024, 4));
+
+        List<Lancamento> lancamentos = lancamentosDoUsuario(usuario);
+        Assertions.assertEquals(List.of(2022, 2023), lancamentos.stream().map(Lancamento::getAno).toList());
+        Assertions.assertTrue(lancamentos.stream().allMatch(l -> l.getMes() == 5));
+    }
+
+    @Test
+    public void deveSomarAsOcorrenciasAoSaldoMaterializado() {
+        entityManager.persist(SaldoUsuario.builder().idUsuario(usuario.getId())
+                .receitas(BigDecimal.valueOf(1000)).despesas(BigDecimal.valueOf(50)).build());
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50), PeriodicidadeRecorrencia.MENSAL, null);
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.RECEITA, 1000), PeriodicidadeRecorrencia.MENSAL, null);
+        cacheManager.getCache(CacheConfig.SALDOS).put(usuario.getId(), BigDecimal.valueOf(950));
+
+        service.materializarAte(YearMonth.of(2023, 3));
+
+        entityManager.clear();
+        SaldoUsuario saldo = entityManager.find(SaldoUsuario.class, usuario.getId());
+        Assertions.assertEquals(0, BigDecimal.valueOf(3000).compareTo(saldo.getReceitas()));
+        Assertions.assertEquals(0, BigDecimal.valueOf(150).compareTo(saldo.getDespesas()));
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.SALDOS).get(usuario.getId()));
+    }
+
+    @Test
+    public void naoDeveRecriarOcorrenciaExcluidaPeloUsuario() {
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50), PeriodicidadeRecorrencia.MENSAL, null);
+        service.materializarAte(YearMonth.of(2023, 2));
+        Lancamento fevereiro = lancamentosDoUsuario(usuario).get(1);
+        lancamentoRepository.deleteById(fevereiro.getId());
+        entityManager.flush();
+
+        repository.findAll().forEach(r -> {
+            r.setPeriodoMaterializado(r.getPeriodoInicial());
+            repository.save(r);
+        });
+        entityManager.flush();
+
+        Assertions.assertEquals(1, service.materializarAte(YearMonth.of(2023, 3)));
+        Assertions.assertEquals(List.of(1, 3), lancamentosDoUsuario(usuario).stream().map(Lancamento::getMes).toList());
+    }
+
+    @Test
+    public void deveMaterializarTodasAsFaixasDeRecorrencias() {
+        List<Usuario> usuarios = List.of(usuario, outroUsuario("b@email.com"), outroUsuario("c@email.com"),
+                outroUsuario("d@email.com"), outroUsuario("e@email.com"));
+        usuarios.forEach(u -> service.criar(modelo(u, 2023, 1, TipoLancamento.DESPESA, 10), PeriodicidadeRecorrencia.MENSAL, null));
+
+        Assertions.assertEquals(10, service.materializarAte(YearMonth.of(2023, 3)));
+        usuarios.forEach(u -> Assertions.assertEquals(3, lancamentosDoUsuario(u).size()));
+    }
+
+    @Test
+    public void devePararNaFaixaEmQueAContinuacaoForRecusada() {
+        List<Usuario> usuarios = List.of(usuario, outroUsuario("b@email.com"), outroUsuario("c@email.com"),
+                outroUsuario("d@email.com"), outroUsuario("e@email.com"));
+        usuarios.forEach(u -> service.criar(modelo(u, 2023, 1, TipoLancamento.DESPESA, 10), PeriodicidadeRecorrencia.MENSAL, null));
+        AtomicInteger faixas = new AtomicInteger();
+
+        // Só a primeira faixa (2 recorrências) do primeiro período é gravada.
+        Assertions.assertEquals(2, service.materializarAte(YearMonth.of(2023, 3), () -> faixas.incrementAndGet() == 1));
+        Assertions.assertEquals(2, faixas.get());
+
+        Assertions.assertEquals(8, service.materializarAte(YearMonth.of(2023, 3)));
+        usuarios.forEach(u -> Assertions.assertEquals(3, lancamentosDoUsuario(u).size()));
+    }
+
+    @Test
+    public void deveExecutarAsMesmasInstrucoesPorFaixaQualquerQueSejaAQuantidadeDeUsuarios() {
+        service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 10), PeriodicidadeRecorrencia.MENSAL, null);
+        Usuario outro = outroUsuario("b@email.com");
+        service.criar(modelo(outro, 2023, 1, TipoLancamento.DESPESA, 10), PeriodicidadeRecorrencia.MENSAL, null);
+        entityManager.flush();
+
+        // 3 consultas de limites e, para o único período e a única faixa, 6 instruções.
+        ConsultasSql.assertConsultas(9, () -> service.materializarAte(YearMonth.of(2023, 2)));
+    }
+
+    @Test
+    public void naoDeveCriarDuasRecorrenciasParaOMesmoLancamento() {
+        Lancamento lancamento = modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50);
+        service.criar(lancamento, PeriodicidadeRecorrencia.MENSAL, null);
+
+        Assertions.assertThrows(RegraNegocioException.class,
+                () -> service.criar(lancamento, PeriodicidadeRecorrencia.ANUAL, null));
+        Assertions.assertThrows(RegraNegocioException.class,
+                () -> service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50), PeriodicidadeRecorrencia.MENSAL, 1));
+    }
+
+    @Test
+    public void deveEncerrarApenasRecorrenciaDoProprioUsuario() {
+        RecorrenciaLancamento recorrencia = service.criar(modelo(usuario, 2023, 1, TipoLancamento.DESPESA, 50),
+                PeriodicidadeRecorrencia.MENSAL, null);
+
+        Assertions.assertThrows(ErroAutenticacao.class, () -> service.encerrar(recorrencia.getId(), usuario.getId() + 1));
+
+        service.encerrar(recorrencia.getId(), usuario.getId());
+
+        Assertions.assertTrue(service.obterAtivasPorUsuario(usuario.getId()).isEmpty());
+        Assertions.assertEquals(0, service.materializarAte(YearMonth.of(2023, 6)));
+    }
+
+    private Lancamento modelo(Usuario dono, int ano, int mes, TipoLancamento tipo, int valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(dono);
+        lancamento.setAno(ano);
+        lancamento.setMes(mes);
+        lancamento.setTipo(tipo);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        lancamento.setDescricao("Aluguel");
+        return entityManager.persist(lancamento);
+    }
+
+    private Usuario outroUsuario(String email) {
+        Usuario outro = UsuarioRepositoryTest.criarUsuario();
+        outro.setEmail(email);
+        return entityManager.persist(outro);
+    }
+
+    private List<Lancamento> lancamentosDoUsuario(Usuario dono) {
+        entityManager.flush();
+        entityManager.clear();
+        return lancamentoRepository.findAll().stream()
+                .filter(l -> l.getUsuario().getId().equals(dono.getId()))
+                .sorted(Comparator.comparing(Lancamento::getAno).thenComparing(Lancamento::getMes))
+                .toList();
+    }
+}
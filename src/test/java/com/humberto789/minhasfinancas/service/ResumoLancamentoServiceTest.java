@@ -0,0 +1,112 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.ResumoLancamento;
+import com.humberto789.minhasfinancas.model.enums.StatusLancamento;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.service.impl.ResumoLancamentoServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@ContextConfiguration(classes = {CacheConfig.class, ResumoLancamentoServiceImpl.class})
+public class ResumoLancamentoServiceTest {
+
+    @Autowired
+    ResumoLancamentoService service;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    LancamentoRepository repository;
+
+    @MockBean
+    ArquivamentoLancamentoService arquivamentoLancamentoService;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.RESUMO_LANCAMENTOS).clear();
+    }
+
+    @Test
+    public void deveConsultarOBancoApenasUmaVezPorUsuarioEPeriodo() {
+        List<ResumoLancamento> resumo = List.of(
+                new ResumoLancamento(2023, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, 1l));
+        Mockito.when(repository.obterResumoPorUsuario(1l, 2023, 1, 2023, 12)).thenReturn(resumo);
+
+        YearMonth inicio = YearMonth.of(2023, 1);
+        YearMonth fim = YearMonth.of(2023, 12);
+        service.obterResumo(1l, inicio, fim);
+        List<ResumoLancamento> resultado = service.obterResumo(1l, inicio, fim);
+
+        Assertions.assertEquals(resumo, resultado);
+        Mockito.verify(repository, Mockito.times(1)).obterResumoPorUsuario(1l, 2023, 1, 2023, 12);
+    }
+
+    @Test
+    public void deveSomarOResumoArquivadoAoDosLancamentosAtivos() {
+        YearMonth inicio = YearMonth.of(2020, 1);
+        YearMonth fim = YearMonth.of(2020, 12);
+        Mockito.when(repository.obterResumoPorUsuario(1l, 2020, 1, 2020, 12)).thenReturn(List.of(
+                new ResumoLancamento(2020, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.ONE, 1l)));
+        Mockito.when(arquivamentoLancamentoService.obterResumo(1l, inicio, fim)).thenReturn(List.of(
+                new ResumoLancamento(2020, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.TEN, 2l),
+                new ResumoLancamento(2020, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.ONE, 1l)));
+
+        List<ResumoLancamento> resultado = service.obterResumo(1l, inicio, fim);
+
+        Assertions.assertEquals(List.of(
+                new ResumoLancamento(2020, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.ONE, 1l),
+                new ResumoLancamento(2020, 2, TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(11), 3l)),
+                resultado);
+    }
+
+    @Test
+    public void deveDescartarApenasOResumoDoUsuarioAlterado() {
+        YearMonth inicio = YearMonth.of(2023, 1);
+        service.obterResumo(1l, inicio, null);
+        service.obterResumo(1l, null, null);
+        service.obterResumo(2l, inicio, null);
+
+        eventPublisher.publishEvent(LancamentoAlteradoEvent.gravado(1l, 10l, "lancamento"));
+
+        service.obterResumo(1l, inicio, null);
+        service.obterResumo(1l, null, null);
+        service.obterResumo(2l, inicio, null);
+
+        Mockito.verify(repository, Mockito.times(2)).obterResumoPorUsuario(1l, 2023, 1, 9999, 12);
+        Mockito.verify(repository, Mockito.times(2)).obterResumoPorUsuario(1l, 0, 1, 9999, 12);
+        Mockito.verify(repository, Mockito.times(1)).obterResumoPorUsuario(2l, 2023, 1, 9999, 12);
+    }
+
+    @Test
+    public void deveLancarErroQuandoOPeriodoInicialForPosteriorAoFinal() {
+        Assertions.assertThrowsExactly(RegraNegocioException.class, () -> {
+            service.obterResumo(1l, YearMonth.of(2023, 6), YearMonth.of(2023, 1));
+        });
+
+        Mockito.verifyNoInteractions(repository);
+    }
+}
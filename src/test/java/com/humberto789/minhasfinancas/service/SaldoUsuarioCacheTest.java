@@ -0,0 +1,125 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.event.LancamentoAlteradoEvent;
+import com.humberto789.minhasfinancas.model.entity.SaldoUsuario;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.humberto789.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@ContextConfiguration(classes = {CacheConfig.class, SaldoUsuarioServiceImpl.class})
+public class SaldoUsuarioCacheTest {
+
+    @Autowired
+    SaldoUsuarioService service;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @MockBean
+    SaldoUsuarioRepository repository;
+
+    @MockBean
+    LancamentoRepository lancamentoRepository;
+
+    @MockBean
+    ArquivamentoLancamentoService arquivamentoLancamentoService;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCache(CacheConfig.SALDOS).clear();
+        Mockito.when(repository.findById(Mockito.anyLong())).thenAnswer(invocacao -> Optional.of(saldo(invocacao.getArgument(0))));
+    }
+
+    @Test
+    public void deveLerOSaldoDoBancoApenasNaPrimeiraConsulta() {
+        service.obterSaldo(1l);
+        BigDecimal saldo = service.obterSaldo(1l);
+
+        Assertions.assertEquals(BigDecimal.valueOf(60), saldo);
+        Mockito.verify(repository, Mockito.times(1)).findById(1l);
+    }
+
+    @Test
+    public void deveCarregarOSaldoUmaUnicaVezComConsultasConcorrentes() throws Exception {
+        CountDownLatch carregando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Mockito.when(repository.findById(1l)).thenAnswer(invocacao -> {
+            carregando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.of(saldo(1l));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BigDecimal>> consultas = new ArrayList<>();
+            for(int i = 0; i < 8; i++) {
+                consultas.add(executor.submit(() -> service.obterSaldo(1l)));
+            }
+
+            Assertions.assertTrue(carregando.await(5, TimeUnit.SECONDS));
+            liberar.countDown();
+
+            for(Future<BigDecimal> consulta : consultas) {
+                Assertions.assertEquals(BigDecimal.valueOf(60), consulta.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Mockito.verify(repository, Mockito.times(1)).findById(1l);
+    }
+
+    @Test
+    public void deveDescartarApenasOSaldoDoUsuarioAlterado() {
+        service.obterSaldo(1l);
+        service.obterSaldo(2l);
+
+        eventPublisher.publishEvent(LancamentoAlteradoEvent.removido(1l, 10l));
+
+        service.obterSaldo(1l);
+        service.obterSaldo(2l);
+
+        Mockito.verify(repository, Mockito.times(2)).findById(1l);
+        Mockito.verify(repository, Mockito.times(1)).findById(2l);
+    }
+
+    private SaldoUsuario saldo(Long idUsuario) {
+        return SaldoUsuario.builder()
+                .idUsuario(idUsuario)
+                .receitas(BigDecimal.valueOf(100))
+                .despesas(BigDecimal.valueOf(40))
+                .build();
+    }
+}
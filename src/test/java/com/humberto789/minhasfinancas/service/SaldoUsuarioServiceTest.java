@@ -0,0 +1,163 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.DivergenciaSaldo;
+import com.humberto789.minhasfinancas.model.dto.TotalPorTipo;
+import com.humberto789.minhasfinancas.model.entity.Lancamento;
+import com.humberto789.minhasfinancas.model.entity.SaldoUsuario;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.enums.TipoLancamento;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepository;
+import com.humberto789.minhasfinancas.model.repository.LancamentoRepositoryTest;
+import com.humberto789.minhasfinancas.model.repository.SaldoUsuarioRepository;
+import com.humberto789.minhasfinancas.service.impl.SaldoUsuarioServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+public class SaldoUsuarioServiceTest {
+
+    @SpyBean
+    SaldoUsuarioServiceImpl service;
+
+    @MockBean
+    SaldoUsuarioRepository repository;
+
+    @MockBean
+    LancamentoRepository lancamentoRepository;
+
+    @MockBean
+    ArquivamentoLancamentoService arquivamentoLancamentoService;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void deveIncrementarReceitasAoRegistrarLancamento() {
+        Lancamento lancamento = criarLancamentoDoUsuario(1l, TipoLancamento.RECEITA, 10);
+        Mockito.when(repository.incrementar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.registrar(lancamento);
+
+        Mockito.verify(repository).incrementar(1l, BigDecimal.valueOf(10), BigDecimal.ZERO);
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveCriarSaldoComOsTotaisConfirmadosEIncrementarQuandoUsuarioAindaNaoPossuiRegistro() {
+        Lancamento lancamento = criarLancamentoDoUsuario(1l, TipoLancamento.DESPESA, 10);
+        Mockito.when(repository.incrementar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+        Mockito.when(lancamentoRepository.obterSaldoPorTipoLancamentoEUsuario(1l, TipoLancamento.DESPESA))
+                .thenReturn(BigDecimal.valueOf(30));
+
+        service.registrar(lancamento);
+
+        Mockito.verify(repository).criar(1l, BigDecimal.ZERO, BigDecimal.valueOf(30));
+        Mockito.verify(repository, Mockito.times(2)).incrementar(1l, BigDecimal.ZERO, BigDecimal.valueOf(10));
+        Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void deveIncrementarOSaldoCriadoPorTransacaoConcorrente() {
+        Lancamento lancamento = criarLancamentoDoUsuario(1l, TipoLancamento.RECEITA, 10);
+        Mockito.when(repository.incrementar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(0, 1);
+        Mockito.when(repository.criar(Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenThrow(new DataIntegrityViolationException("saldo_usuario_pkey"));
+
+        service.registrar(lancamento);
+
+        Mockito.verify(repository, Mockito.times(2)).incrementar(1l, BigDecimal.valueOf(10), BigDecimal.ZERO);
+    }
+
+    @Test
+    public void deveCriarSaldoAusenteAntesDeLer() {
+        SaldoUsuario saldo = SaldoUsuario.builder()
+                .idUsuario(1l).receitas(BigDecimal.valueOf(30)).despesas(BigDecimal.ZERO).build();
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.empty(), Optional.of(saldo));
+        Mockito.when(repository.criar(Mockito.anyLong(), Mockito.any(), Mockito.any()))
+                .thenThrow(new DataIntegrityViolationException("saldo_usuario_pkey"));
+
+        Assertions.assertEquals(BigDecimal.valueOf(30), service.obterSaldo(1l));
+    }
+
+    @Test
+    public void deveAplicarApenasADiferencaAoAjustarLancamento() {
+        Lancamento anterior = criarLancamentoDoUsuario(1l, TipoLancamento.RECEITA, 10);
+        Lancamento atual = criarLancamentoDoUsuario(1l, TipoLancamento.RECEITA, 25);
+        Mockito.when(repository.incrementar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.ajustar(anterior, atual);
+
+        Mockito.verify(repository, Mockito.times(1)).incrementar(1l, BigDecimal.valueOf(15), BigDecimal.ZERO);
+    }
+
+    @Test
+    public void deveMoverValorEntreUsuariosAoAjustarLancamento() {
+        Lancamento anterior = criarLancamentoDoUsuario(1l, TipoLancamento.DESPESA, 10);
+        Lancamento atual = criarLancamentoDoUsuario(2l, TipoLancamento.DESPESA, 10);
+        Mockito.when(repository.incrementar(Mockito.anyLong(), Mockito.any(), Mockito.any())).thenReturn(1);
+
+        service.ajustar(anterior, atual);
+
+        Mockito.verify(repository).incrementar(1l, BigDecimal.ZERO, BigDecimal.valueOf(-10));
+        Mockito.verify(repository).incrementar(2l, BigDecimal.ZERO, BigDecimal.valueOf(10));
+    }
+
+    @Test
+    public void deveObterSaldoPelaLinhaMaterializada() {
+        SaldoUsuario saldo = SaldoUsuario.builder()
+                .idUsuario(1l)
+                .receitas(BigDecimal.valueOf(100))
+                .despesas(BigDecimal.valueOf(40))
+                .build();
+        Mockito.when(repository.findById(1l)).thenReturn(Optional.of(saldo));
+
+        BigDecimal resultado = service.obterSaldo(1l);
+
+        Assertions.assertEquals(BigDecimal.valueOf(60), resultado);
+        Mockito.verify(lancamentoRepository, Mockito.never()).obterSaldoPorTipoLancamentoEUsuario(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveReportarECorrigirDivergenciasNaReconciliacao() {
+        SaldoUsuario correto = SaldoUsuario.builder()
+                .idUsuario(1l).receitas(BigDecimal.valueOf(100)).despesas(BigDecimal.ZERO).build();
+        SaldoUsuario divergente = SaldoUsuario.builder()
+                .idUsuario(2l).receitas(BigDecimal.valueOf(5)).despesas(BigDecimal.ZERO).build();
+
+        Mockito.when(lancamentoRepository.obterTotaisPorUsuarioETipo()).thenReturn(Arrays.asList(
+                new TotalPorTipo(1l, TipoLancamento.RECEITA, BigDecimal.valueOf(100)),
+                new TotalPorTipo(2l, TipoLancamento.RECEITA, BigDecimal.valueOf(50)),
+                new TotalPorTipo(3l, TipoLancamento.DESPESA, BigDecimal.valueOf(20))));
+        Mockito.when(repository.bloquearTodos()).thenReturn(Arrays.asList(correto, divergente));
+
+        List<DivergenciaSaldo> divergencias = service.reconciliar();
+
+        Assertions.assertEquals(2, divergencias.size());
+        Assertions.assertEquals(BigDecimal.valueOf(50), divergente.getReceitas());
+        Mockito.verify(repository).save(divergente);
+        Mockito.verify(repository).criar(Mockito.eq(3l), Mockito.any(), Mockito.any());
+        Mockito.verify(repository, Mockito.never()).save(correto);
+    }
+
+    private Lancamento criarLancamentoDoUsuario(Long idUsuario, TipoLancamento tipo, int valor) {
+        Lancamento lancamento = LancamentoRepositoryTest.criarLancamento();
+        lancamento.setUsuario(Usuario.builder().id(idUsuario).build());
+        lancamento.setTipo(tipo);
+        lancamento.setValor(BigDecimal.valueOf(valor));
+        return lancamento;
+    }
+}
@@ -0,0 +1,86 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.model.dto.ConferenciaSenha;
+import com.humberto789.minhasfinancas.service.impl.SenhaServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class SenhaServiceTest {
+
+    SenhaServiceImpl service = new SenhaServiceImpl(4, 1, 1);
+
+    @AfterEach
+    public void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    public void deveCodificarComBcryptNoCustoConfigurado() {
+        String hash = service.codificar("senha").join();
+
+        Assertions.assertTrue(hash.startsWith("$2a$04$"));
+        Assertions.assertTrue(new BCryptPasswordEncoder().matches("senha", hash));
+    }
+
+    @Test
+    public void deveConferirSenhaCodificadaSemPedirAtualizacao() {
+        String hash = service.codificar("senha").join();
+
+        Assertions.assertEquals(new ConferenciaSenha(true, null), service.conferir("senha", hash).join());
+        Assertions.assertEquals(ConferenciaSenha.NAO_CONFERE, service.conferir("errada", hash).join());
+    }
+
+    @Test
+    public void deveDevolverHashParaSenhaLegadaEmTextoPuro() {
+        ConferenciaSenha conferencia = service.conferir("senha", "senha").join();
+
+        Assertions.assertTrue(conferencia.confere());
+        Assertions.assertTrue(new BCryptPasswordEncoder().matches("senha", conferencia.novoHash()));
+        Assertions.assertEquals(ConferenciaSenha.NAO_CONFERE, service.conferir("errada", "senha").join());
+    }
+
+    @Test
+    public void devePedirAtualizacaoDeHashComCustoMenorQueOConfigurado() {
+        SenhaServiceImpl custoMaior = new SenhaServiceImpl(5, 1, 1);
+        try {
+            String hashAntigo = service.codificar("senha").join();
+
+            ConferenciaSenha conferencia = custoMaior.conferir("senha", hashAntigo).join();
+
+            Assertions.assertTrue(conferencia.confere());
+            Assertions.assertTrue(conferencia.novoHash().startsWith("$2a$05$"));
+        } finally {
+            custoMaior.destroy();
+        }
+    }
+
+    @Test
+    public void naoDeveConferirSemSenhaArmazenadaOuInformada() {
+        Assertions.assertEquals(ConferenciaSenha.NAO_CONFERE, service.conferir("senha", null).join());
+        Assertions.assertEquals(ConferenciaSenha.NAO_CONFERE, service.conferir(null, "senha").join());
+    }
+
+    @Test
+    public void deveRecusarTarefasQuandoPoolEFilaEstiveremCheios() {
+        SenhaServiceImpl lento = new SenhaServiceImpl(14, 1, 1);
+        List<CompletableFuture<String>> aceitas = new ArrayList<>();
+        try {
+            Assertions.assertThrows(TaskRejectedException.class, () -> {
+                for(int i = 0; i < 3; i++) {
+                    aceitas.add(lento.codificar("senha"));
+                }
+            });
+            Assertions.assertEquals(2, aceitas.size());
+        } finally {
+            aceitas.forEach(tarefa -> tarefa.cancel(true));
+            lento.destroy();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
+import com.humberto789.minhasfinancas.model.dto.TokenAcesso;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.service.impl.TokenServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+public class TokenServiceTest {
+
+    private static final String SEGREDO = "segredo-de-teste-com-pelo-menos-32-bytes";
+    private static final Instant AGORA = Instant.parse("2023-01-15T10:00:00Z");
+
+    TokenServiceImpl service = new TokenServiceImpl(SEGREDO, Duration.ofHours(1), Clock.fixed(AGORA, ZoneOffset.UTC));
+
+    @Test
+    public void deveValidarOTokenGeradoDevolvendoOIdDoUsuario() {
+        TokenAcesso token = service.gerar(Usuario.builder().id(42l).build());
+
+        Assertions.assertEquals(AGORA.plus(Duration.ofHours(1)), token.expiraEm());
+        Assertions.assertEquals(42l, service.validar(token.token()));
+    }
+
+    @Test
+    public void deveRecusarTokenComConteudoAdulterado() {
+        String[] partes = service.gerar(Usuario.builder().id(42l).build()).token().split("\\.");
+        String outroUsuario = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"1\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+
+        ErroAutenticacao erro = Assertions.assertThrows(ErroAutenticacao.class,
+                () -> service.validar(partes[0] + "." + outroUsuario + "." + partes[2]));
+        Assertions.assertEquals("Token inválido.", erro.getMessage());
+    }
+
+    @Test
+    public void deveRecusarTokenSemAssinatura() {
+        String[] partes = service.gerar(Usuario.builder().id(42l).build()).token().split("\\.");
+        String semAlgoritmo = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertThrows(ErroAutenticacao.class, () -> service.validar(semAlgoritmo + "." + partes[1] + "."));
+        Assertions.assertThrows(ErroAutenticacao.class, () -> service.validar("nao-e-um-token"));
+    }
+
+    @Test
+    public void deveRecusarTokenAssinadoComOutraChave() {
+        TokenServiceImpl outraInstancia = new TokenServiceImpl("outro-segredo-com-pelo-menos-32-bytes!!",
+                Duration.ofHours(1), Clock.fixed(AGORA, ZoneOffset.UTC));
+
+        String token = outraInstancia.gerar(Usuario.builder().id(42l).build()).token();
+
+        Assertions.assertThrows(ErroAutenticacao.class, () -> service.validar(token));
+    }
+
+    @Test
+    public void deveRecusarTokenExpirado() {
+        String token = service.gerar(Usuario.builder().id(42l).build()).token();
+        TokenServiceImpl depoisDaExpiracao = new TokenServiceImpl(SEGREDO, Duration.ofHours(1),
+                Clock.fixed(AGORA.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+
+        ErroAutenticacao erro = Assertions.assertThrows(ErroAutenticacao.class, () -> depoisDaExpiracao.validar(token));
+        Assertions.assertEquals("Token expirado.", erro.getMessage());
+    }
+
+    @Test
+    public void naoDeveIniciarSemSegredoForaDosPerfisDeDesenvolvimentoETeste() {
+        MockEnvironment producao = new MockEnvironment();
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new TokenServiceImpl("", Duration.ofHours(1), producao));
+    }
+
+    @Test
+    public void deveUsarChaveTemporariaSemSegredoNoPerfilDeTeste() {
+        MockEnvironment teste = new MockEnvironment();
+        teste.setActiveProfiles("test");
+
+        TokenServiceImpl semSegredo = new TokenServiceImpl("", Duration.ofHours(1), teste);
+
+        Assertions.assertEquals(7l, semSegredo.validar(semSegredo.gerar(Usuario.builder().id(7l).build()).token()));
+    }
+
+    @Test
+    public void deveExigirSegredoComTamanhoMinimo() {
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> new TokenServiceImpl("curto", Duration.ofHours(1), Clock.systemUTC()));
+    }
+}
@@ -0,0 +1,112 @@
+package com.humberto789.minhasfinancas.service;
+
+import com.humberto789.minhasfinancas.config.CacheConfig;
+import com.humberto789.minhasfinancas.model.dto.DadosUsuario;
+import com.humberto789.minhasfinancas.model.entity.Usuario;
+import com.humberto789.minhasfinancas.model.repository.UsuarioRepositoryTest;
+import com.humberto789.minhasfinancas.service.impl.SenhaServiceImpl;
+import com.humberto789.minhasfinancas.service.impl.UsuarioServiceImpl;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.Optional;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CacheConfig.class, UsuarioServiceImpl.class, SenhaServiceImpl.class})
+public class UsuarioServiceCacheTest {
+
+    @Autowired
+    UsuarioService service;
+
+    @Autowired
+    SenhaService senhaService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+
+    @Test
+    public void deveBuscarOUsuarioNoBancoApenasNaPrimeiraConsultaPorId() {
+        Usuario usuario = entityManager.persist(UsuarioRepositoryTest.criarUsuario());
+        CacheStats antes = estatisticas(CacheConfig.USUARIOS);
+
+        service.obterDados(usuario.getId());
+        Optional<DadosUsuario> resultado = service.obterDados(usuario.getId());
+
+        CacheStats depois = estatisticas(CacheConfig.USUARIOS).minus(antes);
+        Assertions.assertEquals(new DadosUsuario(usuario.getId(), usuario.getNome(), usuario.getEmail()), resultado.get());
+        Assertions.assertEquals(1, depois.missCount());
+        Assertions.assertEquals(1, depois.hitCount());
+    }
+
+    @Test
+    public void naoDeveGuardarEmCacheUsuarioInexistente() {
+        service.obterDados(999l);
+
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.USUARIOS).get(999l));
+    }
+
+    @Test
+    public void deveConferirASenhaSempreNoBanco() {
+        Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+        usuario.setSenha(senhaService.codificar("senha").join());
+        entityManager.persist(usuario);
+        service.obterDados(usuario.getId());
+        service.autenticar(usuario.getEmail(), "senha").join();
+
+        // Troca feita direto no banco: nenhuma cópia da senha antiga pode continuar autenticando.
+        usuario.setSenha(senhaService.codificar("nova").join());
+        entityManager.persistAndFlush(usuario);
+        entityManager.clear();
+
+        Assertions.assertEquals(usuario.getId(), service.autenticar(usuario.getEmail(), "nova").join().getId());
+        Assertions.assertInstanceOf(DadosUsuario.class, cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId()).get());
+    }
+
+    @Test
+    public void deveInvalidarOCacheAoSalvarUsuario() {
+        Usuario usuario = UsuarioRepositoryTest.criarUsuario();
+        usuario.setSenha(senhaService.codificar("senha").join());
+        entityManager.persist(usuario);
+        service.obterDados(usuario.getId());
+
+        Assertions.assertNotNull(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId()));
+
+        // Sem senha a gravação não passa pelo pool de hashing e fica na transação do teste.
+        Usuario alterado = Usuario.builder()
+                .id(usuario.getId())
+                .nome(usuario.getNome())
+                .email("novo@email.com")
+                .build();
+        service.salvarUsuario(alterado).join();
+
+        Assertions.assertNull(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId()));
+        Assertions.assertEquals("novo@email.com", service.obterDados(usuario.getId()).get().email());
+    }
+
+    private CacheStats estatisticas(String nome) {
+        return ((CaffeineCache) cacheManager.getCache(nome)).getNativeCache().stats();
+    }
+}
@@ -2,6 +2,7 @@ package com.humberto789.minhasfinancas.service;
 
 import com.humberto789.minhasfinancas.exception.ErroAutenticacao;
 import com.humberto789.minhasfinancas.exception.RegraNegocioException;
+import com.humberto789.minhasfinancas.model.dto.ConferenciaSenha;
 import com.humberto789.minhasfinancas.model.entity.Usuario;
 import com.humberto789.minhasfinancas.model.repository.UsuarioRepository;
 import com.humberto789.minhasfinancas.service.impl.UsuarioServiceImpl;
@@ -12,10 +13,13 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @ExtendWith(SpringExtension.class)
 @ActiveProfiles("test")
@@ -24,9 +28,17 @@ public class UsuarioServiceTest {
     @SpyBean
     UsuarioServiceImpl service;
 
+    private static final String HASH = "$2a$04$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
     @MockBean
     UsuarioRepository repository;
 
+    @MockBean
+    SenhaService senhaService;
+
+    @MockBean
+    CacheManager cacheManager;
+
     @Test
     public void deveValidarEmail() {
 
@@ -52,37 +64,57 @@ public class UsuarioServiceTest {
         String email = "email@email.com";
         String senha= "senha";
 
-        Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
+        Usuario usuario = Usuario.builder().email(email).senha(HASH).id(1l).build();
         Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+        Mockito.when(senhaService.conferir(senha, HASH))
+                .thenReturn(CompletableFuture.completedFuture(new ConferenciaSenha(true, null)));
 
-        Usuario result = service.autenticar(email, senha);
+        Usuario result = service.autenticar(email, senha).join();
 
         Assertions.assertNotNull(result);
+        Mockito.verify(repository, Mockito.never()).atualizarSenha(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void deveSubstituirSenhaLegadaAoAutenticar() {
+        Usuario usuario = Usuario.builder().id(1l).email("usuario@email.com").senha("senha").build();
+        Mockito.when(repository.findByEmail("usuario@email.com")).thenReturn(Optional.of(usuario));
+        Mockito.when(senhaService.conferir("senha", "senha"))
+                .thenReturn(CompletableFuture.completedFuture(new ConferenciaSenha(true, HASH)));
+
+        service.autenticar("usuario@email.com", "senha").join();
+
+        Mockito.verify(repository).atualizarSenha(1l, "usuario@email.com", "senha", HASH);
     }
 
     @Test
     public void deveLancarExcecaoQuandoNaoEncontrarUsuarioCadastradoComEmailInformado() {
         Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(senhaService.conferir("senha", null))
+                .thenReturn(CompletableFuture.completedFuture(ConferenciaSenha.NAO_CONFERE));
 
-
-        Throwable exception = Assertions.assertThrowsExactly(ErroAutenticacao.class, () -> {
-            service.autenticar("usuario@email.com", "senha");
+        CompletionException exception = Assertions.assertThrowsExactly(CompletionException.class, () -> {
+            service.autenticar("usuario@email.com", "senha").join();
         });
 
-        Assertions.assertInstanceOf(ErroAutenticacao.class, exception, "Usuário não encontrado para o email informado.");
+        Assertions.assertInstanceOf(ErroAutenticacao.class, exception.getCause());
+        Assertions.assertEquals("Email ou senha inválidos.", exception.getCause().getMessage());
+        Mockito.verify(senhaService).conferir("senha", null);
     }
 
     @Test
     public void deveLancarExcecaoQuandoSenhaNaoForCorreta(){
-        String senha = "senha";
-        Usuario usuario = Usuario.builder().email("usuario@email.com").senha(senha).build();
+        Usuario usuario = Usuario.builder().email("usuario@email.com").senha(HASH).build();
         Mockito.when(repository.findByEmail(Mockito.anyString())).thenReturn(Optional.of(usuario));
+        Mockito.when(senhaService.conferir("senha incorreta", HASH))
+                .thenReturn(CompletableFuture.completedFuture(ConferenciaSenha.NAO_CONFERE));
 
-        Throwable exception = Assertions.assertThrowsExactly(ErroAutenticacao.class, () -> {
-            service.autenticar("usuario@email.com", "senha incorreta");
+        CompletionException exception = Assertions.assertThrowsExactly(CompletionException.class, () -> {
+            service.autenticar("usuario@email.com", "senha incorreta").join();
         });
 
-        Assertions.assertInstanceOf(ErroAutenticacao.class, exception, "Senha inválida.");
+        Assertions.assertInstanceOf(ErroAutenticacao.class, exception.getCause());
+        Assertions.assertEquals("Email ou senha inválidos.", exception.getCause().getMessage());
     }
 
     @Test
@@ -96,14 +128,15 @@ public class UsuarioServiceTest {
                 .build();
 
         Mockito.when(repository.save(Mockito.any(Usuario.class))).thenReturn(usuario);
+        Mockito.when(senhaService.codificar("senha")).thenReturn(CompletableFuture.completedFuture(HASH));
 
-        Usuario usuarioSalvo = service.salvarUsuario(usuario);
+        Usuario usuarioSalvo = service.salvarUsuario(usuario).join();
 
         Assertions.assertNotNull(usuarioSalvo);
         Assertions.assertEquals(usuarioSalvo.getId(), usuario.getId());
         Assertions.assertEquals(usuarioSalvo.getNome(), usuario.getNome());
         Assertions.assertEquals(usuarioSalvo.getEmail(), usuario.getEmail());
-        Assertions.assertEquals(usuarioSalvo.getSenha(), usuario.getSenha());
+        Assertions.assertEquals(HASH, usuarioSalvo.getSenha());
     }
 
     @Test
@@ -0,0 +1,95 @@
+package com.humberto789.minhasfinancas.service.importacao;
+
+import com.humberto789.minhasfinancas.model.enums.FormatoExtrato;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class LeitorExtratoTest {
+
+    @Test
+    public void deveLerCsvComCabecalhoSeparadoPorPontoEVirgula() throws IOException {
+        String csv = "Data;Descrição;Valor\n" +
+                "15/01/2023;\"Supermercado; Extra\";-1.234,56\n" +
+                "\n" +
+                "2023-01-20;Salário;5000.00\n";
+
+        try (LeitorExtrato leitor = criarLeitor(FormatoExtrato.CSV, csv)) {
+            RegistroExtrato primeiro = leitor.proximo();
+            Assertions.assertEquals(LocalDate.of(2023, 1, 15), primeiro.data());
+            Assertions.assertEquals("Supermercado; Extra", primeiro.descricao());
+            Assertions.assertEquals(new BigDecimal("-1234.56"), primeiro.valor());
+
+            RegistroExtrato segundo = leitor.proximo();
+            Assertions.assertEquals(LocalDate.of(2023, 1, 20), segundo.data());
+            Assertions.assertEquals(new BigDecimal("5000.00"), segundo.valor());
+
+            Assertions.assertNull(leitor.proximo());
+        }
+    }
+
+    @Test
+    public void deveContinuarALeituraAposRegistroCsvInvalido() throws IOException {
+        String csv = "15/01/2023,Padaria,-10.00\n" +
+                "32/01/2023,Data errada,-1.00\n" +
+                "16/01/2023,Farmácia,-20.00\n";
+
+        try (LeitorExtrato leitor = criarLeitor(FormatoExtrato.CSV, csv)) {
+            Assertions.assertEquals("Padaria", leitor.proximo().descricao());
+            Assertions.assertThrowsExactly(ErroLeituraExtrato.class, leitor::proximo);
+            Assertions.assertEquals("Farmácia", leitor.proximo().descricao());
+            Assertions.assertNull(leitor.proximo());
+        }
+    }
+
+    @Test
+    public void deveInformarPrimeiroRegistroCsvInvalidoEmVezDeTrataLoComoCabecalho() throws IOException {
+        String csv = "15/13/2023;Padaria;-10,00\n" +
+                "16/01/2023;Farmácia;-20,00\n";
+
+        try (LeitorExtrato leitor = criarLeitor(FormatoExtrato.CSV, csv)) {
+            Assertions.assertThrowsExactly(ErroLeituraExtrato.class, leitor::proximo);
+            Assertions.assertEquals("Farmácia", leitor.proximo().descricao());
+            Assertions.assertNull(leitor.proximo());
+        }
+    }
+
+    @Test
+    public void deveLerTransacoesDeOfxSgml() throws IOException {
+        String ofx = "OFXHEADER:100\n" +
+                "<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n" +
+                "<STMTTRN>\n" +
+                "<TRNTYPE>DEBIT\n" +
+                "<DTPOSTED>20230115120000[-3:BRT]\n" +
+                "<TRNAMT>-45.90\n" +
+                "<NAME>PADARIA\n" +
+                "<MEMO>Padaria do bairro\n" +
+                "</STMTTRN>\n" +
+                "<STMTTRN><TRNTYPE>CREDIT</TRNTYPE><DTPOSTED>20230105</DTPOSTED><TRNAMT>3500,00</TRNAMT>" +
+                "<NAME>SALARIO</NAME></STMTTRN>\n" +
+                "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+        try (LeitorExtrato leitor = criarLeitor(FormatoExtrato.OFX, ofx)) {
+            RegistroExtrato debito = leitor.proximo();
+            Assertions.assertEquals(LocalDate.of(2023, 1, 15), debito.data());
+            Assertions.assertEquals("Padaria do bairro", debito.descricao());
+            Assertions.assertEquals(new BigDecimal("-45.90"), debito.valor());
+
+            RegistroExtrato credito = leitor.proximo();
+            Assertions.assertEquals(LocalDate.of(2023, 1, 5), credito.data());
+            Assertions.assertEquals("SALARIO", credito.descricao());
+            Assertions.assertEquals(new BigDecimal("3500.00"), credito.valor());
+
+            Assertions.assertNull(leitor.proximo());
+        }
+    }
+
+    private LeitorExtrato criarLeitor(FormatoExtrato formato, String conteudo) {
+        return LeitorExtrato.de(formato, new BufferedReader(new StringReader(conteudo)));
+    }
+}